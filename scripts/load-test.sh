@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Compares throughput and latency of platform-thread and virtual-thread request handling.
+#
+# Starts the packaged application once per mode, logs in as the sample admin, then drives
+# GET /employees/get/all with rising concurrency using hey (https://github.com/rakyll/hey).
+# Needs the config server, Postgres and `mvn package` done beforehand. The per-client rate limit
+# (120/min on this endpoint for the one admin token) and admission control are switched off for the run;
+# otherwise both modes mostly measure 429 and 503 responses instead of request handling.
+#
+#   scripts/load-test.sh [duration=30s] [concurrency levels="50 200 800 2000"]
+set -euo pipefail
+
+DURATION=${1:-30s}
+LEVELS=${2:-"50 200 800 2000"}
+PORT=${PORT:-8081}
+BASE_URL="http://localhost:${PORT}"
+JAR=${JAR:-target/employee-management-app.jar}
+RESULTS=${RESULTS:-target/load-test}
+
+command -v hey >/dev/null || { echo "hey is required: go install github.com/rakyll/hey@latest" >&2; exit 1; }
+[ -f "$JAR" ] || { echo "$JAR not found, run mvn package first" >&2; exit 1; }
+mkdir -p "$RESULTS"
+
+run_mode() {
+  local mode=$1 virtual=$2
+  java -jar "$JAR" --server.port="$PORT" --spring.threads.virtual.enabled="$virtual" \
+      --rate-limit.enabled=false --admission-control.enabled=false \
+      > "$RESULTS/$mode-app.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' RETURN
+
+  for _ in $(seq 1 60); do
+    curl -sf "$BASE_URL/v3/api-docs" >/dev/null && break
+    sleep 2
+  done
+
+  local token
+  token=$(curl -sf -X POST "$BASE_URL/auth/login" -H 'Content-Type: application/json' \
+      -d '{"email":"admin@example.com","password":"Password@123"}' | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+  [ -n "$token" ] || { echo "login failed in $mode mode, see $RESULTS/$mode-app.log" >&2; return 1; }
+
+  # Warm up the JIT, pools and caches before measuring.
+  hey -z 10s -c 50 -H "Authorization: Bearer $token" "$BASE_URL/employees/get/all" >/dev/null
+
+  for concurrency in $LEVELS; do
+    hey -z "$DURATION" -c "$concurrency" -H "Authorization: Bearer $token" "$BASE_URL/employees/get/all" \
+        > "$RESULTS/$mode-c$concurrency.txt"
+    printf '%-9s c=%-5s %s  p99 %s  %s\n' "$mode" "$concurrency" \
+        "$(grep 'Requests/sec' "$RESULTS/$mode-c$concurrency.txt" | awk '{print $2 " req/s"}')" \
+        "$(grep '99%' "$RESULTS/$mode-c$concurrency.txt" | awk '{print $3 "s"}')" \
+        "$(grep -A20 'Status code distribution' "$RESULTS/$mode-c$concurrency.txt" | grep -o '\[[0-9]*\][^[]*' | tr -s ' ' | tr '\n' ' ')"
+  done
+}
+
+run_mode platform false
+run_mode virtual true
+echo "Raw hey reports are in $RESULTS"
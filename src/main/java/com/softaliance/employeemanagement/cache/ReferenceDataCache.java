@@ -0,0 +1,171 @@
+package com.softaliance.employeemanagement.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softaliance.employeemanagement.datasource.ReadConsistency;
+import com.softaliance.employeemanagement.projections.DepartmentView;
+import com.softaliance.employeemanagement.projections.RoleView;
+import com.softaliance.employeemanagement.repository.DepartmentRepository;
+import com.softaliance.employeemanagement.repository.RolesRepository;
+import com.softaliance.employeemanagement.responses.ApiResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-process copy of the department and role tables, which change a few times a year but are read on almost
+ * every request. Each table is held as an immutable snapshot indexed by id and by name, together with the
+ * pre-serialized JSON body of its list endpoint.
+ * <p>
+ * Snapshots are loaded on first use, dropped by {@code invalidate*} after every create, update or delete on
+ * this instance, and reloaded after the TTL so changes made through other instances are picked up. Loads
+ * always read the primary: a snapshot taken from a lagging replica would stay stale for the whole TTL.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private final DepartmentRepository departmentRepository;
+    private final RolesRepository rolesRepository;
+    private final ObjectMapper objectMapper;
+    private final long ttlMillis;
+
+    private final Table<DepartmentView> departments = new Table<>();
+    private final Table<RoleView> roles = new Table<>();
+
+    public ReferenceDataCache(DepartmentRepository departmentRepository,
+                              RolesRepository rolesRepository,
+                              ObjectMapper objectMapper,
+                              @Value("${reference-data.cache.ttl:10m}") Duration ttl) {
+        this.departmentRepository = departmentRepository;
+        this.rolesRepository = rolesRepository;
+        this.objectMapper = objectMapper;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public List<DepartmentView> departments() {
+        return departmentSnapshot().all();
+    }
+
+    public Optional<DepartmentView> department(Long id) {
+        return Optional.ofNullable(departmentSnapshot().byId().get(id));
+    }
+
+    public Optional<DepartmentView> departmentByName(String name) {
+        return Optional.ofNullable(departmentSnapshot().byName().get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Serialized {@link ApiResponse} body of the department list endpoint.
+     */
+    public byte[] departmentsJson() {
+        return departmentSnapshot().listJson();
+    }
+
+    public void invalidateDepartments() {
+        departments.invalidate();
+    }
+
+    public List<RoleView> roles() {
+        return roleSnapshot().all();
+    }
+
+    public Optional<RoleView> role(Long id) {
+        return Optional.ofNullable(roleSnapshot().byId().get(id));
+    }
+
+    public Optional<RoleView> roleByName(String name) {
+        return Optional.ofNullable(roleSnapshot().byName().get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Serialized {@link ApiResponse} body of the role list endpoint.
+     */
+    public byte[] rolesJson() {
+        return roleSnapshot().listJson();
+    }
+
+    public void invalidateRoles() {
+        roles.invalidate();
+    }
+
+    private Snapshot<DepartmentView> departmentSnapshot() {
+        return departments.get(() -> snapshot(ReadConsistency.onPrimary(departmentRepository::findAllViews),
+                DepartmentView::id, DepartmentView::name));
+    }
+
+    private Snapshot<RoleView> roleSnapshot() {
+        return roles.get(() -> snapshot(ReadConsistency.onPrimary(rolesRepository::findAllViews), RoleView::id, RoleView::name));
+    }
+
+    private <T> Snapshot<T> snapshot(List<T> rows, Function<T, Long> id, Function<T, String> name) {
+        Map<Long, T> byId = new HashMap<>();
+        Map<String, T> byName = new HashMap<>();
+        for (T row : rows) {
+            byId.put(id.apply(row), row);
+            byName.put(name.apply(row).toLowerCase(Locale.ROOT), row);
+        }
+        try {
+            byte[] listJson = objectMapper.writeValueAsBytes(ApiResponse.builder()
+                    .code("00")
+                    .message("Success")
+                    .data(rows)
+                    .build());
+            return new Snapshot<>(List.copyOf(rows), Map.copyOf(byId), Map.copyOf(byName), listJson,
+                    System.currentTimeMillis());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Snapshot<T>(List<T> all, Map<Long, T> byId, Map<String, T> byName, byte[] listJson,
+                               long loadedAt) {
+    }
+
+    private final class Table<T> {
+        private final AtomicLong generation = new AtomicLong();
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Snapshot<T> current;
+
+        Snapshot<T> get(Supplier<Snapshot<T>> loader) {
+            Snapshot<T> snapshot = current;
+            if (snapshot != null && System.currentTimeMillis() - snapshot.loadedAt() < ttlMillis) {
+                return snapshot;
+            }
+            // A lock rather than synchronized: the load runs a query, and a virtual thread blocked inside a
+            // monitor would pin its carrier thread for the whole round trip.
+            lock.lock();
+            try {
+                snapshot = current;
+                if (snapshot != null && System.currentTimeMillis() - snapshot.loadedAt() < ttlMillis) {
+                    return snapshot;
+                }
+                long loadedGeneration = generation.get();
+                snapshot = loader.get();
+                // A write that invalidated the table while loading may not be in this snapshot, so only
+                // the caller gets it and the next reader loads again.
+                if (generation.get() == loadedGeneration) {
+                    current = snapshot;
+                }
+                return snapshot;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void invalidate() {
+            generation.incrementAndGet();
+            current = null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.softaliance.employeemanagement.cache;
+
+import com.softaliance.employeemanagement.datasource.ReadConsistency;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses identical concurrent reads into one: the first caller for a key runs the load, callers arriving
+ * while it runs wait for and share its result (or exception), and nothing is kept once it completes. A shared
+ * result can predate a write that committed while the load was running, the same staleness a read from a
+ * replica already allows; callers holding a consistency token bypass the flight and read for themselves.
+ * <p>
+ * Keys are grouped, and {@code singleflight.executions} and {@code singleflight.collapsed} count loads and
+ * callers that shared one, tagged by group rather than key so the number of series stays bounded.
+ */
+@Component
+public class SingleFlight {
+
+    private final Map<String, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    private final Map<String, Counter> executions = new ConcurrentHashMap<>();
+    private final Map<String, Counter> collapsed = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String group, Object key, Supplier<T> load) {
+        if (ReadConsistency.requiredPosition() != 0) {
+            return load.get();
+        }
+        String flightKey = group + ':' + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = flights.putIfAbsent(flightKey, flight);
+        if (running != null) {
+            counter(collapsed, "singleflight.collapsed", "Callers that shared the result of an identical read already in flight", group).increment();
+            return (T) await(running);
+        }
+        counter(executions, "singleflight.executions", "Reads run on behalf of one or more callers", group).increment();
+        try {
+            T result = load.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(flightKey, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String name, String description, String group) {
+        return counters.computeIfAbsent(group, g -> Counter.builder(name)
+                .description(description)
+                .tag("group", g)
+                .register(meterRegistry));
+    }
+}
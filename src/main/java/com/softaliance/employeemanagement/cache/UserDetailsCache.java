@@ -0,0 +1,78 @@
+package com.softaliance.employeemanagement.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.softaliance.employeemanagement.models.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, expiring cache of authenticated employees keyed by email, so the authentication filter does
+ * not query the database on every request. Writes to employees and roles evict the affected entries; the
+ * TTL bounds staleness for changes made through other instances.
+ */
+@Component
+public class UserDetailsCache {
+
+    // Async so a miss is loaded outside the map's lock: a blocking load inside it would pin virtual threads to
+    // their carrier for the whole query. Concurrent misses for one email still share a single load.
+    private final AsyncCache<String, Employee> cache;
+
+    public UserDetailsCache(@Value("${security.user-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${security.user-cache.ttl:5m}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "userDetails");
+    }
+
+    /**
+     * Returns the cached employee, loading it on a miss. Exceptions thrown by the loader are propagated and
+     * nothing is cached.
+     */
+    public Employee get(String email, Function<String, Employee> loader) {
+        String key = key(email);
+        CompletableFuture<Employee> load = new CompletableFuture<>();
+        CompletableFuture<Employee> entry = cache.get(key, (k, executor) -> load);
+        if (entry == load) {
+            try {
+                load.complete(loader.apply(key));
+            } catch (RuntimeException e) {
+                // Failed entries are dropped by the cache, so the next caller loads again.
+                load.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            cache.synchronous().invalidate(key(email));
+        }
+    }
+
+    public void evictAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    // Lookups by email are case-insensitive, so every spelling of an address must share one entry.
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,78 @@
+package com.softaliance.employeemanagement.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Admission control, on unless {@code admission-control.enabled=false}. Saturation is read from the primary
+ * pool, which takes every write and, without replicas, every read.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "admission-control", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionControlProperties properties,
+                                                                                 ObjectProvider<HikariDataSource> pools,
+                                                                                 ObjectMapper objectMapper,
+                                                                                 MeterRegistry meterRegistry) {
+        AimdLimit readLimit = limit(properties, properties.getRead(), "read", meterRegistry);
+        AimdLimit writeLimit = limit(properties, properties.getWrite(), "write", meterRegistry);
+        Counter readRejected = rejected("read", meterRegistry);
+        Counter writeRejected = rejected("write", meterRegistry);
+        AdmissionControlFilter filter = new AdmissionControlFilter(readLimit, writeLimit,
+                poolSaturated(pools.getIfUnique(), properties.getMaxPendingConnections()),
+                properties.getRetryAfter(), objectMapper, readRejected::increment, writeRejected::increment);
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        // After the virtual-thread ceiling, and ahead of security so a rejection costs no token parsing.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    static BooleanSupplier poolSaturated(HikariDataSource pool, int maxPendingConnections) {
+        if (pool == null) {
+            return () -> false;
+        }
+        return () -> {
+            // Null until the pool has started, which it does on the first connection.
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            return mxBean != null && mxBean.getThreadsAwaitingConnection() > maxPendingConnections;
+        };
+    }
+
+    private static AimdLimit limit(AdmissionControlProperties properties, AdmissionControlProperties.Budget budget,
+                                   String name, MeterRegistry meterRegistry) {
+        AimdLimit limit = new AimdLimit(budget.getInitialLimit(), budget.getMinLimit(), budget.getMaxLimit(),
+                properties.getBackoffRatio(), properties.getDecreaseInterval().toNanos(), System::nanoTime);
+        Gauge.builder("http.server.admission.limit", limit, AimdLimit::getLimit)
+                .description("Requests currently admitted at once")
+                .tag("budget", name)
+                .register(meterRegistry);
+        Gauge.builder("http.server.admission.in.flight", limit, AimdLimit::getInFlight)
+                .description("Admitted requests in progress")
+                .tag("budget", name)
+                .register(meterRegistry);
+        return limit;
+    }
+
+    private static Counter rejected(String name, MeterRegistry meterRegistry) {
+        return Counter.builder("http.server.admission.rejected")
+                .description("Requests turned away with 503 because the limit was reached")
+                .tag("budget", name)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,87 @@
+package com.softaliance.employeemanagement.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softaliance.employeemanagement.responses.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Sheds load before the connection pool becomes the queue. When the database slows down, requests would
+ * otherwise pile up waiting for a connection until they fail with "try again later" after the pool's timeout,
+ * and the stall spreads to every endpoint. Reads and writes each get an {@link AimdLimit}, so a burst of one
+ * cannot take the other's capacity; both shrink while the pool has waiters and grow back once it has none.
+ * Requests over a limit are rejected at once with 503 and {@code Retry-After}. Actuator endpoints are never
+ * limited, so health checks keep answering while the service sheds load.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AimdLimit readLimit;
+    private final AimdLimit writeLimit;
+    private final BooleanSupplier poolSaturated;
+    private final String retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+    private final Runnable onReadRejected;
+    private final Runnable onWriteRejected;
+
+    public AdmissionControlFilter(AimdLimit readLimit, AimdLimit writeLimit, BooleanSupplier poolSaturated,
+                                  Duration retryAfter, ObjectMapper objectMapper,
+                                  Runnable onReadRejected, Runnable onWriteRejected) {
+        this.readLimit = readLimit;
+        this.writeLimit = writeLimit;
+        this.poolSaturated = poolSaturated;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+        this.objectMapper = objectMapper;
+        this.onReadRejected = onReadRejected;
+        this.onWriteRejected = onWriteRejected;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        boolean write = isWrite(request);
+        AimdLimit limit = write ? writeLimit : readLimit;
+        if (!limit.tryAcquire()) {
+            (write ? onWriteRejected : onReadRejected).run();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), ApiResponse.builder()
+                    .code("93")
+                    .message("Server is busy, try again later")
+                    .build());
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestCompletion.whenDone(request, () -> limit.release(poolSaturated.getAsBoolean()));
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)) {
+            return false;
+        }
+        // Logins are POSTs but only read the user, and must not be starved by a bulk import.
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/auth/");
+    }
+}
@@ -0,0 +1,47 @@
+package com.softaliance.employeemanagement.configurations;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * {@code admission-control.*}: adaptive request limits driven by connection-pool saturation.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("admission-control")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+    /** The pool counts as saturated when more threads than this are waiting for a connection. */
+    private int maxPendingConnections = 5;
+    /** Factor applied to a limit on overload. */
+    private double backoffRatio = 0.9;
+    /** Minimum time between two decreases of the same limit. */
+    private Duration decreaseInterval = Duration.ofSeconds(1);
+    /** Sent as {@code Retry-After} on rejected requests. */
+    private Duration retryAfter = Duration.ofSeconds(1);
+    /** GET, HEAD and OPTIONS requests, and logins. */
+    private Budget read = new Budget(40, 4, 200);
+    /** Every other request, in practice the admin writes. */
+    private Budget write = new Budget(10, 2, 40);
+
+    @Getter
+    @Setter
+    public static class Budget {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        public Budget() {
+        }
+
+        public Budget(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
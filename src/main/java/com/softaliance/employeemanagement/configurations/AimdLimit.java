@@ -0,0 +1,80 @@
+package com.softaliance.employeemanagement.configurations;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A concurrency limit adjusted by additive increase, multiplicative decrease. Each completion that found the
+ * system healthy while the limit was in use grows it by {@code 1/limit}, about one more request per round of
+ * completions; a completion that found it overloaded shrinks it by {@code backoffRatio}, at most once per
+ * {@code decreaseInterval} so that a burst of requests seeing the same overload backs off only once.
+ */
+public class AimdLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long decreaseIntervalNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile double limit;
+    private long lastDecrease;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long decreaseIntervalNanos,
+                     LongSupplier nanoClock) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+        this.backoffRatio = backoffRatio;
+        this.decreaseIntervalNanos = decreaseIntervalNanos;
+        this.nanoClock = nanoClock;
+        this.lastDecrease = nanoClock.getAsLong() - decreaseIntervalNanos;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Admits a request if fewer than the current limit are in flight. Never waits.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends an admitted request and adjusts the limit with what was observed when it completed.
+     */
+    public void release(boolean overloaded) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        lock.lock();
+        try {
+            if (overloaded) {
+                long now = nanoClock.getAsLong();
+                if (now - lastDecrease >= decreaseIntervalNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecrease = now;
+                }
+            } else if (inFlightBefore * 2 >= limit) {
+                // Only grow while the limit is actually being used; an idle service has shown nothing about more.
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
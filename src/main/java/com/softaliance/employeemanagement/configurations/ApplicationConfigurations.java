@@ -1,32 +1,132 @@
 package com.softaliance.employeemanagement.configurations;
 
+import com.softaliance.employeemanagement.cache.UserDetailsCache;
 import com.softaliance.employeemanagement.repository.EmployeeRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfigurations {
 
     private final EmployeeRepository employeeRepository;
+    private final UserDetailsCache userDetailsCache;
+
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.bcrypt.target-millis:0}")
+    private long bcryptTargetMillis;
+
+    @Value("${security.password-hashing.threads:0}")
+    private int passwordHashingThreads;
+
+    @Value("${security.password-hashing.queue-capacity:256}")
+    private int passwordHashingQueueCapacity;
+
+    @Value("${security.login.threads:0}")
+    private int loginThreads;
+
+    @Value("${security.login.queue-capacity:64}")
+    private int loginQueueCapacity;
 
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> employeeRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        return username -> userDetailsCache.get(username, email -> employeeRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found")));
     }
 
+    /**
+     * {@code security.bcrypt.strength} is the minimum cost. When {@code security.bcrypt.target-millis} is set,
+     * the cost is raised at startup while one hash on this machine stays within the target, so hashes
+     * get stronger as hardware gets faster. Stored hashes below the cost are upgraded on the next login.
+     */
     @Bean
     public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strength = bcryptStrength;
+        if (bcryptTargetMillis > 0) {
+            while (strength < 31 && 2 * hashMillis(strength) <= bcryptTargetMillis) {
+                strength++;
+            }
+        }
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    private static long hashMillis(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode("calibration");
+        long start = System.nanoTime();
+        encoder.encode("calibration");
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /**
+     * Persists hashes re-encoded at the current cost after a successful login.
+     */
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (user, newPassword) -> {
+            employeeRepository.updatePassword(user.getUsername(), newPassword);
+            userDetailsCache.evict(user.getUsername());
+            return user;
+        };
+    }
+
+    /**
+     * Boot only auto-configures its task executor when no other {@code Executor} bean exists, so the
+     * dedicated pools below would otherwise leave MVC async requests (the export stream) without it.
+     */
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * CPU-bound pool for BCrypt work, one thread per core unless configured. The queue is bounded and
+     * submissions beyond it are rejected, so a burst of creates fails fast instead of piling up behind
+     * the request threads.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashingExecutor() {
+        int threads = passwordHashingThreads > 0 ? passwordHashingThreads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(passwordHashingQueueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("password-hash-");
+        return executor;
+    }
+
+    /**
+     * Runs login authentication, which is dominated by BCrypt verification. Kept apart from password
+     * hashing so bulk creates cannot delay logins, and bounded so a login storm is turned away with 503
+     * instead of occupying every request thread.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor loginExecutor() {
+        int threads = loginThreads > 0 ? loginThreads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(loginQueueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("login-");
+        return executor;
     }
 
     @Bean
@@ -34,6 +134,7 @@ public class ApplicationConfigurations {
         DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider();
         daoAuthenticationProvider.setUserDetailsService(userDetailsService());
         daoAuthenticationProvider.setPasswordEncoder(passwordEncoder());
+        daoAuthenticationProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return daoAuthenticationProvider;
     }
 
@@ -0,0 +1,79 @@
+package com.softaliance.employeemanagement.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softaliance.employeemanagement.responses.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the requests in progress when each request gets its own virtual thread. Tomcat's thread pool no longer
+ * bounds concurrency then, and thousands of requests would otherwise all queue inside the connection pool,
+ * where they time out after holding memory and sockets. Requests over the limit wait up to
+ * {@code queueTimeout}, parked cheaply, and are then turned away with 503. Actuator endpoints are never
+ * limited, so health checks keep answering under load.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final int limit;
+    private final long queueTimeoutNanos;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(int limit, Duration queueTimeout, ObjectMapper objectMapper) {
+        this.limit = limit;
+        this.permits = new Semaphore(limit, true);
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.objectMapper = objectMapper;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return limit - permits.availablePermits();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), ApiResponse.builder()
+                    .code("93")
+                    .message("Server is busy, try again later")
+                    .build());
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestCompletion.whenDone(request, permits::release);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.softaliance.employeemanagement.configurations;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets kept as GCRA (generic cell rate algorithm) state: one theoretical arrival time per key,
+ * advanced with compare-and-set, so deciding a request is a map lookup and a CAS with no lock and nothing to
+ * refill. Buckets live in a bounded Caffeine cache; keys idle longer than it takes a bucket to refill are
+ * dropped, since a fresh bucket behaves the same, and the size bound caps memory when keys are many.
+ */
+public class GcraRateLimiter {
+
+    private final Cache<String, AtomicLong> arrivals;
+    private final Ticker ticker;
+
+    public GcraRateLimiter(long maximumKeys, Duration idleTimeout, Ticker ticker) {
+        this.ticker = ticker;
+        this.arrivals = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(idleTimeout)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Takes one request from the key's bucket.
+     *
+     * @param emissionIntervalNanos time for the bucket to regain one request
+     * @param burst                 requests allowed back to back from a full bucket
+     * @return 0 if the request is allowed, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(String key, long emissionIntervalNanos, int burst) {
+        long now = ticker.read();
+        long tolerance = emissionIntervalNanos * burst;
+        AtomicLong arrival = arrivals.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            if (next - now > tolerance) {
+                return next - now - tolerance;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long size() {
+        return arrivals.estimatedSize();
+    }
+}
@@ -0,0 +1,32 @@
+package com.softaliance.employeemanagement.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.softaliance.employeemanagement.services.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The rate limit filter is added to the security chain by {@code SecurityConfig}; the disabled registration
+ * keeps Boot from also running it as a plain servlet filter.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfiguration {
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties, JwtService jwtService,
+                                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new RateLimitFilter(properties, jwtService, objectMapper, meterRegistry, Ticker.systemTicker());
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
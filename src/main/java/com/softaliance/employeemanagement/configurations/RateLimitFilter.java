@@ -0,0 +1,134 @@
+package com.softaliance.employeemanagement.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.softaliance.employeemanagement.responses.ApiResponse;
+import com.softaliance.employeemanagement.services.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Limits how often each client may call the routes under {@code rate-limit.routes}, answering 429 with
+ * {@code Retry-After} once its bucket is empty. It runs in the security chain just before
+ * {@link JwtAuthenticationFilter}, so rejected requests cost no user lookup. Clients are keyed by the subject
+ * of a valid bearer token, and otherwise by remote address, which covers the unauthenticated {@code /auth/**}
+ * paths; the parsed claims are handed on so the token is not verified twice. Behind a load balancer the remote
+ * address is only the client's with {@code server.forward-headers-strategy} set, which takes it from
+ * {@code X-Forwarded-For} when the request came through a trusted proxy.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String CLAIMS_ATTRIBUTE = RateLimitFilter.class.getName() + ".claims";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final List<LimitedRoute> routes = new ArrayList<>();
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimitProperties properties, JwtService jwtService, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry, Ticker ticker) {
+        this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if (route.getLimit() <= 0) {
+                throw new IllegalArgumentException("rate-limit route " + route.getPath() + " needs a positive limit");
+            }
+            long interval = route.getPeriod().toNanos() / route.getLimit();
+            int burst = route.getBurst() > 0 ? route.getBurst() : route.getLimit();
+            routes.add(new LimitedRoute(
+                    PathPatternParser.defaultInstance.parse(route.getPath()),
+                    route.getMethods().stream().map(method -> method.toUpperCase(Locale.ROOT)).collect(Collectors.toUnmodifiableSet()),
+                    interval,
+                    burst,
+                    // Idle for a full refill, a bucket is the same as a new one.
+                    new GcraRateLimiter(properties.getMaximumKeys(), Duration.ofNanos(interval * burst), ticker),
+                    Counter.builder("http.server.rate.limited")
+                            .description("Requests rejected with 429 by the per-client rate limit")
+                            .tag("route", route.getPath())
+                            .register(meterRegistry)));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return routes.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        LimitedRoute route = match(request);
+        if (route != null) {
+            long waitNanos = route.limiter().tryAcquire(clientKey(request), route.intervalNanos(), route.burst());
+            if (waitNanos > 0) {
+                route.rejected().increment();
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(response.getOutputStream(), ApiResponse.builder()
+                        .code("94")
+                        .message("Too many requests, try again later")
+                        .build());
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private LimitedRoute match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (LimitedRoute route : routes) {
+            if ((route.methods().isEmpty() || route.methods().contains(request.getMethod())) && route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String authorizationHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader != null && authorizationHeader.startsWith(BEARER_PREFIX)) {
+            try {
+                Claims claims = jwtService.validateToken(authorizationHeader.substring(BEARER_PREFIX.length()));
+                if (claims.getSubject() != null) {
+                    request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+                    return "sub:" + claims.getSubject();
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                // Keyed by address like an anonymous caller; the authentication filter rejects the token.
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private record LimitedRoute(PathPattern pattern, Set<String> methods, long intervalNanos, int burst,
+                                GcraRateLimiter limiter, Counter rejected) {
+    }
+}
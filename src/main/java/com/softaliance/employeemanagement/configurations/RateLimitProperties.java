@@ -0,0 +1,39 @@
+package com.softaliance.employeemanagement.configurations;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code rate-limit.*}: per-client request rates for selected routes. Clients are told apart by the subject of
+ * a valid bearer token, or else by remote address.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    /** Upper bound on clients tracked per route at once; the least recently seen are dropped beyond it. */
+    private long maximumKeys = 100_000;
+    /** Routes are checked in order and the first match applies. Requests matching none are not limited. */
+    private List<Route> routes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+        /** Path pattern, such as {@code /auth/**}. */
+        private String path;
+        /** HTTP methods the route applies to; all when empty. */
+        private List<String> methods = new ArrayList<>();
+        /** Sustained requests allowed per {@link #period}. */
+        private int limit;
+        private Duration period = Duration.ofMinutes(1);
+        /** Requests allowed back to back before the sustained rate applies; defaults to {@link #limit}. */
+        private int burst;
+    }
+}
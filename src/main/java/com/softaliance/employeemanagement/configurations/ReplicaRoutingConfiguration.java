@@ -0,0 +1,84 @@
+package com.softaliance.employeemanagement.configurations;
+
+import com.softaliance.employeemanagement.datasource.ReadConsistencyFilter;
+import com.softaliance.employeemanagement.datasource.ReplicaLagMonitor;
+import com.softaliance.employeemanagement.datasource.ReplicaRoutingDataSource;
+import com.softaliance.employeemanagement.datasource.ReplicaRoutingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read replicas, enabled with {@code datasource.routing.enabled=true}. The primary keeps its usual
+ * {@code spring.datasource.*} settings; read-only transactions go to the replicas listed under
+ * {@code datasource.routing.replicas}, unless they lag or the client's consistency token requires the primary.
+ * Without the flag the application uses the single auto-configured datasource.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource, DataSourceProperties primaryProperties,
+                                               ReplicaRoutingProperties properties, MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaRoutingProperties.Replica> configured = properties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            ReplicaRoutingProperties.Replica replica = configured.get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername() != null ? replica.getUsername() : primaryProperties.determineUsername());
+            pool.setPassword(replica.getPassword() != null ? replica.getPassword() : primaryProperties.determinePassword());
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            // Pools connect on first use, so a replica that is down at startup does not stop the application.
+            pool.setInitializationFailTimeout(-1);
+            replicas.put(pool.getPoolName(), pool);
+        }
+        return new ReplicaLagMonitor(primaryDataSource, replicas, properties.getMaxLagBytes(), meterRegistry);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, ReplicaLagMonitor replicaLagMonitor) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaLagMonitor);
+    }
+
+    /**
+     * The datasource JPA, Flyway and everything else use. Flyway and writes run outside read-only transactions,
+     * so they always reach the primary.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadConsistencyFilter> readConsistencyFilter() {
+        FilterRegistrationBean<ReadConsistencyFilter> registration = new FilterRegistrationBean<>(new ReadConsistencyFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,54 @@
+package com.softaliance.employeemanagement.configurations;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs an action once a request is really finished. A filter's {@code finally} runs when the first dispatch
+ * returns, which for an async request (a streamed export, say) is long before the response is written; the
+ * action then waits for the async request to complete, fail or time out instead.
+ */
+final class RequestCompletion {
+
+    private RequestCompletion() {
+    }
+
+    static void whenDone(HttpServletRequest request, Runnable action) {
+        if (!request.isAsyncStarted()) {
+            action.run();
+            return;
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                runOnce();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                runOnce();
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                runOnce();
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                // Restarting async drops the listeners; stay registered until the request really ends.
+                event.getAsyncContext().addListener(this);
+            }
+
+            private void runOnce() {
+                if (done.compareAndSet(false, true)) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package com.softaliance.employeemanagement.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Extras for {@code spring.threads.virtual.enabled=true} on Java 21, where Boot runs request handling and
+ * scheduled jobs on virtual threads: pinning diagnostics and a request limit sized from the connection pool.
+ * The BCrypt executors stay on platform threads, since hashing is CPU-bound.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfiguration {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                                                   @Value("${virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+
+    /**
+     * {@code virtual-threads.max-concurrent-requests}, or when unset, the primary pool's maximum size times
+     * {@code virtual-threads.requests-per-connection}: enough to keep every connection busy while requests
+     * spend part of their time off the database, without queueing unboundedly on the pool.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ObjectProvider<HikariDataSource> pools,
+                                                                                 ObjectMapper objectMapper,
+                                                                                 MeterRegistry meterRegistry,
+                                                                                 @Value("${virtual-threads.max-concurrent-requests:0}") int maxConcurrentRequests,
+                                                                                 @Value("${virtual-threads.requests-per-connection:4}") int requestsPerConnection,
+                                                                                 @Value("${virtual-threads.queue-timeout:2s}") Duration queueTimeout) {
+        int limit = maxConcurrentRequests;
+        if (limit <= 0) {
+            HikariDataSource pool = pools.getIfUnique();
+            int connections = pool != null && pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : 10;
+            limit = connections * Math.max(1, requestsPerConnection);
+        }
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limit, queueTimeout, objectMapper);
+        Gauge.builder("http.server.requests.limit", filter, ConcurrencyLimitFilter::getLimit)
+                .description("Requests allowed in progress at once")
+                .register(meterRegistry);
+        Gauge.builder("http.server.requests.in.flight", filter, ConcurrencyLimitFilter::getInFlight)
+                .description("Requests in progress under the concurrency limit")
+                .register(meterRegistry);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        // Ahead of security, so a rejected request costs no token parsing or user lookup.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,70 @@
+package com.softaliance.employeemanagement.configurations;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Streams JFR {@code jdk.VirtualThreadPinned} events in-process and records them as the
+ * {@code jvm.threads.virtual.pinned} timer: a virtual thread that blocks while pinned (inside
+ * {@code synchronized} or native code) holds its carrier thread, and enough of those starve every other
+ * virtual thread. The blocking frames are logged at debug level to find the culprit.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private final Timer pinned;
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.threshold = threshold;
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+    }
+
+    void record(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        if (logger.isDebugEnabled() && event.getStackTrace() != null) {
+            logger.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(),
+                    event.getStackTrace().getFrames().stream()
+                            .limit(8)
+                            .map(VirtualThreadPinningMonitor::frame)
+                            .collect(Collectors.joining(" <- ")));
+        }
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+}
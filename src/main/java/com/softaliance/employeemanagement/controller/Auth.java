@@ -1,30 +1,42 @@
 package com.softaliance.employeemanagement.controller;
 
+import com.softaliance.employeemanagement.requests.LoginRequest;
 import com.softaliance.employeemanagement.responses.ApiResponse;
+import com.softaliance.employeemanagement.responses.AuthResponse;
 import com.softaliance.employeemanagement.services.EmployeeService;
+import com.softaliance.employeemanagement.services.LoginService;
 import com.softaliance.employeemanagement.utils.Utilities;
+import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/auth")
 public class Auth {
 
     private final EmployeeService employeeService;
+    private final LoginService loginService;
     private final Utilities utilities;
 
-    public Auth(EmployeeService employeeService, Utilities utilities) {
+    public Auth(EmployeeService employeeService, LoginService loginService, Utilities utilities) {
         this.employeeService = employeeService;
+        this.loginService = loginService;
         this.utilities = utilities;
     }
 
+    @PostMapping("/login")
+    public ResponseEntity<ApiResponse> login(@Valid @RequestBody LoginRequest request) {
+        ApiResponse apiResponse = loginService.login(request);
+        return utilities.getApiResponseResponseEntity(apiResponse);
+    }
+
     @GetMapping("/get/email/{email}")
     public ResponseEntity<ApiResponse> getEmployeeByEmail(@PathVariable String email) {
         ApiResponse apiResponse;
         apiResponse = employeeService.getEmployeeByEmail(email);
+        if (apiResponse.getData() instanceof AuthResponse authResponse) {
+            authResponse.setPassword(null);
+        }
         return utilities.getApiResponseResponseEntity(apiResponse);
     }
 }
@@ -1,13 +1,14 @@
 package com.softaliance.employeemanagement.controller;
 
-import com.softaliance.employeemanagement.models.Department;
-import com.softaliance.employeemanagement.models.Employee;
+import com.softaliance.employeemanagement.requests.BulkDeleteRequest;
 import com.softaliance.employeemanagement.requests.DepartmentRequest;
 import com.softaliance.employeemanagement.responses.ApiResponse;
 import com.softaliance.employeemanagement.services.DepartmentService;
 import com.softaliance.employeemanagement.utils.Utilities;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -29,7 +30,6 @@ public class DepartmentController {
     public ResponseEntity<ApiResponse> getDepartment(@PathVariable String id) {
         ApiResponse apiResponse;
         apiResponse = departmentService.getDepartment(Long.parseLong(id));
-        Department department = (Department) apiResponse.getData();
         return utilities.getApiResponseResponseEntity(apiResponse);
     }
 
@@ -43,7 +43,11 @@ public class DepartmentController {
     }
 
     @GetMapping("/get/all")
-    public ResponseEntity<ApiResponse> getAllDepartments() {
+    public ResponseEntity<?> getAllDepartments() {
+        byte[] body = departmentService.getAllDepartmentsJson();
+        if(body != null){
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        }
         ApiResponse apiResponse = departmentService.getAllDepartments();
         if(apiResponse.getCode().equals("00")){
             return new ResponseEntity<>(apiResponse, HttpStatus.OK);
@@ -52,14 +56,24 @@ public class DepartmentController {
     }
 
     @PutMapping("/update/{id}")
-    public ResponseEntity<ApiResponse> updateDepartment(@RequestBody DepartmentRequest request, @PathVariable String id) {
-        ApiResponse apiResponse = departmentService.updateDepartment(Long.parseLong(id), request);
+    public ResponseEntity<ApiResponse> updateDepartment(@RequestBody DepartmentRequest request, @PathVariable String id,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ApiResponse apiResponse = utilities.missingIfMatch(ifMatch)
+                .orElseGet(() -> departmentService.updateDepartment(Long.parseLong(id), request, ifMatch));
         return utilities.getApiResponseResponseEntity(apiResponse);
     }
 
     @DeleteMapping("/delete/{id}")
-    public ResponseEntity<ApiResponse> deleteDepartment(@PathVariable String id) {
-        ApiResponse apiResponse = departmentService.deleteDepartment(Long.parseLong(id));
+    public ResponseEntity<ApiResponse> deleteDepartment(@PathVariable String id,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ApiResponse apiResponse = utilities.missingIfMatch(ifMatch)
+                .orElseGet(() -> departmentService.deleteDepartment(Long.parseLong(id), ifMatch));
+        return utilities.getApiResponseResponseEntity(apiResponse);
+    }
+
+    @DeleteMapping("/delete")
+    public ResponseEntity<ApiResponse> deleteDepartments(@Valid @RequestBody BulkDeleteRequest request) {
+        ApiResponse apiResponse = departmentService.deleteDepartments(request);
         return utilities.getApiResponseResponseEntity(apiResponse);
     }
 }
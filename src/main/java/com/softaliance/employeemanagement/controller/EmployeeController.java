@@ -1,32 +1,51 @@
 package com.softaliance.employeemanagement.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.softaliance.employeemanagement.requests.BulkDeleteRequest;
+import com.softaliance.employeemanagement.requests.BulkReassignRequest;
 import com.softaliance.employeemanagement.requests.EmployeeRequest;
 import com.softaliance.employeemanagement.responses.ApiResponse;
 import com.softaliance.employeemanagement.responses.AuthResponse;
+import com.softaliance.employeemanagement.services.EmployeeExportService;
+import com.softaliance.employeemanagement.services.EmployeeImportService;
+import com.softaliance.employeemanagement.services.EmployeePatchService;
 import com.softaliance.employeemanagement.services.EmployeeService;
 import com.softaliance.employeemanagement.utils.Utilities;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/employees")
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeExportService employeeExportService;
+    private final EmployeeImportService employeeImportService;
+    private final EmployeePatchService employeePatchService;
     private final Utilities utilities;
 
-    public EmployeeController(EmployeeService employeeService, Utilities utilities) {
+    public EmployeeController(EmployeeService employeeService, EmployeeExportService employeeExportService, EmployeeImportService employeeImportService, EmployeePatchService employeePatchService, Utilities utilities) {
         this.employeeService = employeeService;
+        this.employeeExportService = employeeExportService;
+        this.employeeImportService = employeeImportService;
+        this.employeePatchService = employeePatchService;
         this.utilities = utilities;
     }
 
     @GetMapping("/get/id/{id}")
-    public ResponseEntity<ApiResponse> getEmployee(@PathVariable String id) {
+    public ResponseEntity<ApiResponse> getEmployee(@PathVariable String id,
+                                                   @RequestParam(defaultValue = "false") boolean includeArchived) {
         ApiResponse apiResponse;
-        apiResponse = employeeService.getEmployee(Long.parseLong(id));
+        apiResponse = employeeService.getEmployee(Long.parseLong(id), includeArchived);
         return utilities.getApiResponseResponseEntity(apiResponse);
     }
 
@@ -34,9 +53,9 @@ public class EmployeeController {
     public ResponseEntity<ApiResponse> getEmployeeByEmail(@PathVariable String email) {
         ApiResponse apiResponse;
         apiResponse = employeeService.getEmployeeByEmail(email);
-        AuthResponse authResponse = (AuthResponse) apiResponse.getData();
-        authResponse.setPassword(null);
-        apiResponse.setData(authResponse);
+        if (apiResponse.getData() instanceof AuthResponse authResponse) {
+            authResponse.setPassword(null);
+        }
         return utilities.getApiResponseResponseEntity(apiResponse);
     }
 
@@ -49,24 +68,78 @@ public class EmployeeController {
         return new ResponseEntity<>(apiResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse> importEmployees(@RequestBody List<EmployeeRequest> requests) {
+        ApiResponse apiResponse = employeeImportService.importEmployees(requests);
+        return utilities.getApiResponseResponseEntity(apiResponse);
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<ApiResponse> importEmployeesCsv(InputStream csv) {
+        ApiResponse apiResponse = employeeImportService.importCsv(csv);
+        return utilities.getApiResponseResponseEntity(apiResponse);
+    }
+
+    @DeleteMapping("/bulk")
+    public ResponseEntity<ApiResponse> deleteEmployees(@Valid @RequestBody BulkDeleteRequest request) {
+        ApiResponse apiResponse = employeeService.deleteEmployees(request);
+        return utilities.getApiResponseResponseEntity(apiResponse);
+    }
+
+    @PutMapping("/bulk/department")
+    public ResponseEntity<ApiResponse> transferDepartment(@Valid @RequestBody BulkReassignRequest request) {
+        ApiResponse apiResponse = employeeService.transferDepartment(request);
+        return utilities.getApiResponseResponseEntity(apiResponse);
+    }
+
+    @PutMapping("/bulk/role")
+    public ResponseEntity<ApiResponse> reassignRole(@Valid @RequestBody BulkReassignRequest request) {
+        ApiResponse apiResponse = employeeService.reassignRole(request);
+        return utilities.getApiResponseResponseEntity(apiResponse);
+    }
+
     @GetMapping("/get/all")
-    public ResponseEntity<ApiResponse> getAllEmployees() {
-        ApiResponse apiResponse = employeeService.getAllEmployees();
+    public ResponseEntity<ApiResponse> getAllEmployees(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer size,
+                                                       @RequestParam(required = false) Long departmentId,
+                                                       @RequestParam(required = false) Long roleId,
+                                                       @RequestParam(required = false) Boolean status,
+                                                       @RequestParam(defaultValue = "false") boolean includeArchived) {
+        ApiResponse apiResponse = employeeService.getAllEmployees(cursor, size, departmentId, roleId, status, includeArchived);
         if(apiResponse.getCode().equals("00")){
             return new ResponseEntity<>(apiResponse, HttpStatus.OK);
         }
         return new ResponseEntity<>(apiResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(employeeExportService::exportEmployees);
+    }
+
     @PutMapping("/update/{id}")
-    public ResponseEntity<ApiResponse> updateEmployee(@RequestBody EmployeeRequest request, @PathVariable String id) {
-        ApiResponse apiResponse = employeeService.updateEmployee(Long.parseLong(id), request);
+    public ResponseEntity<ApiResponse> updateEmployee(@RequestBody EmployeeRequest request, @PathVariable String id,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ApiResponse apiResponse = utilities.missingIfMatch(ifMatch)
+                .orElseGet(() -> employeeService.updateEmployee(Long.parseLong(id), request, ifMatch));
+        return utilities.getApiResponseResponseEntity(apiResponse);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse> patchEmployee(@RequestBody JsonNode patch, @PathVariable String id,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ApiResponse apiResponse = utilities.missingIfMatch(ifMatch)
+                .orElseGet(() -> employeePatchService.patchEmployee(Long.parseLong(id), patch, ifMatch));
         return utilities.getApiResponseResponseEntity(apiResponse);
     }
 
     @DeleteMapping("/delete/{id}")
-    public ResponseEntity<ApiResponse> deleteEmployee(@PathVariable String id) {
-        ApiResponse apiResponse = employeeService.deleteEmployee(Long.parseLong(id));
+    public ResponseEntity<ApiResponse> deleteEmployee(@PathVariable String id,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ApiResponse apiResponse = utilities.missingIfMatch(ifMatch)
+                .orElseGet(() -> employeeService.deleteEmployee(Long.parseLong(id), ifMatch));
         return utilities.getApiResponseResponseEntity(apiResponse);
     }
 
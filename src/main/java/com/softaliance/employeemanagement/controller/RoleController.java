@@ -1,11 +1,14 @@
 package com.softaliance.employeemanagement.controller;
 
+import com.softaliance.employeemanagement.requests.BulkDeleteRequest;
 import com.softaliance.employeemanagement.requests.RolesRequest;
 import com.softaliance.employeemanagement.responses.ApiResponse;
 import com.softaliance.employeemanagement.services.RolesService;
 import com.softaliance.employeemanagement.utils.Utilities;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -37,7 +40,11 @@ public class RoleController {
     }
 
     @GetMapping("/get/all")
-    public ResponseEntity<ApiResponse> getAllRoles() {
+    public ResponseEntity<?> getAllRoles() {
+        byte[] body = rolesService.getAllRolesJson();
+        if(body != null){
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        }
         ApiResponse apiResponse = rolesService.getAllRoles();
         if(apiResponse.getCode().equals("00")){
             return new ResponseEntity<>(apiResponse, HttpStatus.OK);
@@ -46,14 +53,24 @@ public class RoleController {
     }
 
     @PutMapping("/update/{id}")
-    public ResponseEntity<ApiResponse> updateRole(@RequestBody RolesRequest request, @PathVariable String id) {
-        ApiResponse apiResponse = rolesService.updateRole(Long.parseLong(id), request);
+    public ResponseEntity<ApiResponse> updateRole(@RequestBody RolesRequest request, @PathVariable String id,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ApiResponse apiResponse = utilities.missingIfMatch(ifMatch)
+                .orElseGet(() -> rolesService.updateRole(Long.parseLong(id), request, ifMatch));
         return utilities.getApiResponseResponseEntity(apiResponse);
     }
 
     @DeleteMapping("/delete/{id}")
-    public ResponseEntity<ApiResponse> deleteRole(@PathVariable String id) {
-        ApiResponse apiResponse = rolesService.deleteRole(Long.parseLong(id));
+    public ResponseEntity<ApiResponse> deleteRole(@PathVariable String id,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ApiResponse apiResponse = utilities.missingIfMatch(ifMatch)
+                .orElseGet(() -> rolesService.deleteRole(Long.parseLong(id), ifMatch));
+        return utilities.getApiResponseResponseEntity(apiResponse);
+    }
+
+    @DeleteMapping("/delete")
+    public ResponseEntity<ApiResponse> deleteRoles(@Valid @RequestBody BulkDeleteRequest request) {
+        ApiResponse apiResponse = rolesService.deleteRoles(request);
         return utilities.getApiResponseResponseEntity(apiResponse);
     }
 }
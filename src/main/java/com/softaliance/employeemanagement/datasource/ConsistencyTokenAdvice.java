@@ -0,0 +1,44 @@
+package com.softaliance.employeemanagement.datasource;
+
+import com.softaliance.employeemanagement.responses.ApiResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Hands the client of every successful write the primary's WAL position as a {@value ReadConsistency#HEADER},
+ * so its next reads can wait for a replica that has the write.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+public class ConsistencyTokenAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ConsistencyTokenAdvice(ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof ApiResponse apiResponse && "00".equals(apiResponse.getCode())
+                && !HttpMethod.GET.equals(request.getMethod()) && !HttpMethod.HEAD.equals(request.getMethod())) {
+            lagMonitor.primaryPosition().ifPresent(position ->
+                    response.getHeaders().set(ReadConsistency.HEADER, WalPosition.format(position)));
+        }
+        return body;
+    }
+}
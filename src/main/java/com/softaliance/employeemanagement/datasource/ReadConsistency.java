@@ -0,0 +1,53 @@
+package com.softaliance.employeemanagement.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * How fresh reads on the current thread must be. A client that just wrote sends back the
+ * {@value #HEADER} it was given; until a replica has replayed that WAL position, its reads go to the primary.
+ */
+public final class ReadConsistency {
+
+    public static final String HEADER = "X-Consistency-Token";
+    /** Position no replica reaches: reads go to the primary. */
+    static final long PRIMARY_ONLY = Long.MAX_VALUE;
+
+    private static final ThreadLocal<Long> REQUIRED_POSITION = new ThreadLocal<>();
+
+    private ReadConsistency() {
+    }
+
+    /**
+     * WAL position a replica must have replayed to serve reads on this thread; 0 when any replica will do.
+     */
+    public static long requiredPosition() {
+        Long position = REQUIRED_POSITION.get();
+        return position == null ? 0 : position;
+    }
+
+    static void require(long position) {
+        REQUIRED_POSITION.set(position);
+    }
+
+    static void clear() {
+        REQUIRED_POSITION.remove();
+    }
+
+    /**
+     * Runs a read against the primary even inside a read-only transaction, for results that are kept around,
+     * such as cache snapshots, and so must not come from a lagging replica.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        Long previous = REQUIRED_POSITION.get();
+        REQUIRED_POSITION.set(PRIMARY_ONLY);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                REQUIRED_POSITION.remove();
+            } else {
+                REQUIRED_POSITION.set(previous);
+            }
+        }
+    }
+}
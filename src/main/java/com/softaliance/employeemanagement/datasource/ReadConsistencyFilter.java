@@ -0,0 +1,36 @@
+package com.softaliance.employeemanagement.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies the {@value ReadConsistency#HEADER} a client sends to the reads of its request. A token that cannot
+ * be parsed sends the reads to the primary, which is always consistent.
+ */
+public class ReadConsistencyFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String token = request.getHeader(ReadConsistency.HEADER);
+        if (token != null) {
+            try {
+                ReadConsistency.require(WalPosition.parse(token.trim()));
+            } catch (IllegalArgumentException e) {
+                ReadConsistency.require(ReadConsistency.PRIMARY_ONLY);
+            }
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadConsistency.clear();
+        }
+    }
+}
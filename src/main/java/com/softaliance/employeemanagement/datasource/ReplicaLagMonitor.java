@@ -0,0 +1,122 @@
+package com.softaliance.employeemanagement.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks how far each replica has replayed the primary's WAL, polling every
+ * {@code datasource.routing.lag-check-interval-ms}, and picks the replica for each read-only transaction.
+ * Routing only reads the last poll, so choosing a replica never costs a query. Replicas start out ineligible
+ * and become eligible once a poll finds them reachable and within {@code max-lag-bytes}.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+    private final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final long maxLagBytes;
+    private final Map<String, ReplicaState> states = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    record ReplicaState(long replayPosition, long lagBytes) {
+    }
+
+    public ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas, long maxLagBytes, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = Map.copyOf(replicas);
+        this.maxLagBytes = maxLagBytes;
+        for (String name : replicas.keySet()) {
+            Gauge.builder("datasource.replica.lag", states, s -> s.containsKey(name) ? s.get(name).lagBytes() : Double.NaN)
+                    .tag("replica", name)
+                    .baseUnit("bytes")
+                    .description("WAL the replica has yet to replay, NaN while unreachable")
+                    .register(meterRegistry);
+        }
+    }
+
+    public Map<String, DataSource> replicas() {
+        return replicas;
+    }
+
+    /**
+     * A replica that has replayed at least {@code requiredPosition} and is within the lag limit, rotating
+     * between eligible replicas; null when none qualifies and the read must go to the primary.
+     */
+    public String pickReplica(long requiredPosition) {
+        List<String> eligible = new ArrayList<>(replicas.size());
+        states.forEach((name, state) -> {
+            if (state.lagBytes() <= maxLagBytes && state.replayPosition() >= requiredPosition) {
+                eligible.add(name);
+            }
+        });
+        if (eligible.isEmpty()) {
+            return null;
+        }
+        eligible.sort(null);
+        return eligible.get(Math.floorMod(next.getAndIncrement(), eligible.size()));
+    }
+
+    /**
+     * The primary's current WAL position, which covers every transaction committed so far.
+     */
+    public Optional<Long> primaryPosition() {
+        try {
+            return Optional.of(position(primary, "SELECT pg_current_wal_lsn()"));
+        } catch (SQLException | RuntimeException e) {
+            logger.warn("Unable to read primary WAL position: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.lag-check-interval-ms:1000}")
+    public void refresh() {
+        Optional<Long> primaryPosition = primaryPosition();
+        replicas.forEach((name, replica) -> {
+            try {
+                long replayPosition = position(replica, "SELECT pg_last_wal_replay_lsn()");
+                long lag = primaryPosition.map(p -> Math.max(0, p - replayPosition)).orElse(Long.MAX_VALUE);
+                states.put(name, new ReplicaState(replayPosition, lag));
+            } catch (SQLException | RuntimeException e) {
+                if (states.remove(name) != null) {
+                    logger.warn("Replica {} is unreachable, routing its reads to the primary: {}", name, e.getMessage());
+                }
+            }
+        });
+    }
+
+    private static long position(DataSource dataSource, String query) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(query)) {
+            // pg_last_wal_replay_lsn() is null on a server that is not a standby.
+            if (!resultSet.next() || resultSet.getString(1) == null) {
+                throw new SQLException("No WAL position");
+            }
+            return WalPosition.parse(resultSet.getString(1));
+        }
+    }
+
+    @Override
+    public void close() {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.softaliance.employeemanagement.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to a replica picked by {@link ReplicaLagMonitor} and everything else to the
+ * primary. The decision is taken when a connection is requested, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the JPA transaction manager asks
+ * for a connection before the transaction is marked read-only, the proxy defers that until the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY = "primary";
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        Map<Object, Object> targets = new HashMap<>(lagMonitor.replicas());
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        String replica = lagMonitor.pickReplica(ReadConsistency.requiredPosition());
+        return replica == null ? PRIMARY : replica;
+    }
+}
@@ -0,0 +1,33 @@
+package com.softaliance.employeemanagement.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code datasource.routing.*}: read replicas behind the primary configured under {@code spring.datasource}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("datasource.routing")
+public class ReplicaRoutingProperties {
+
+    private boolean enabled;
+    private List<Replica> replicas = new ArrayList<>();
+    /** Replicas further behind the primary than this stop serving reads until they catch up. */
+    private long maxLagBytes = 16 * 1024 * 1024;
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        /** Defaults to {@code spring.datasource.username}. */
+        private String username;
+        /** Defaults to {@code spring.datasource.password}. */
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,30 @@
+package com.softaliance.employeemanagement.datasource;
+
+/**
+ * Postgres write-ahead log positions ({@code pg_lsn}, written {@code 16/B374D848}) as comparable longs.
+ */
+public final class WalPosition {
+
+    private WalPosition() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is not a {@code pg_lsn}
+     */
+    public static long parse(String lsn) {
+        int slash = lsn == null ? -1 : lsn.indexOf('/');
+        if (slash < 1 || slash == lsn.length() - 1) {
+            throw new IllegalArgumentException("Invalid WAL position");
+        }
+        long high = Long.parseUnsignedLong(lsn.substring(0, slash), 16);
+        long low = Long.parseUnsignedLong(lsn.substring(slash + 1), 16);
+        if (high > 0xFFFFFFFFL || low > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("Invalid WAL position");
+        }
+        return high << 32 | low;
+    }
+
+    public static String format(long position) {
+        return String.format("%X/%X", position >>> 32, position & 0xFFFFFFFFL);
+    }
+}
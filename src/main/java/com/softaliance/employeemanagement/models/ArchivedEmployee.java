@@ -0,0 +1,40 @@
+package com.softaliance.employeemanagement.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only employee outside the active set: either soft-deleted and still in {@code employee}, or moved to
+ * {@code employee_archive} by the archival job. Backed by the {@code archived_employee} view.
+ */
+@Entity
+@Immutable
+@Table(name = "archived_employee")
+@Getter
+@NoArgsConstructor
+public class ArchivedEmployee {
+    @Id
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private String address;
+    private Boolean status;
+    @Column(name = "department_id")
+    private Long departmentId;
+    @Column(name = "role_id")
+    private Long roleId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+    private LocalDateTime deletedAt;
+    private LocalDateTime archivedAt;
+}
@@ -1,12 +1,15 @@
 package com.softaliance.employeemanagement.models;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -22,9 +25,11 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Department {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "department_id")
+    @SequenceGenerator(name = "department_id", sequenceName = "department_id_seq", allocationSize = 50)
     private Long id;
     @NotNull(message = "name cannot be null")
     @Column(unique = true)
@@ -35,8 +40,12 @@ public class Department {
     @LastModifiedDate
     private LocalDateTime updatedAt;
     private String managerId;
+    @Version
+    private Long version;
     @JsonBackReference
-    @OneToMany(mappedBy = "department", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "department", fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Set<Employee> employees = new HashSet<>();
 
     public <E> Department(long l, String hr, String hrDepartment, LocalDateTime now, LocalDateTime now1, HashSet<E> es) {
@@ -7,7 +7,11 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -27,10 +31,25 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate
+// Soft-deleted employees stay in the table until archived; no entity query should see them.
+@SQLRestriction("deleted_at IS NULL")
+@NamedEntityGraph(name = Employee.WITH_DEPARTMENT,
+        attributeNodes = @NamedAttributeNode("department"))
+@NamedEntityGraph(name = Employee.WITH_DEPARTMENT_AND_ROLE,
+        attributeNodes = {@NamedAttributeNode("department"), @NamedAttributeNode("roles")})
 public class Employee implements UserDetails {
 
+    /** Fetch plan for responses that serialize the employee with its department. */
+    public static final String WITH_DEPARTMENT = "Employee.withDepartment";
+    /** Fetch plan for authentication, which also needs the role for authorities. */
+    public static final String WITH_DEPARTMENT_AND_ROLE = "Employee.withDepartmentAndRole";
+    /** Ids reserved per sequence call; must match the sequence's INCREMENT BY (V3 migration). */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_id")
+    @SequenceGenerator(name = "employee_id", sequenceName = "employee_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     @NotNull
     private String firstName;
@@ -48,11 +67,16 @@ public class Employee implements UserDetails {
     @Builder.Default
     private Boolean status = false;
     @NotNull
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Department department = new Department();
     @NotNull
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "role_id")
     @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Roles roles = new Roles();
     @CreatedDate
     @JsonIgnore
@@ -60,6 +84,13 @@ public class Employee implements UserDetails {
     @LastModifiedDate
     @JsonIgnore
     private LocalDateTime updatedAt;
+    @Version
+    private Long version;
+    @JsonIgnore
+    private LocalDateTime deletedAt;
+    /** When the employee was last set inactive; inactivity is only archived from here (V8 migration). */
+    @JsonIgnore
+    private LocalDateTime deactivatedAt;
 
     @JsonIgnore
     @Override
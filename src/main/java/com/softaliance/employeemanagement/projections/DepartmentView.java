@@ -0,0 +1,15 @@
+package com.softaliance.employeemanagement.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only department row, selected column by column so no entity is hydrated.
+ */
+public record DepartmentView(Long id,
+                             String name,
+                             String description,
+                             LocalDateTime createdAt,
+                             LocalDateTime updatedAt,
+                             String managerId,
+                             Long version) implements Versioned {
+}
@@ -0,0 +1,28 @@
+package com.softaliance.employeemanagement.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Department row returned by a conditional UPDATE. An interface because native queries can only project into
+ * interfaces.
+ */
+public interface DepartmentWrite {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    String getManagerId();
+
+    Long getVersion();
+
+    default DepartmentView toView() {
+        return new DepartmentView(getId(), getName(), getDescription(), getCreatedAt(), getUpdatedAt(), getManagerId(),
+                getVersion());
+    }
+}
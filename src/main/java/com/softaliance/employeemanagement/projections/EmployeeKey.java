@@ -0,0 +1,11 @@
+package com.softaliance.employeemanagement.projections;
+
+/**
+ * Id and email of an employee touched by a set-based write, enough to evict caches and revoke tokens.
+ * An interface because native queries can only project into interfaces.
+ */
+public interface EmployeeKey {
+    Long getId();
+
+    String getEmail();
+}
@@ -0,0 +1,41 @@
+package com.softaliance.employeemanagement.projections;
+
+import com.softaliance.employeemanagement.models.Employee;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only employee row with its department. Never carries the password hash.
+ */
+public record EmployeeView(Long id,
+                           String firstName,
+                           String lastName,
+                           String phone,
+                           String address,
+                           String email,
+                           Boolean status,
+                           DepartmentView department,
+                           Long version) implements Versioned {
+
+    /**
+     * Flat constructor used by JPQL constructor expressions, which cannot build nested objects.
+     */
+    public EmployeeView(Long id, String firstName, String lastName, String phone, String address, String email,
+                        Boolean status, Long departmentId, String departmentName, String departmentDescription,
+                        LocalDateTime departmentCreatedAt, LocalDateTime departmentUpdatedAt,
+                        String departmentManagerId, Long departmentVersion, Long version) {
+        this(id, firstName, lastName, phone, address, email, status,
+                departmentId == null ? null : new DepartmentView(departmentId, departmentName, departmentDescription,
+                        departmentCreatedAt, departmentUpdatedAt, departmentManagerId, departmentVersion),
+                version);
+    }
+
+    /**
+     * View of an entity that was just written, with its department supplied by the caller so the entity's
+     * department association is never touched.
+     */
+    public static EmployeeView of(Employee employee, DepartmentView department) {
+        return new EmployeeView(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getPhone(),
+                employee.getAddress(), employee.getEmail(), employee.getStatus(), department, employee.getVersion());
+    }
+}
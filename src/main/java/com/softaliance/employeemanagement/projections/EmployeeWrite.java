@@ -0,0 +1,13 @@
+package com.softaliance.employeemanagement.projections;
+
+/**
+ * What a conditional employee UPDATE returns: the email before the write, so the cached details under it can
+ * be evicted, plus the department and version after it.
+ */
+public interface EmployeeWrite {
+    String getPreviousEmail();
+
+    Long getDepartmentId();
+
+    Long getVersion();
+}
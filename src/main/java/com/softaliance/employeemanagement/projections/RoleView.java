@@ -0,0 +1,14 @@
+package com.softaliance.employeemanagement.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only role row, selected column by column so no entity is hydrated.
+ */
+public record RoleView(Long id,
+                       String name,
+                       String description,
+                       LocalDateTime createdAt,
+                       LocalDateTime updatedAt,
+                       Long version) implements Versioned {
+}
@@ -0,0 +1,26 @@
+package com.softaliance.employeemanagement.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Role row returned by a conditional UPDATE, with the name it had before, which outstanding tokens still carry.
+ */
+public interface RoleWrite {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getVersion();
+
+    String getPreviousName();
+
+    default RoleView toView() {
+        return new RoleView(getId(), getName(), getDescription(), getCreatedAt(), getUpdatedAt(), getVersion());
+    }
+}
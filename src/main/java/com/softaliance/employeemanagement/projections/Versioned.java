@@ -0,0 +1,8 @@
+package com.softaliance.employeemanagement.projections;
+
+/**
+ * A view carrying the optimistic-locking version of the row it was read from, sent to clients as its ETag.
+ */
+public interface Versioned {
+    Long version();
+}
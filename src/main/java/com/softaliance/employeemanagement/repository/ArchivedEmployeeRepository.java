@@ -0,0 +1,42 @@
+package com.softaliance.employeemanagement.repository;
+
+import com.softaliance.employeemanagement.models.ArchivedEmployee;
+import com.softaliance.employeemanagement.projections.EmployeeView;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads deleted and archived employees, in the same shape as active ones, for callers that opt in to them.
+ */
+public interface ArchivedEmployeeRepository extends Repository<ArchivedEmployee, Long> {
+
+    String ARCHIVED_EMPLOYEE_VIEW = "SELECT new com.softaliance.employeemanagement.projections.EmployeeView(" +
+            "a.id, a.firstName, a.lastName, a.phone, a.address, a.email, a.status, " +
+            "d.id, d.name, d.description, d.createdAt, d.updatedAt, d.managerId, d.version, a.version) " +
+            "FROM ArchivedEmployee a LEFT JOIN Department d ON d.id = a.departmentId ";
+
+    @Transactional(readOnly = true)
+    @Query(ARCHIVED_EMPLOYEE_VIEW + "WHERE a.id = :id")
+    Optional<EmployeeView> findViewById(@Param("id") Long id);
+
+    /**
+     * Keyset page ordered by id, with the same filters as {@link EmployeeRepository#findPage}.
+     */
+    @Transactional(readOnly = true)
+    @Query(ARCHIVED_EMPLOYEE_VIEW + "WHERE a.id > :afterId " +
+            "AND (:departmentId IS NULL OR a.departmentId = :departmentId) " +
+            "AND (:roleId IS NULL OR a.roleId = :roleId) " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "ORDER BY a.id")
+    List<EmployeeView> findPage(@Param("afterId") Long afterId,
+                                @Param("departmentId") Long departmentId,
+                                @Param("roleId") Long roleId,
+                                @Param("status") Boolean status,
+                                Limit limit);
+}
@@ -1,7 +1,51 @@
 package com.softaliance.employeemanagement.repository;
 
 import com.softaliance.employeemanagement.models.Department;
+import com.softaliance.employeemanagement.projections.DepartmentView;
+import com.softaliance.employeemanagement.projections.DepartmentWrite;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
+
+    String DEPARTMENT_VIEW = "SELECT new com.softaliance.employeemanagement.projections.DepartmentView(" +
+            "d.id, d.name, d.description, d.createdAt, d.updatedAt, d.managerId, d.version) FROM Department d ";
+
+    @Transactional(readOnly = true)
+    @Query(DEPARTMENT_VIEW + "WHERE d.id = :id")
+    Optional<DepartmentView> findViewById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query(DEPARTMENT_VIEW + "ORDER BY d.id")
+    List<DepartmentView> findAllViews();
+
+    @Transactional
+    @Query(nativeQuery = true, value = "UPDATE department SET name = :name, description = :description, " +
+            "updated_at = :now, version = version + 1 " +
+            "WHERE id = :id AND (CAST(:version AS BIGINT) IS NULL OR version = :version) " +
+            "RETURNING id, name, description, created_at AS \"createdAt\", updated_at AS \"updatedAt\", " +
+            "manager_id AS \"managerId\", version")
+    List<DepartmentWrite> updateIfVersion(@Param("id") Long id,
+                                          @Param("version") Long version,
+                                          @Param("name") String name,
+                                          @Param("description") String description,
+                                          @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Query(nativeQuery = true, value = "DELETE FROM department WHERE id = :id " +
+            "AND (CAST(:version AS BIGINT) IS NULL OR version = :version) RETURNING id")
+    List<Long> deleteIfVersion(@Param("id") Long id, @Param("version") Long version);
+
+    /**
+     * Deletes the given departments in one statement, returning the ids actually deleted.
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = "DELETE FROM department WHERE id = ANY(CAST(:ids AS BIGINT[])) RETURNING id")
+    List<Long> deleteByIds(@Param("ids") Long[] ids);
 }
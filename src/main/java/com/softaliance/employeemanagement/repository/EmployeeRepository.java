@@ -2,17 +2,241 @@ package com.softaliance.employeemanagement.repository;
 
 import com.softaliance.employeemanagement.models.Department;
 import com.softaliance.employeemanagement.models.Employee;
+import com.softaliance.employeemanagement.projections.EmployeeKey;
+import com.softaliance.employeemanagement.projections.EmployeeView;
+import com.softaliance.employeemanagement.projections.EmployeeWrite;
+import com.softaliance.employeemanagement.responses.AuthResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
-    Optional<Employee> findByEmail(String email);
+    String EMPLOYEE_VIEW = "SELECT new com.softaliance.employeemanagement.projections.EmployeeView(" +
+            "e.id, e.firstName, e.lastName, e.phone, e.address, e.email, e.status, " +
+            "d.id, d.name, d.description, d.createdAt, d.updatedAt, d.managerId, d.version, e.version) " +
+            "FROM Employee e LEFT JOIN e.department d ";
+    /** Every employee column, as copied into employee_archive (V5 migration). */
+    String ARCHIVE_COLUMNS = "id, first_name, last_name, email, password, phone, address, status, department_id, " +
+            "role_id, created_at, updated_at, version, deleted_at, deactivated_at";
+
+    @Override
+    @EntityGraph(Employee.WITH_DEPARTMENT)
+    Optional<Employee> findById(Long id);
+    /**
+     * Login lookup, case-insensitive so it matches however the address was typed; served by the unique
+     * {@code lower(email)} key (V7 migration), so at most one active employee matches.
+     */
+    @EntityGraph(Employee.WITH_DEPARTMENT_AND_ROLE)
+    @Query("SELECT e FROM Employee e WHERE lower(e.email) = lower(:email)")
+    Optional<Employee> findByEmail(@Param("email") String email);
+    @EntityGraph(Employee.WITH_DEPARTMENT)
     @Query("SELECT e FROM Employee e WHERE e.roles.name = :roleName")
     List<Employee> findEmployeesByRoleName(@Param("roleName") String roleName);
+    @EntityGraph(Employee.WITH_DEPARTMENT)
     List<Employee> findEmployeesByDepartment(Department department);
+
+    /**
+     * The employee without its associations, which stay lazy references, for writes that rarely touch them.
+     */
+    @Query("SELECT e FROM Employee e WHERE e.id = :id")
+    Optional<Employee> findWithoutAssociationsById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query(EMPLOYEE_VIEW + "WHERE e.id = :id")
+    Optional<EmployeeView> findViewById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.softaliance.employeemanagement.responses.AuthResponse(" +
+            "e.firstName, e.lastName, e.phone, e.password, e.address, e.email) " +
+            "FROM Employee e WHERE lower(e.email) = lower(:email)")
+    Optional<AuthResponse> findAuthResponseByEmail(@Param("email") String email);
+
+    /*
+     * Conditional writes, one statement each, here and in DepartmentRepository and RolesRepository. A null
+     * version writes unconditionally; otherwise the row is only written while its version still matches, and an
+     * empty result means it is gone or was changed meanwhile.
+     */
+
+    @Transactional
+    @Query(nativeQuery = true, value = "WITH previous AS (SELECT id, email FROM employee WHERE id = :id AND deleted_at IS NULL FOR UPDATE) " +
+            "UPDATE employee e SET first_name = :firstName, last_name = :lastName, email = :email, phone = :phone, " +
+            "address = :address, status = :status, " +
+            "deactivated_at = CASE WHEN CAST(:status AS BOOLEAN) THEN NULL ELSE COALESCE(e.deactivated_at, :now) END, " +
+            "department_id = COALESCE(CAST(:departmentId AS BIGINT), e.department_id), " +
+            "updated_at = :now, version = e.version + 1 " +
+            "FROM previous WHERE e.id = previous.id AND (CAST(:version AS BIGINT) IS NULL OR e.version = :version) " +
+            "RETURNING previous.email AS \"previousEmail\", e.department_id AS \"departmentId\", e.version AS version")
+    List<EmployeeWrite> updateIfVersion(@Param("id") Long id,
+                                        @Param("version") Long version,
+                                        @Param("firstName") String firstName,
+                                        @Param("lastName") String lastName,
+                                        @Param("email") String email,
+                                        @Param("phone") String phone,
+                                        @Param("address") String address,
+                                        @Param("status") Boolean status,
+                                        @Param("departmentId") Long departmentId,
+                                        @Param("now") LocalDateTime now);
+
+    /**
+     * Soft-deletes the employee: the row stays, hidden from every entity query, until {@link #archiveChunk} moves it.
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = "UPDATE employee SET deleted_at = :now, updated_at = :now, version = version + 1 " +
+            "WHERE id = :id AND deleted_at IS NULL AND (CAST(:version AS BIGINT) IS NULL OR version = :version) " +
+            "RETURNING email")
+    List<String> softDeleteIfVersion(@Param("id") Long id, @Param("version") Long version, @Param("now") LocalDateTime now);
+
+    /**
+     * Soft-deletes the given employees in one statement, returning the rows actually deleted.
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = "UPDATE employee SET deleted_at = :now, updated_at = :now, version = version + 1 " +
+            "WHERE id = ANY(CAST(:ids AS BIGINT[])) AND deleted_at IS NULL RETURNING id, email")
+    List<EmployeeKey> softDeleteByIds(@Param("ids") Long[] ids, @Param("now") LocalDateTime now);
+
+    /*
+     * Whether an active employee still references one of the departments or roles. Soft-deleted employees keep
+     * both keys until archived, so after the foreign key rejects a delete these tell real members apart.
+     */
+
+    @Transactional(readOnly = true)
+    @Query("SELECT count(e) > 0 FROM Employee e WHERE e.department.id IN :ids")
+    boolean existsInDepartments(@Param("ids") Collection<Long> ids);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT count(e) > 0 FROM Employee e WHERE e.roles.id IN :ids")
+    boolean existsInRoles(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Moves up to {@code limit} employees into {@code employee_archive}: those soft-deleted before
+     * {@code deletedBefore}, and ones deactivated before {@code inactiveBefore}. Delete and insert are one
+     * statement, so a row is never in both tables or in neither. SKIP LOCKED leaves rows that live requests hold
+     * for a later run instead of waiting on them. Returns the rows moved.
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = "WITH moved AS (DELETE FROM employee WHERE id IN (" +
+            "SELECT id FROM employee WHERE deleted_at < :deletedBefore " +
+            "OR (deleted_at IS NULL AND deactivated_at < :inactiveBefore) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "RETURNING " + ARCHIVE_COLUMNS + ") " +
+            "INSERT INTO employee_archive (" + ARCHIVE_COLUMNS + ", archived_at) " +
+            "SELECT " + ARCHIVE_COLUMNS + ", :now FROM moved " +
+            "RETURNING id, email")
+    List<EmployeeKey> archiveChunk(@Param("deletedBefore") LocalDateTime deletedBefore,
+                                   @Param("inactiveBefore") LocalDateTime inactiveBefore,
+                                   @Param("limit") int limit,
+                                   @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Employee e SET e.password = :password WHERE lower(e.email) = lower(:email)")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
+
+    /**
+     * Which of the given lowercased emails active employees already use, lowercased, ignoring case as the
+     * unique email key does.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT lower(e.email) FROM Employee e WHERE lower(e.email) IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Employees in the same department as the employee with the given email, in one round trip.
+     * Empty when that employee does not exist or has no department.
+     */
+    @Transactional(readOnly = true)
+    @Query(EMPLOYEE_VIEW + "WHERE d.id = (SELECT m.department.id FROM Employee m WHERE lower(m.email) = lower(:email)) " +
+            "ORDER BY e.id")
+    List<EmployeeView> findDepartmentColleaguesByEmail(@Param("email") String email);
+
+    @Transactional(readOnly = true)
+    @Query(EMPLOYEE_VIEW + "WHERE d.id = :departmentId ORDER BY e.id")
+    List<EmployeeView> findDepartmentColleagues(@Param("departmentId") Long departmentId);
+
+    /**
+     * Keyset page of employees ordered by id, starting after {@code afterId}.
+     * Null filters are ignored.
+     */
+    @Transactional(readOnly = true)
+    @Query(EMPLOYEE_VIEW + "WHERE e.id > :afterId " +
+            "AND (:departmentId IS NULL OR d.id = :departmentId) " +
+            "AND (:roleId IS NULL OR e.roles.id = :roleId) " +
+            "AND (:status IS NULL OR e.status = :status) " +
+            "ORDER BY e.id")
+    List<EmployeeView> findPage(@Param("afterId") Long afterId,
+                                @Param("departmentId") Long departmentId,
+                                @Param("roleId") Long roleId,
+                                @Param("status") Boolean status,
+                                Limit limit);
+
+    /**
+     * Forward-only cursor over the whole table for exports. Must be consumed inside a transaction
+     * and closed by the caller.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Transactional(readOnly = true)
+    @Query(EMPLOYEE_VIEW + "ORDER BY e.id")
+    Stream<EmployeeView> streamAllViews();
+
+    /*
+     * Set-based reassignment. Each is one UPDATE that skips rows already on the target and returns the rows
+     * it changed, so callers know exactly which cache entries and tokens to drop. Native because JPQL has no
+     * RETURNING; the id variants bind all ids as a single array, the filter variants ignore null filters.
+     */
+
+    @Transactional
+    @Query(nativeQuery = true, value = "UPDATE employee SET department_id = :targetId, updated_at = :now, version = version + 1 " +
+            "WHERE id = ANY(CAST(:ids AS BIGINT[])) AND deleted_at IS NULL AND (department_id IS NULL OR department_id <> :targetId) " +
+            "RETURNING id, email")
+    List<EmployeeKey> transferDepartmentByIds(@Param("targetId") Long targetId,
+                                              @Param("ids") Long[] ids,
+                                              @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Query(nativeQuery = true, value = "UPDATE employee SET department_id = :targetId, updated_at = :now, version = version + 1 " +
+            "WHERE deleted_at IS NULL AND (department_id IS NULL OR department_id <> :targetId) " +
+            "AND (CAST(:departmentId AS BIGINT) IS NULL OR department_id = :departmentId) " +
+            "AND (CAST(:roleId AS BIGINT) IS NULL OR role_id = :roleId) " +
+            "AND (CAST(:status AS BOOLEAN) IS NULL OR status = :status) " +
+            "RETURNING id, email")
+    List<EmployeeKey> transferDepartmentByFilter(@Param("targetId") Long targetId,
+                                                 @Param("departmentId") Long departmentId,
+                                                 @Param("roleId") Long roleId,
+                                                 @Param("status") Boolean status,
+                                                 @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Query(nativeQuery = true, value = "UPDATE employee SET role_id = :targetId, updated_at = :now, version = version + 1 " +
+            "WHERE id = ANY(CAST(:ids AS BIGINT[])) AND deleted_at IS NULL AND (role_id IS NULL OR role_id <> :targetId) " +
+            "RETURNING id, email")
+    List<EmployeeKey> reassignRoleByIds(@Param("targetId") Long targetId,
+                                        @Param("ids") Long[] ids,
+                                        @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Query(nativeQuery = true, value = "UPDATE employee SET role_id = :targetId, updated_at = :now, version = version + 1 " +
+            "WHERE deleted_at IS NULL AND (role_id IS NULL OR role_id <> :targetId) " +
+            "AND (CAST(:departmentId AS BIGINT) IS NULL OR department_id = :departmentId) " +
+            "AND (CAST(:roleId AS BIGINT) IS NULL OR role_id = :roleId) " +
+            "AND (CAST(:status AS BOOLEAN) IS NULL OR status = :status) " +
+            "RETURNING id, email")
+    List<EmployeeKey> reassignRoleByFilter(@Param("targetId") Long targetId,
+                                           @Param("departmentId") Long departmentId,
+                                           @Param("roleId") Long roleId,
+                                           @Param("status") Boolean status,
+                                           @Param("now") LocalDateTime now);
 }
@@ -1,11 +1,51 @@
 package com.softaliance.employeemanagement.repository;
 
-import com.softaliance.employeemanagement.models.Employee;
 import com.softaliance.employeemanagement.models.Roles;
+import com.softaliance.employeemanagement.projections.RoleView;
+import com.softaliance.employeemanagement.projections.RoleWrite;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface RolesRepository extends JpaRepository<Roles, Long> {
+
+    String ROLE_VIEW = "SELECT new com.softaliance.employeemanagement.projections.RoleView(" +
+            "r.id, r.name, r.description, r.createdAt, r.updatedAt, r.version) FROM Roles r ";
+
+    @Transactional(readOnly = true)
+    @Query(ROLE_VIEW + "WHERE r.id = :id")
+    Optional<RoleView> findViewById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query(ROLE_VIEW + "ORDER BY r.id")
+    List<RoleView> findAllViews();
+
+    @Transactional
+    @Query(nativeQuery = true, value = "WITH previous AS (SELECT id, name FROM roles WHERE id = :id FOR UPDATE) " +
+            "UPDATE roles r SET name = :name, description = :description, updated_at = :now, version = r.version + 1 " +
+            "FROM previous WHERE r.id = previous.id AND (CAST(:version AS BIGINT) IS NULL OR r.version = :version) " +
+            "RETURNING r.id AS id, r.name AS name, r.description AS description, r.created_at AS \"createdAt\", " +
+            "r.updated_at AS \"updatedAt\", r.version AS version, previous.name AS \"previousName\"")
+    List<RoleWrite> updateIfVersion(@Param("id") Long id,
+                                    @Param("version") Long version,
+                                    @Param("name") String name,
+                                    @Param("description") String description,
+                                    @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Query(nativeQuery = true, value = "DELETE FROM roles WHERE id = :id " +
+            "AND (CAST(:version AS BIGINT) IS NULL OR version = :version) RETURNING name")
+    List<String> deleteIfVersion(@Param("id") Long id, @Param("version") Long version);
+
+    /**
+     * Deletes the given roles in one statement, returning the names of the roles actually deleted.
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = "DELETE FROM roles WHERE id = ANY(CAST(:ids AS BIGINT[])) RETURNING name")
+    List<String> deleteByIds(@Param("ids") Long[] ids);
 }
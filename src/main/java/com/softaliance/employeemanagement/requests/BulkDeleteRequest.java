@@ -0,0 +1,19 @@
+package com.softaliance.employeemanagement.requests;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Ids of the records to delete; ids that do not exist are skipped.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkDeleteRequest {
+    @NotEmpty(message = "Ids cannot be empty")
+    private List<Long> ids;
+}
@@ -0,0 +1,29 @@
+package com.softaliance.employeemanagement.requests;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Moves employees to {@code targetId}. Employees are selected either by {@code employeeIds} or by the
+ * filter fields ({@code departmentId}, {@code roleId}, {@code status}), never both.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkReassignRequest {
+    @JsonProperty("employee_ids")
+    private List<Long> employeeIds;
+    @JsonProperty("department_id")
+    private Long departmentId;
+    @JsonProperty("role_id")
+    private Long roleId;
+    private Boolean status;
+    @NotNull(message = "Target cannot be null")
+    @JsonProperty("target_id")
+    private Long targetId;
+}
@@ -0,0 +1,20 @@
+package com.softaliance.employeemanagement.requests;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoginRequest {
+    @NotNull(message = "Email cannot be null")
+    @Email(message = "Enter a valid email")
+    private String email;
+    @NotNull(message = "Password cannot be null")
+    @NotEmpty(message = "Enter your password")
+    private String password;
+}
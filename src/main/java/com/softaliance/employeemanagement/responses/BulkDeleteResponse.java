@@ -0,0 +1,15 @@
+package com.softaliance.employeemanagement.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkDeleteResponse {
+    private int requested;
+    private int deleted;
+}
@@ -0,0 +1,34 @@
+package com.softaliance.employeemanagement.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkImportResponse {
+    private int total;
+    private int created;
+    private int failed;
+    private List<RowResult> results;
+
+    /**
+     * Outcome of one input row; {@code row} is 1-based and counts data rows only. {@code id} is set for created rows.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class RowResult {
+        private int row;
+        private Long id;
+        private String email;
+        private boolean created;
+        private String message;
+    }
+}
@@ -0,0 +1,14 @@
+package com.softaliance.employeemanagement.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkUpdateResponse {
+    private int updated;
+}
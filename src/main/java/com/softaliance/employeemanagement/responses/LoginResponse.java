@@ -0,0 +1,16 @@
+package com.softaliance.employeemanagement.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LoginResponse {
+    private String token;
+    private String tokenType;
+    private long expiresIn;
+}
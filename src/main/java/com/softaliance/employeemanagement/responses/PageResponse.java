@@ -0,0 +1,19 @@
+package com.softaliance.employeemanagement.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PageResponse<T> {
+    private List<T> items;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
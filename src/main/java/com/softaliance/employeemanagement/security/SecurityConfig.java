@@ -1,11 +1,13 @@
 package com.softaliance.employeemanagement.security;
 
 import com.softaliance.employeemanagement.configurations.JwtAuthenticationFilter;
+import com.softaliance.employeemanagement.configurations.RateLimitFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -21,6 +23,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final AuthenticationProvider authenticationProvider;
     private final AuthenticationEntryPoint authEntryPoint;
 
@@ -36,10 +39,12 @@ public class SecurityConfig {
                         )
                         .permitAll()
                         .requestMatchers("/roles/**", "/department/**",
-                                "/employees/get/all", "/employees/create",
+                                "/employees/get/all", "/employees/export", "/employees/create", "/employees/bulk", "/employees/bulk/**",
                                 "/employees/update/**", "/employees/delete/**"
                         )
                         .hasAuthority("Admin")
+                        .requestMatchers(HttpMethod.PATCH, "/employees/*")
+                        .hasAuthority("Admin")
                         .requestMatchers("/manager/**")
                         .hasAnyAuthority(
                                 "Manager",
@@ -53,6 +58,7 @@ public class SecurityConfig {
                 )
                 .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class)
                 .exceptionHandling(exception -> exception
                         .authenticationEntryPoint(authEntryPoint)
                 );
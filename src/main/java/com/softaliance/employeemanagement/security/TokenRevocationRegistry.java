@@ -0,0 +1,88 @@
+package com.softaliance.employeemanagement.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when an employee or a role last changed, so stateless tokens issued before the change can be
+ * rejected without a database lookup. Entries older than the token lifetime cannot match any valid token
+ * and are pruned whenever a change is recorded; bulk writes record their rows with {@link #employeesChanged}
+ * so they prune once rather than once per row.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    public static final String EMPLOYEE_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String DEPARTMENT_CLAIM = "department";
+
+    private final Map<Long, Long> employeeChanges = new ConcurrentHashMap<>();
+    private final Map<String, Long> roleChanges = new ConcurrentHashMap<>();
+    private final long retentionMillis;
+
+    public TokenRevocationRegistry(@Value("${security.jwt.expiration-ms:1440000}") long retentionMillis) {
+        this.retentionMillis = retentionMillis;
+    }
+
+    public void employeeChanged(Long employeeId) {
+        if (employeeId != null) {
+            record(employeeChanges, employeeId);
+        }
+    }
+
+    public void employeesChanged(Collection<Long> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Long employeeId : employeeIds) {
+            if (employeeId != null) {
+                employeeChanges.put(employeeId, now);
+            }
+        }
+        prune(now);
+    }
+
+    public void roleChanged(String roleName) {
+        if (roleName != null) {
+            record(roleChanges, roleName.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * A token is revoked when its employee or its role changed at or after the second it was issued.
+     * JWT timestamps have second precision, so a token issued in the same second as a change is rejected.
+     */
+    public boolean isRevoked(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        if (issuedAt == null) {
+            return true;
+        }
+        Number employeeId = claims.get(EMPLOYEE_ID_CLAIM, Number.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        return changedSince(employeeId == null ? null : employeeChanges.get(employeeId.longValue()), issuedAt)
+                || changedSince(role == null ? null : roleChanges.get(role.toLowerCase(Locale.ROOT)), issuedAt);
+    }
+
+    private boolean changedSince(Long changedAt, Date issuedAt) {
+        return changedAt != null && changedAt >= issuedAt.getTime();
+    }
+
+    private <K> void record(Map<K, Long> changes, K key) {
+        long now = System.currentTimeMillis();
+        changes.put(key, now);
+        prune(now);
+    }
+
+    private void prune(long now) {
+        employeeChanges.values().removeIf(changedAt -> changedAt < now - retentionMillis);
+        roleChanges.values().removeIf(changedAt -> changedAt < now - retentionMillis);
+    }
+}
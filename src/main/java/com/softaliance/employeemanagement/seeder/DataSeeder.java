@@ -13,6 +13,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Configuration
 @AllArgsConstructor
@@ -50,9 +51,7 @@ public class DataSeeder implements ApplicationRunner{
                 .updatedAt(LocalDateTime.now())
                 .build();
         if(rolesRepository.count() == 0) {
-            rolesRepository.save(adminRole);
-            rolesRepository.save(employeeRole);
-            rolesRepository.save(managerRole);
+            rolesRepository.saveAll(List.of(adminRole, employeeRole, managerRole));
         }
 
 
@@ -72,8 +71,7 @@ public class DataSeeder implements ApplicationRunner{
                 .build();
 
         if(departmentRepository.count() == 0) {
-            departmentRepository.save(hrDepartment);
-            departmentRepository.save(itDepartment);
+            departmentRepository.saveAll(List.of(hrDepartment, itDepartment));
         }
 
         // Seed Employees
@@ -120,9 +118,7 @@ public class DataSeeder implements ApplicationRunner{
                 .build();
 
         if(employeeRepository.count() == 0) {
-            employeeRepository.save(adminEmployee);
-            employeeRepository.save(managerEmployee);
-            employeeRepository.save(userEmployee);
+            employeeRepository.saveAll(List.of(adminEmployee, managerEmployee, userEmployee));
         }
 
         System.out.println("Data seeding completed!");
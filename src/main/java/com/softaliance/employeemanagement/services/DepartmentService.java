@@ -1,17 +1,26 @@
 package com.softaliance.employeemanagement.services;
 
+import com.softaliance.employeemanagement.cache.ReferenceDataCache;
+import com.softaliance.employeemanagement.cache.SingleFlight;
 import com.softaliance.employeemanagement.models.Department;
 import com.softaliance.employeemanagement.models.Employee;
+import com.softaliance.employeemanagement.projections.DepartmentView;
+import com.softaliance.employeemanagement.projections.DepartmentWrite;
+import com.softaliance.employeemanagement.projections.EmployeeView;
 import com.softaliance.employeemanagement.repository.DepartmentRepository;
 import com.softaliance.employeemanagement.repository.EmployeeRepository;
-import com.softaliance.employeemanagement.repository.RolesRepository;
+import com.softaliance.employeemanagement.requests.BulkDeleteRequest;
 import com.softaliance.employeemanagement.requests.DepartmentRequest;
 import com.softaliance.employeemanagement.responses.ApiResponse;
+import com.softaliance.employeemanagement.responses.BulkDeleteResponse;
+import com.softaliance.employeemanagement.utils.EntityTag;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,16 +28,20 @@ import java.util.Optional;
 public class DepartmentService {
     private final DepartmentRepository departmentRepository;
     private final EmployeeRepository employeeRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final SingleFlight singleFlight;
 
-    public DepartmentService(DepartmentRepository departmentRepository, EmployeeRepository employeeRepository) {
+    public DepartmentService(DepartmentRepository departmentRepository, EmployeeRepository employeeRepository, ReferenceDataCache referenceDataCache, SingleFlight singleFlight) {
         this.departmentRepository = departmentRepository;
         this.employeeRepository = employeeRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.singleFlight = singleFlight;
     }
 
     public ApiResponse getDepartment(Long id) {
-        Optional<Department> department;
+        Optional<DepartmentView> department;
         try{
-            department = departmentRepository.findById(id);
+            department = referenceDataCache.department(id);
             if (department.isPresent()) {
                 return ApiResponse.builder()
                         .code("00")
@@ -50,9 +63,9 @@ public class DepartmentService {
     }
 
     public ApiResponse getAllDepartments() {
-        List<Department> departments;
+        List<DepartmentView> departments;
         try {
-            departments = departmentRepository.findAll();
+            departments = referenceDataCache.departments();
             return ApiResponse.builder()
                     .code("00")
                     .message("Success")
@@ -66,12 +79,24 @@ public class DepartmentService {
         }
     }
 
+    /**
+     * Serialized success body of {@link #getAllDepartments()}, or null when the departments cannot be loaded.
+     */
+    public byte[] getAllDepartmentsJson() {
+        try {
+            return referenceDataCache.departmentsJson();
+        }catch (Exception e){
+            return null;
+        }
+    }
+
     public ApiResponse createDepartment(DepartmentRequest request) {
         Department department = new Department();
         try{
             department.setName(request.getName());
             department.setDescription(request.getDescription());
             department = departmentRepository.save(department);
+            referenceDataCache.invalidateDepartments();
         }catch (DataIntegrityViolationException e) {
             return ApiResponse.builder()
                     .code("99")
@@ -91,20 +116,20 @@ public class DepartmentService {
                 .build();
     }
 
-    public ApiResponse updateDepartment(Long id, DepartmentRequest request) {
-        Optional<Department> savedDepartment;
+    public ApiResponse updateDepartment(Long id, DepartmentRequest request, String ifMatch) {
+        List<DepartmentWrite> written;
         try{
-            savedDepartment = departmentRepository.findById(id);
-            if (savedDepartment.isPresent()) {
-                savedDepartment.get().setName(request.getName());
-                savedDepartment.get().setDescription(request.getDescription());
-                departmentRepository.save(savedDepartment.get());
-            }else{
-                return ApiResponse.builder()
-                        .code("90")
-                        .message("Unable to retrieve department")
-                        .build();
+            written = departmentRepository.updateIfVersion(id, EntityTag.parseIfMatch(ifMatch),
+                    request.getName(), request.getDescription(), LocalDateTime.now());
+            if (written.isEmpty()) {
+                return missingOrConflict(id, "Unable to retrieve department");
             }
+            referenceDataCache.invalidateDepartments();
+        }catch (IllegalArgumentException e){
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to update department, pass in correct data")
+                    .build();
         }catch(Exception e){
             return ApiResponse.builder()
                     .code("99")
@@ -114,22 +139,28 @@ public class DepartmentService {
         return ApiResponse.builder()
                 .code("00")
                 .message("Success")
-                .data(savedDepartment.get())
+                .data(written.get(0).toView())
                 .build();
     }
 
-    public ApiResponse deleteDepartment(Long id) {
-        Optional<Department> savedDepartment;
+    public ApiResponse deleteDepartment(Long id, String ifMatch) {
         try {
-            savedDepartment = departmentRepository.findById(id);
-            if (savedDepartment.isPresent()) {
-                departmentRepository.delete(savedDepartment.get());
-            }else {
-                return ApiResponse.builder()
-                        .code("90")
-                        .message("Department not found")
-                        .build();
+            if (departmentRepository.deleteIfVersion(id, EntityTag.parseIfMatch(ifMatch)).isEmpty()) {
+                return missingOrConflict(id, "Department not found");
             }
+            referenceDataCache.invalidateDepartments();
+        }catch (IllegalArgumentException e){
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to delete department, pass in correct data")
+                    .build();
+        }catch (DataIntegrityViolationException e) {
+            return ApiResponse.builder()
+                    .code("99")
+                    .message(hasEmployees(List.of(id))
+                            ? "Unable to delete department, department still has employees"
+                            : "Unable to delete department, its deleted employees have not been archived yet")
+                    .build();
         }catch (Exception e){
             return ApiResponse.builder()
                     .code("99")
@@ -142,33 +173,97 @@ public class DepartmentService {
                 .build();
     }
 
+    /**
+     * Deletes the given departments in one DELETE, without loading them or their employees.
+     */
+    public ApiResponse deleteDepartments(BulkDeleteRequest request) {
+        if (request.getIds() == null || request.getIds().isEmpty()) {
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to delete departments, pass in correct data")
+                    .build();
+        }
+        Long[] ids = request.getIds().stream().distinct().toArray(Long[]::new);
+        int deleted = 0;
+        try {
+            deleted = departmentRepository.deleteByIds(ids).size();
+        }catch (DataIntegrityViolationException e) {
+            return ApiResponse.builder()
+                    .code("99")
+                    .message(hasEmployees(List.of(ids))
+                            ? "Unable to delete departments, a department still has employees"
+                            : "Unable to delete departments, a department's deleted employees have not been archived yet")
+                    .build();
+        }catch (Exception e){
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to delete departments, try again later")
+                    .build();
+        }finally {
+            if (deleted > 0) {
+                referenceDataCache.invalidateDepartments();
+            }
+        }
+        if (deleted == 0) {
+            return ApiResponse.builder()
+                    .code("90")
+                    .message("Department not found")
+                    .build();
+        }
+        return ApiResponse.builder()
+                .code("00")
+                .message("Success")
+                .data(BulkDeleteResponse.builder()
+                        .requested(ids.length)
+                        .deleted(deleted)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Whether the foreign key rejected a delete because of active employees. Soft-deleted ones keep their department_id
+     * until the archive job moves them, which would otherwise read as the department still being in use. Assumes active
+     * employees when the check itself fails.
+     */
+    private boolean hasEmployees(List<Long> ids) {
+        try {
+            return employeeRepository.existsInDepartments(ids);
+        }catch (Exception e){
+            return true;
+        }
+    }
+
+    /**
+     * Tells a missing department from a version conflict once a conditional write matched no row.
+     */
+    private ApiResponse missingOrConflict(Long id, String notFoundMessage) {
+        if (!departmentRepository.existsById(id)) {
+            return ApiResponse.builder()
+                    .code("90")
+                    .message(notFoundMessage)
+                    .build();
+        }
+        return ApiResponse.builder()
+                .code("91")
+                .message("Department has changed since it was read, fetch it again and retry")
+                .build();
+    }
+
     public ApiResponse viewEmployeesInDepartment() {
-        Optional<Employee> employee;
-        Optional<Department> department;
-        List<Employee> employees;
+        List<EmployeeView> employees;
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         try{
-            employee = employeeRepository.findByEmail(authentication.getName());
-            if (employee.isEmpty()) {
+            if (!hasManagerPrivileges(authentication)) {
                 return ApiResponse.builder()
-                        .code("90")
-                        .message("Employee not found")
+                        .code("99")
+                        .message("Employee does not have privileges to access")
                         .build();
             }
-            if(employee.get().getRoles().getName().equalsIgnoreCase("manager")
-            || employee.get().getRoles().getName().equalsIgnoreCase("admin")) {
-                department = departmentRepository.findById(employee.get().getDepartment().getId());
-                if (department.isEmpty()) {
-                    return ApiResponse.builder()
-                            .code("90")
-                            .message("Department not found")
-                            .build();
-                }
-                employees = employeeRepository.findEmployeesByDepartment(department.get());
-            }else{
+            employees = findDepartmentColleagues(authentication);
+            if (employees.isEmpty()) {
                 return ApiResponse.builder()
-                        .code("99")
-                        .message("Employee does not have privileges to access")
+                        .code("90")
+                        .message("Department not found")
                         .build();
             }
         }catch (Exception e){
@@ -183,4 +278,34 @@ public class DepartmentService {
                 .data(employees)
                 .build();
     }
+
+    /**
+     * Managers of one department all get the same list, so when the authenticated user (loaded with its
+     * department) is at hand, concurrent requests share a flight per department; otherwise, as with stateless
+     * tokens, per user.
+     */
+    private List<EmployeeView> findDepartmentColleagues(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof Employee employee
+                && employee.getDepartment() != null && employee.getDepartment().getId() != null) {
+            Long departmentId = employee.getDepartment().getId();
+            return singleFlight.execute("department-colleagues", "department:" + departmentId,
+                    () -> employeeRepository.findDepartmentColleagues(departmentId));
+        }
+        String email = authentication.getName();
+        return singleFlight.execute("department-colleagues", "user:" + email,
+                () -> employeeRepository.findDepartmentColleaguesByEmail(email));
+    }
+
+    /**
+     * Checks the authorities resolved while authenticating the request, so no lookup is needed.
+     */
+    private boolean hasManagerPrivileges(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (authority.getAuthority().equalsIgnoreCase("manager")
+                    || authority.getAuthority().equalsIgnoreCase("admin")) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
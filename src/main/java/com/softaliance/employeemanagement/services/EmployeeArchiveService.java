@@ -0,0 +1,72 @@
+package com.softaliance.employeemanagement.services;
+
+import com.softaliance.employeemanagement.cache.UserDetailsCache;
+import com.softaliance.employeemanagement.projections.EmployeeKey;
+import com.softaliance.employeemanagement.repository.EmployeeRepository;
+import com.softaliance.employeemanagement.security.TokenRevocationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps the {@code employee} table sized to the active workforce by moving employees soft-deleted for longer
+ * than {@code employee.archive.deleted-after}, and employees deactivated for longer than
+ * {@code employee.archive.inactive-after}, into {@code employee_archive}. Only an explicit deactivation counts:
+ * {@code status = false} on its own, the column default, never archives anyone. Each chunk is its own short
+ * transaction, so a run never holds locks on more than {@code employee.archive.chunk-size} rows.
+ */
+@Service
+public class EmployeeArchiveService {
+    private final Logger logger = LoggerFactory.getLogger(EmployeeArchiveService.class);
+    private final EmployeeRepository employeeRepository;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final UserDetailsCache userDetailsCache;
+    private final Duration deletedAfter;
+    private final Duration inactiveAfter;
+    private final int chunkSize;
+
+    public EmployeeArchiveService(EmployeeRepository employeeRepository, TokenRevocationRegistry tokenRevocationRegistry, UserDetailsCache userDetailsCache,
+                                  @Value("${employee.archive.deleted-after:30d}") Duration deletedAfter,
+                                  @Value("${employee.archive.inactive-after:180d}") Duration inactiveAfter,
+                                  @Value("${employee.archive.chunk-size:1000}") int chunkSize) {
+        this.employeeRepository = employeeRepository;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.userDetailsCache = userDetailsCache;
+        this.deletedAfter = deletedAfter;
+        this.inactiveAfter = inactiveAfter;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Moves chunks until one comes back short. Returns the number of employees archived.
+     */
+    @Scheduled(cron = "${employee.archive.cron:0 30 2 * * *}")
+    public int archive() {
+        LocalDateTime now = LocalDateTime.now();
+        int archived = 0;
+        try {
+            List<EmployeeKey> moved;
+            do {
+                moved = employeeRepository.archiveChunk(now.minus(deletedAfter), now.minus(inactiveAfter), chunkSize, now);
+                if (!moved.isEmpty()) {
+                    tokenRevocationRegistry.employeesChanged(moved.stream().map(EmployeeKey::getId).toList());
+                    moved.forEach(employee -> userDetailsCache.evict(employee.getEmail()));
+                }
+                archived += moved.size();
+            } while (moved.size() == chunkSize);
+        } catch (Exception e) {
+            logger.error("Employee archival stopped after {} employees: {}", archived, e.getMessage());
+            return archived;
+        }
+        if (archived > 0) {
+            logger.info("Archived {} employees", archived);
+        }
+        return archived;
+    }
+}
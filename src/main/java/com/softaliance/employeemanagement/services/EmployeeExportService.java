@@ -0,0 +1,55 @@
+package com.softaliance.employeemanagement.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softaliance.employeemanagement.projections.EmployeeView;
+import com.softaliance.employeemanagement.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class EmployeeExportService {
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final Logger logger = LoggerFactory.getLogger(EmployeeExportService.class);
+    private final EmployeeRepository employeeRepository;
+    private final ObjectMapper objectMapper;
+
+    public EmployeeExportService(EmployeeRepository employeeRepository, ObjectMapper objectMapper) {
+        this.employeeRepository = employeeRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes every employee as one JSON object per line (NDJSON). Rows are read through a database
+     * cursor as projections, so nothing accumulates in the persistence context and memory use does
+     * not grow with the table size.
+     *
+     * @return the number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportEmployees(OutputStream outputStream) throws IOException {
+        long count = 0;
+        try (Stream<EmployeeView> employees = employeeRepository.streamAllViews();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<EmployeeView> iterator = employees.iterator();
+            while (iterator.hasNext()) {
+                objectMapper.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        logger.info("Exported {} employees", count);
+        return count;
+    }
+}
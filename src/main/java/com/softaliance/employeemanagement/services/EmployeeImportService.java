@@ -0,0 +1,325 @@
+package com.softaliance.employeemanagement.services;
+
+import com.softaliance.employeemanagement.cache.ReferenceDataCache;
+import com.softaliance.employeemanagement.models.Employee;
+import com.softaliance.employeemanagement.projections.DepartmentView;
+import com.softaliance.employeemanagement.projections.RoleView;
+import com.softaliance.employeemanagement.repository.EmployeeRepository;
+import com.softaliance.employeemanagement.requests.EmployeeRequest;
+import com.softaliance.employeemanagement.responses.ApiResponse;
+import com.softaliance.employeemanagement.responses.BulkImportResponse;
+import com.softaliance.employeemanagement.utils.CsvParser;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Creates employees in bulk. Rows are validated and resolved against the reference-data cache up front,
+ * duplicate emails are rejected before touching the table, and the remaining rows are inserted with JDBC
+ * batches of {@link #BATCH_SIZE}, one transaction per batch. Ids are reserved from the employee sequence in
+ * the same pooled blocks Hibernate uses, so they are known before the insert. Every input row gets a result.
+ */
+@Service
+public class EmployeeImportService {
+    static final int BATCH_SIZE = 1000;
+    private static final String INSERT_EMPLOYEE = "INSERT INTO employee " +
+            "(id, first_name, last_name, phone, address, email, status, password, department_id, role_id, created_at, updated_at, deactivated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ALLOCATE_IDS = "SELECT nextval('employee_id_seq') FROM generate_series(1, ?)";
+    private static final String DUPLICATE_EMAIL = "Unable to create employee, employee details has been used";
+    private final Logger logger = LoggerFactory.getLogger(EmployeeImportService.class);
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EmployeeRepository employeeRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final PasswordHashingService passwordHashingService;
+    private final Validator validator;
+
+    @Value("${employee.import.max-rows:100000}")
+    private int maxRows = 100_000;
+
+    public EmployeeImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, EmployeeRepository employeeRepository, ReferenceDataCache referenceDataCache, PasswordHashingService passwordHashingService, Validator validator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.employeeRepository = employeeRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.passwordHashingService = passwordHashingService;
+        this.validator = validator;
+    }
+
+    public ApiResponse importCsv(InputStream csv) {
+        List<EmployeeRequest> requests = new ArrayList<>();
+        try {
+            for (Map<String, String> row : CsvParser.parse(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+                requests.add(toRequest(row));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to import employees, pass in correct data")
+                    .build();
+        }
+        return importEmployees(requests);
+    }
+
+    public ApiResponse importEmployees(List<EmployeeRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to import employees, no rows supplied")
+                    .build();
+        }
+        if (requests.size() > maxRows) {
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to import employees, at most " + maxRows + " rows are allowed")
+                    .build();
+        }
+        BulkImportResponse.RowResult[] results = new BulkImportResponse.RowResult[requests.size()];
+        try {
+            List<PendingRow> pending = resolve(requests, results);
+            pending = rejectExistingEmails(pending, results);
+            if (!pending.isEmpty()) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                for (int from = 0; from < pending.size(); from += BATCH_SIZE) {
+                    insertBatch(pending.subList(from, Math.min(from + BATCH_SIZE, pending.size())), now, results);
+                }
+            }
+        } catch (Exception e) {
+            logger.error(e.getMessage());
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to import employees, try again later")
+                    .build();
+        }
+        List<BulkImportResponse.RowResult> rows = List.of(results);
+        int created = (int) rows.stream().filter(BulkImportResponse.RowResult::isCreated).count();
+        return ApiResponse.builder()
+                .code("00")
+                .message("Success")
+                .data(BulkImportResponse.builder()
+                        .total(rows.size())
+                        .created(created)
+                        .failed(rows.size() - created)
+                        .results(rows)
+                        .build())
+                .build();
+    }
+
+    private List<PendingRow> resolve(List<EmployeeRequest> requests, BulkImportResponse.RowResult[] results) {
+        List<PendingRow> pending = new ArrayList<>(requests.size());
+        Set<String> emails = new HashSet<>();
+        for (int index = 0; index < requests.size(); index++) {
+            EmployeeRequest request = requests.get(index);
+            if (request == null) {
+                results[index] = failed(index, null, "Unable to create employee, pass in correct data");
+                continue;
+            }
+            Set<ConstraintViolation<EmployeeRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results[index] = failed(index, request.getEmail(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                continue;
+            }
+            Optional<DepartmentView> department = resolveDepartment(request.getDepartmentId());
+            if (department.isEmpty()) {
+                results[index] = failed(index, request.getEmail(), "Unable to create employee, department not found");
+                continue;
+            }
+            Optional<RoleView> role = resolveRole(request.getRoleId());
+            if (role.isEmpty()) {
+                results[index] = failed(index, request.getEmail(), "Unable to create employee, role not found");
+                continue;
+            }
+            if (!emails.add(request.getEmail().toLowerCase(Locale.ROOT))) {
+                results[index] = failed(index, request.getEmail(), DUPLICATE_EMAIL);
+                continue;
+            }
+            pending.add(new PendingRow(index, request, department.get().id(), role.get().id(), null, null));
+        }
+        return pending;
+    }
+
+    private List<PendingRow> rejectExistingEmails(List<PendingRow> pending, BulkImportResponse.RowResult[] results) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < pending.size(); from += BATCH_SIZE) {
+            List<String> emails = pending.subList(from, Math.min(from + BATCH_SIZE, pending.size())).stream()
+                    .map(row -> row.request().getEmail().toLowerCase(Locale.ROOT))
+                    .toList();
+            existing.addAll(employeeRepository.findExistingEmails(emails));
+        }
+        if (existing.isEmpty()) {
+            return pending;
+        }
+        List<PendingRow> remaining = new ArrayList<>(pending.size());
+        for (PendingRow row : pending) {
+            if (existing.contains(row.request().getEmail().toLowerCase(Locale.ROOT))) {
+                results[row.index()] = failed(row.index(), row.request().getEmail(), DUPLICATE_EMAIL);
+            } else {
+                remaining.add(row);
+            }
+        }
+        return remaining;
+    }
+
+    private void insertBatch(List<PendingRow> rows, Timestamp now, BulkImportResponse.RowResult[] results) {
+        try {
+            List<PendingRow> batch = prepare(rows);
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, batch, batch.size(),
+                        (ps, row) -> bind(ps, row, now)));
+                batch.forEach(row -> results[row.index()] = created(row));
+            } catch (DataIntegrityViolationException e) {
+                // An email was taken after the pre-check; insert one by one so only the offending rows fail.
+                for (PendingRow row : batch) {
+                    try {
+                        jdbcTemplate.update(INSERT_EMPLOYEE, ps -> bind(ps, row, now));
+                        results[row.index()] = created(row);
+                    } catch (DataIntegrityViolationException ex) {
+                        results[row.index()] = failed(row.index(), row.request().getEmail(), DUPLICATE_EMAIL);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.error(e.getMessage());
+            rows.stream()
+                    .filter(row -> results[row.index()] == null)
+                    .forEach(row -> results[row.index()] = failed(row.index(), row.request().getEmail(),
+                            "Unable to create employee, try again later"));
+        }
+    }
+
+    private void bind(PreparedStatement ps, PendingRow row, Timestamp now) throws SQLException {
+        EmployeeRequest request = row.request();
+        ps.setLong(1, row.id());
+        ps.setString(2, request.getFirstName());
+        ps.setString(3, request.getLastName());
+        ps.setString(4, request.getPhone());
+        ps.setString(5, request.getAddress());
+        ps.setString(6, request.getEmail());
+        ps.setBoolean(7, request.getStatus());
+        ps.setString(8, row.passwordHash());
+        ps.setLong(9, row.departmentId());
+        ps.setLong(10, row.roleId());
+        ps.setTimestamp(11, now);
+        ps.setTimestamp(12, now);
+        ps.setTimestamp(13, request.getStatus() ? null : now);
+    }
+
+    /**
+     * Gives every row its id and password hash. Hashing runs on the password executor while the ids are
+     * reserved: one pooled block per {@link Employee#ID_ALLOCATION_SIZE} rows, where a block's value n owns
+     * ids n - size + 1 .. n, exactly as Hibernate's pooled optimizer reads it.
+     */
+    private List<PendingRow> prepare(List<PendingRow> rows) {
+        CompletableFuture<List<String>> passwordHashes = passwordHashingService.initialPasswordHashes(rows.size());
+        int blocks = (rows.size() + Employee.ID_ALLOCATION_SIZE - 1) / Employee.ID_ALLOCATION_SIZE;
+        List<Long> blockEnds = jdbcTemplate.queryForList(ALLOCATE_IDS, Long.class, blocks);
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Long blockEnd : blockEnds) {
+            for (long id = blockEnd - Employee.ID_ALLOCATION_SIZE + 1; id <= blockEnd && ids.size() < rows.size(); id++) {
+                ids.add(id);
+            }
+        }
+        if (ids.size() != rows.size()) {
+            throw new IllegalStateException("Employee id sequence returned too few blocks");
+        }
+        List<String> hashes = passwordHashes.join();
+        List<PendingRow> prepared = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            prepared.add(rows.get(i).prepared(ids.get(i), hashes.get(i)));
+        }
+        return prepared;
+    }
+
+    /**
+     * Departments and roles may be referenced by id or by name.
+     */
+    private Optional<DepartmentView> resolveDepartment(String value) {
+        return isId(value) ? referenceDataCache.department(Long.parseLong(value)) : referenceDataCache.departmentByName(value);
+    }
+
+    private Optional<RoleView> resolveRole(String value) {
+        return isId(value) ? referenceDataCache.role(Long.parseLong(value)) : referenceDataCache.roleByName(value);
+    }
+
+    private static boolean isId(String value) {
+        return !value.isEmpty() && value.chars().allMatch(Character::isDigit) && value.length() < 19;
+    }
+
+    private static EmployeeRequest toRequest(Map<String, String> row) {
+        EmployeeRequest request = new EmployeeRequest();
+        request.setFirstName(value(row, "first_name"));
+        request.setLastName(value(row, "last_name"));
+        request.setEmail(value(row, "email"));
+        request.setPhone(value(row, "phone"));
+        request.setAddress(value(row, "address"));
+        request.setDepartmentId(value(row, "department_id"));
+        request.setRoleId(value(row, "role_id"));
+        String status = value(row, "status");
+        request.setStatus(status == null ? null : Boolean.parseBoolean(status));
+        return request;
+    }
+
+    private static String value(Map<String, String> row, String column) {
+        String value = row.get(column);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    private static BulkImportResponse.RowResult created(PendingRow row) {
+        return BulkImportResponse.RowResult.builder()
+                .row(row.index() + 1)
+                .id(row.id())
+                .email(row.request().getEmail())
+                .created(true)
+                .message("Success")
+                .build();
+    }
+
+    private static BulkImportResponse.RowResult failed(int index, String email, String message) {
+        return BulkImportResponse.RowResult.builder()
+                .row(index + 1)
+                .email(email)
+                .created(false)
+                .message(message)
+                .build();
+    }
+
+    private record PendingRow(int index, EmployeeRequest request, Long departmentId, Long roleId, Long id,
+                              String passwordHash) {
+        PendingRow prepared(Long id, String passwordHash) {
+            return new PendingRow(index, request, departmentId, roleId, id, passwordHash);
+        }
+    }
+}
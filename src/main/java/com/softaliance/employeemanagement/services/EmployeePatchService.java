@@ -0,0 +1,231 @@
+package com.softaliance.employeemanagement.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.softaliance.employeemanagement.cache.ReferenceDataCache;
+import com.softaliance.employeemanagement.cache.UserDetailsCache;
+import com.softaliance.employeemanagement.models.Employee;
+import com.softaliance.employeemanagement.projections.DepartmentView;
+import com.softaliance.employeemanagement.projections.EmployeeView;
+import com.softaliance.employeemanagement.repository.DepartmentRepository;
+import com.softaliance.employeemanagement.repository.EmployeeRepository;
+import com.softaliance.employeemanagement.requests.EmployeeRequest;
+import com.softaliance.employeemanagement.responses.ApiResponse;
+import com.softaliance.employeemanagement.security.TokenRevocationRegistry;
+import com.softaliance.employeemanagement.utils.EntityTag;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Applies JSON merge patches (RFC 7386) to employees: members present in the patch are written, absent members
+ * are left alone. Only fields that actually change are set, and {@link Employee} uses dynamic updates, so the
+ * UPDATE names just those columns; an unchanged patch issues no UPDATE at all. The department is only looked
+ * up when {@code department_id} differs from the current one. With {@code If-Match}, the patch only applies to
+ * the version the client read; Hibernate's version check on the UPDATE covers writes that race with this one.
+ */
+@Service
+public class EmployeePatchService {
+    // Patch member name -> EmployeeRequest property, whose constraints validate the new value.
+    private static final Map<String, String> PATCHABLE_FIELDS = Map.of(
+            "first_name", "firstName",
+            "last_name", "lastName",
+            "email", "email",
+            "phone", "phone",
+            "address", "address",
+            "status", "status",
+            "department_id", "departmentId");
+    private final Logger logger = LoggerFactory.getLogger(EmployeePatchService.class);
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final UserDetailsCache userDetailsCache;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    public EmployeePatchService(EmployeeRepository employeeRepository, DepartmentRepository departmentRepository, ReferenceDataCache referenceDataCache, TokenRevocationRegistry tokenRevocationRegistry, UserDetailsCache userDetailsCache, Validator validator, PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.userDetailsCache = userDetailsCache;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ApiResponse patchEmployee(Long id, JsonNode patch, String ifMatch) {
+        if (patch == null || !patch.isObject()) {
+            return invalid("patch must be a JSON object");
+        }
+        String error = validate(patch);
+        if (error != null) {
+            return invalid(error);
+        }
+        Long expectedVersion;
+        try {
+            expectedVersion = EntityTag.parseIfMatch(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return invalid("pass in correct data");
+        }
+        // Set by apply when a field changed; the old details are only dropped once that change has committed,
+        // so a concurrent request cannot reload and re-cache them in between.
+        AtomicReference<String> changedEmail = new AtomicReference<>();
+        try {
+            ApiResponse response = transactionTemplate.execute(status -> apply(id, patch, expectedVersion, changedEmail));
+            if (changedEmail.get() != null) {
+                tokenRevocationRegistry.employeeChanged(id);
+                userDetailsCache.evict(changedEmail.get());
+            }
+            return response;
+        } catch (OptimisticLockingFailureException e) {
+            return conflict();
+        } catch (DataIntegrityViolationException e) {
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to update employee, employee details has been used")
+                    .build();
+        } catch (Exception e) {
+            logger.error(e.getMessage());
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to update employee, try again later")
+                    .build();
+        }
+    }
+
+    private ApiResponse apply(Long id, JsonNode patch, Long expectedVersion, AtomicReference<String> changedEmail) {
+        Optional<Employee> savedEmployee = employeeRepository.findWithoutAssociationsById(id);
+        if (savedEmployee.isEmpty()) {
+            return ApiResponse.builder()
+                    .code("90")
+                    .message("Employee not found")
+                    .build();
+        }
+        Employee employee = savedEmployee.get();
+        if (expectedVersion != null && !expectedVersion.equals(employee.getVersion())) {
+            return conflict();
+        }
+        String previousEmail = employee.getEmail();
+        // Reading the id of a lazy reference does not load the department.
+        Long currentDepartmentId = employee.getDepartment() == null ? null : employee.getDepartment().getId();
+        Long departmentId = currentDepartmentId;
+        boolean changed = false;
+
+        // Checked before any field is set, so a rejected patch leaves nothing dirty to flush on commit.
+        if (patch.has("department_id")) {
+            Long requestedDepartmentId = Long.parseLong(text(patch, "department_id"));
+            if (!requestedDepartmentId.equals(currentDepartmentId)) {
+                if (referenceDataCache.department(requestedDepartmentId).isEmpty()) {
+                    return ApiResponse.builder()
+                            .code("90")
+                            .message("Department not found")
+                            .build();
+                }
+                employee.setDepartment(departmentRepository.getReferenceById(requestedDepartmentId));
+                departmentId = requestedDepartmentId;
+                changed = true;
+            }
+        }
+        if (patch.has("first_name")) {
+            changed |= set(employee.getFirstName(), text(patch, "first_name"), employee::setFirstName);
+        }
+        if (patch.has("last_name")) {
+            changed |= set(employee.getLastName(), text(patch, "last_name"), employee::setLastName);
+        }
+        if (patch.has("email")) {
+            changed |= set(employee.getEmail(), text(patch, "email"), employee::setEmail);
+        }
+        if (patch.has("phone")) {
+            changed |= set(employee.getPhone(), text(patch, "phone"), employee::setPhone);
+        }
+        if (patch.has("address")) {
+            changed |= set(employee.getAddress(), text(patch, "address"), employee::setAddress);
+        }
+        if (patch.has("status")) {
+            boolean active = patch.get("status").asBoolean();
+            changed |= set(employee.getStatus(), active, employee::setStatus);
+            // Deactivating stamps the time the archival job counts from; repeating it keeps the first stamp.
+            LocalDateTime deactivatedAt = active ? null : Objects.requireNonNullElseGet(employee.getDeactivatedAt(), LocalDateTime::now);
+            changed |= set(employee.getDeactivatedAt(), deactivatedAt, employee::setDeactivatedAt);
+        }
+        if (changed) {
+            employeeRepository.flush();
+            changedEmail.set(previousEmail);
+        }
+        DepartmentView department = departmentId == null ? null : referenceDataCache.department(departmentId).orElse(null);
+        return ApiResponse.builder()
+                .code("00")
+                .message("Success")
+                .data(EmployeeView.of(employee, department))
+                .build();
+    }
+
+    private String validate(JsonNode patch) {
+        for (Iterator<String> names = patch.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            String property = PATCHABLE_FIELDS.get(name);
+            if (property == null) {
+                return "unknown field " + name;
+            }
+            JsonNode value = patch.get(name);
+            if (value.isContainerNode()) {
+                return name + " must be a single value";
+            }
+            if (name.equals("status") && !value.isNull() && !value.isBoolean()) {
+                return "status must be true or false";
+            }
+            if (name.equals("department_id") && !value.isNull() && !value.asText().matches("\\d{1,18}")) {
+                return "department_id must be a number";
+            }
+            Object candidate = value.isNull() ? null : name.equals("status") ? value.asBoolean() : value.asText();
+            Set<ConstraintViolation<EmployeeRequest>> violations = validator.validateValue(EmployeeRequest.class, property, candidate);
+            if (!violations.isEmpty()) {
+                return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+            }
+        }
+        return null;
+    }
+
+    private static <T> boolean set(T current, T value, Consumer<T> setter) {
+        if (Objects.equals(current, value)) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+
+    private static String text(JsonNode patch, String name) {
+        JsonNode value = patch.get(name);
+        return value.isNull() ? null : value.asText();
+    }
+
+    private static ApiResponse conflict() {
+        return ApiResponse.builder()
+                .code("91")
+                .message("Employee has changed since it was read, fetch it again and retry")
+                .build();
+    }
+
+    private static ApiResponse invalid(String reason) {
+        return ApiResponse.builder()
+                .code("99")
+                .message("Unable to update employee, " + reason)
+                .build();
+    }
+}
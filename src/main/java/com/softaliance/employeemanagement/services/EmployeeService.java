@@ -1,48 +1,79 @@
 package com.softaliance.employeemanagement.services;
 
-import com.softaliance.employeemanagement.models.Department;
+import com.softaliance.employeemanagement.cache.ReferenceDataCache;
+import com.softaliance.employeemanagement.cache.SingleFlight;
+import com.softaliance.employeemanagement.cache.UserDetailsCache;
 import com.softaliance.employeemanagement.models.Employee;
-import com.softaliance.employeemanagement.models.Roles;
+import com.softaliance.employeemanagement.projections.DepartmentView;
+import com.softaliance.employeemanagement.projections.EmployeeKey;
+import com.softaliance.employeemanagement.projections.EmployeeView;
+import com.softaliance.employeemanagement.projections.EmployeeWrite;
+import com.softaliance.employeemanagement.repository.ArchivedEmployeeRepository;
 import com.softaliance.employeemanagement.repository.DepartmentRepository;
 import com.softaliance.employeemanagement.repository.EmployeeRepository;
 import com.softaliance.employeemanagement.repository.RolesRepository;
+import com.softaliance.employeemanagement.requests.BulkDeleteRequest;
+import com.softaliance.employeemanagement.requests.BulkReassignRequest;
 import com.softaliance.employeemanagement.requests.EmployeeRequest;
 import com.softaliance.employeemanagement.responses.ApiResponse;
 import com.softaliance.employeemanagement.responses.AuthResponse;
-import com.softaliance.employeemanagement.utils.Utilities;
+import com.softaliance.employeemanagement.responses.BulkDeleteResponse;
+import com.softaliance.employeemanagement.responses.BulkUpdateResponse;
+import com.softaliance.employeemanagement.responses.PageResponse;
+import com.softaliance.employeemanagement.security.TokenRevocationRegistry;
+import com.softaliance.employeemanagement.utils.EntityTag;
+import com.softaliance.employeemanagement.utils.PageCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 public class EmployeeService {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
     private final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
     private final EmployeeRepository employeeRepository;
     private final DepartmentRepository departmentRepository;
     private final RolesRepository roleRepository;
-    private final Utilities utilities;
+    private final PasswordHashingService passwordHashingService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final UserDetailsCache userDetailsCache;
+    private final ReferenceDataCache referenceDataCache;
+    private final ArchivedEmployeeRepository archivedEmployeeRepository;
+    private final SingleFlight singleFlight;
 
-    @Value("${employee.password}")
-    private String employeePassword;
-
-    public EmployeeService(EmployeeRepository employeeRepository, DepartmentRepository departmentRepository, RolesRepository roleRepository, Utilities utilities) {
+    public EmployeeService(EmployeeRepository employeeRepository, DepartmentRepository departmentRepository, RolesRepository roleRepository, PasswordHashingService passwordHashingService, TokenRevocationRegistry tokenRevocationRegistry, UserDetailsCache userDetailsCache, ReferenceDataCache referenceDataCache, ArchivedEmployeeRepository archivedEmployeeRepository, SingleFlight singleFlight) {
         this.employeeRepository = employeeRepository;
         this.departmentRepository = departmentRepository;
         this.roleRepository = roleRepository;
-        this.utilities = utilities;
+        this.passwordHashingService = passwordHashingService;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.userDetailsCache = userDetailsCache;
+        this.referenceDataCache = referenceDataCache;
+        this.archivedEmployeeRepository = archivedEmployeeRepository;
+        this.singleFlight = singleFlight;
     }
-    public ApiResponse getEmployee(Long id) {
-        Optional<Employee> employee;
+    /**
+     * Active employees only, unless {@code includeArchived}, which also finds deleted and archived ones.
+     */
+    public ApiResponse getEmployee(Long id, boolean includeArchived) {
+        Optional<EmployeeView> employee;
         try{
-            employee = employeeRepository.findById(id);
+            employee = singleFlight.execute("employee", id + ":" + includeArchived, () -> findEmployee(id, includeArchived));
             if (employee.isPresent()) {
-                employee.get().setPassword(null);
                 return ApiResponse.builder()
                         .code("00")
                         .message("Success")
@@ -63,23 +94,14 @@ public class EmployeeService {
     }
 
     public ApiResponse getEmployeeByEmail(String email) {
-        Optional<Employee> employee;
+        Optional<AuthResponse> employee;
         try{
-            employee = employeeRepository.findByEmail(email);
-
+            employee = singleFlight.execute("employee-email", email, () -> employeeRepository.findAuthResponseByEmail(email));
             if (employee.isPresent()) {
-                AuthResponse response = AuthResponse.builder()
-                        .email(employee.get().getEmail())
-                        .password(employee.get().getPassword())
-                        .phone(employee.get().getPhone())
-                        .address(employee.get().getAddress())
-                        .firstName(employee.get().getFirstName())
-                        .lastName(employee.get().getLastName())
-                        .build();
                 return ApiResponse.builder()
                         .code("00")
                         .message("Success")
-                        .data(response)
+                        .data(employee.get())
                         .build();
             }
             return ApiResponse.builder()
@@ -95,17 +117,38 @@ public class EmployeeService {
         }
     }
 
-    public ApiResponse getAllEmployees() {
-        List<Employee> employees;
+    /**
+     * Keyset page of active employees. With {@code includeArchived}, deleted and archived employees are merged in
+     * by id; both sources are keyset pages over the same cursor, so neither is ever scanned past one page.
+     */
+    public ApiResponse getAllEmployees(String cursor, Integer size, Long departmentId, Long roleId, Boolean status, boolean includeArchived) {
+        List<EmployeeView> employees;
         try{
-            employees = employeeRepository.findAll();
-            for (Employee employee : employees) {
-                employee.setPassword(null);
+            int pageSize = resolvePageSize(size);
+            Long afterId = PageCursor.decode(cursor);
+            employees = singleFlight.execute("employee-page",
+                    afterId + ":" + pageSize + ":" + departmentId + ":" + roleId + ":" + status + ":" + includeArchived,
+                    () -> findPage(afterId, pageSize + 1, departmentId, roleId, status, includeArchived));
+            boolean hasNext = employees.size() > pageSize;
+            if (hasNext) {
+                employees = employees.subList(0, pageSize);
             }
+            PageResponse<EmployeeView> page = PageResponse.<EmployeeView>builder()
+                    .items(employees)
+                    .size(employees.size())
+                    .hasNext(hasNext)
+                    .nextCursor(hasNext ? PageCursor.encode(employees.get(employees.size() - 1).id()) : null)
+                    .build();
             return ApiResponse.builder()
                     .code("00")
                     .message("Success")
-                    .data(employees)
+                    .data(page)
+                    .build();
+        }catch (IllegalArgumentException e){
+            logger.error(e.getMessage());
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to retrieve employees, pass in correct data")
                     .build();
         }catch (Exception e){
             logger.error(e.getMessage());
@@ -116,16 +159,44 @@ public class EmployeeService {
         }
     }
 
+    private Optional<EmployeeView> findEmployee(Long id, boolean includeArchived) {
+        Optional<EmployeeView> employee = employeeRepository.findViewById(id);
+        if (employee.isEmpty() && includeArchived) {
+            employee = archivedEmployeeRepository.findViewById(id);
+        }
+        return employee;
+    }
+
+    private List<EmployeeView> findPage(Long afterId, int limit, Long departmentId, Long roleId, Boolean status, boolean includeArchived) {
+        List<EmployeeView> employees = employeeRepository.findPage(afterId, departmentId, roleId, status, Limit.of(limit));
+        if (includeArchived) {
+            List<EmployeeView> merged = new ArrayList<>(employees);
+            merged.addAll(archivedEmployeeRepository.findPage(afterId, departmentId, roleId, status, Limit.of(limit)));
+            merged.sort(Comparator.comparing(EmployeeView::id));
+            employees = merged.subList(0, Math.min(merged.size(), limit));
+        }
+        return employees;
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
     public ApiResponse addEmployee(EmployeeRequest createEmployeeRequest) {
         Employee employee = new Employee();
-        Optional<Department> savedDepartment;
-        Optional<Roles> savedRole;
+        Optional<DepartmentView> savedDepartment = Optional.empty();
         try{
+            // Hashing runs on its own executor while the lookups below run here.
+            CompletableFuture<String> passwordHash = passwordHashingService.initialPasswordHash();
+            // Existence is checked against the reference-data cache; the association only needs the id.
             if(createEmployeeRequest.getDepartmentId() != null &&
                     !createEmployeeRequest.getDepartmentId().isEmpty()) {
-                    savedDepartment = departmentRepository.findById(Long.parseLong(createEmployeeRequest.getDepartmentId()));
+                    savedDepartment = referenceDataCache.department(Long.parseLong(createEmployeeRequest.getDepartmentId()));
                     if(savedDepartment.isPresent()) {
-                        savedDepartment.ifPresent(employee::setDepartment);
+                        employee.setDepartment(departmentRepository.getReferenceById(savedDepartment.get().id()));
                     }else{
                         return ApiResponse.builder()
                                 .code("99")
@@ -135,9 +206,9 @@ public class EmployeeService {
             }
             if(createEmployeeRequest.getRoleId() != null &&
                     !createEmployeeRequest.getRoleId().isEmpty()) {
-                savedRole = roleRepository.findById(Long.parseLong(createEmployeeRequest.getRoleId()));
-                if(savedRole.isPresent()) {
-                    savedRole.ifPresent(employee::setRoles);
+                Long roleId = Long.parseLong(createEmployeeRequest.getRoleId());
+                if(referenceDataCache.role(roleId).isPresent()) {
+                    employee.setRoles(roleRepository.getReferenceById(roleId));
                 }else{
                     return ApiResponse.builder()
                             .code("99")
@@ -150,7 +221,11 @@ public class EmployeeService {
             employee.setLastName(createEmployeeRequest.getLastName());
             employee.setAddress(createEmployeeRequest.getAddress());
             employee.setEmail(createEmployeeRequest.getEmail());
-            employee.setPassword(utilities.encodePassword(employeePassword));
+            // An inactive employee is stamped as deactivated now, which is when the archival job counts from.
+            boolean active = Boolean.TRUE.equals(createEmployeeRequest.getStatus());
+            employee.setStatus(active);
+            employee.setDeactivatedAt(active ? null : LocalDateTime.now());
+            employee.setPassword(passwordHash.join());
             employee = employeeRepository.save(employee);
         }catch (NumberFormatException e) {
             logger.error(e.getMessage());
@@ -163,6 +238,12 @@ public class EmployeeService {
                     .code("99")
                     .message("Unable to create employee, employee details has been used")
                     .build();
+        }catch (TaskRejectedException | CompletionException e) {
+            logger.error(e.getMessage());
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to create employee, server is busy, try again later")
+                    .build();
         }
         catch (Exception e) {
             logger.error(e.getMessage());
@@ -174,35 +255,35 @@ public class EmployeeService {
         return ApiResponse.builder()
                 .code("00")
                 .message("Success")
-                .data(employee)
+                .data(EmployeeView.of(employee, savedDepartment.orElse(null)))
                 .build();
     }
 
-    public ApiResponse updateEmployee(Long id, EmployeeRequest updateEmployeeRequest) {
-        Optional<Employee> savedEmployee;
-        Optional<Department> savedDepartment;
+    public ApiResponse updateEmployee(Long id, EmployeeRequest updateEmployeeRequest, String ifMatch) {
+        EmployeeWrite written;
+        Optional<DepartmentView> savedDepartment = Optional.empty();
         try{
-            savedEmployee = employeeRepository.findById(id);
-            if(savedEmployee.isPresent()){
-                if(updateEmployeeRequest.getDepartmentId() != null &&
-                        !updateEmployeeRequest.getDepartmentId().isEmpty()) {
-                    savedDepartment = departmentRepository.findById(Long.parseLong(updateEmployeeRequest.getDepartmentId()));
-                    savedDepartment.ifPresent(department -> savedEmployee.get().setDepartment(department));
-                }
-                savedEmployee.get().setEmail(updateEmployeeRequest.getEmail());
-                savedEmployee.get().setFirstName(updateEmployeeRequest.getFirstName());
-                savedEmployee.get().setLastName(updateEmployeeRequest.getLastName());
-                savedEmployee.get().setPhone(updateEmployeeRequest.getPhone());
-                savedEmployee.get().setStatus(updateEmployeeRequest.getStatus());
-                savedEmployee.get().setAddress(updateEmployeeRequest.getAddress());
-                employeeRepository.save(savedEmployee.get());
-            }else {
-                return ApiResponse.builder()
-                        .code("90")
-                        .message("Employee not found")
-                        .build();
+            Long expectedVersion = EntityTag.parseIfMatch(ifMatch);
+            if(updateEmployeeRequest.getDepartmentId() != null &&
+                    !updateEmployeeRequest.getDepartmentId().isEmpty()) {
+                savedDepartment = referenceDataCache.department(Long.parseLong(updateEmployeeRequest.getDepartmentId()));
             }
-        }catch (NumberFormatException e) {
+            // One conditional UPDATE; the row is never read first.
+            List<EmployeeWrite> rows = employeeRepository.updateIfVersion(id, expectedVersion,
+                    updateEmployeeRequest.getFirstName(), updateEmployeeRequest.getLastName(),
+                    updateEmployeeRequest.getEmail(), updateEmployeeRequest.getPhone(),
+                    updateEmployeeRequest.getAddress(), updateEmployeeRequest.getStatus(),
+                    savedDepartment.map(DepartmentView::id).orElse(null), LocalDateTime.now());
+            if (rows.isEmpty()) {
+                return missingOrConflict(id);
+            }
+            written = rows.get(0);
+            tokenRevocationRegistry.employeeChanged(id);
+            userDetailsCache.evict(written.getPreviousEmail());
+            if (savedDepartment.isEmpty() && written.getDepartmentId() != null) {
+                savedDepartment = referenceDataCache.department(written.getDepartmentId());
+            }
+        }catch (IllegalArgumentException e) {
             logger.error(e.getMessage());
             return ApiResponse.builder()
                     .code("99")
@@ -219,31 +300,181 @@ public class EmployeeService {
         return ApiResponse.builder()
                 .code("00")
                 .message("Success")
-                .data(savedEmployee)
+                .data(new EmployeeView(id, updateEmployeeRequest.getFirstName(), updateEmployeeRequest.getLastName(),
+                        updateEmployeeRequest.getPhone(), updateEmployeeRequest.getAddress(),
+                        updateEmployeeRequest.getEmail(), updateEmployeeRequest.getStatus(),
+                        savedDepartment.orElse(null), written.getVersion()))
                 .build();
     }
 
-    public ApiResponse deleteEmployee(Long id) {
-        Optional<Employee> savedEmployee;
+    public ApiResponse deleteEmployee(Long id, String ifMatch) {
         try {
-            savedEmployee = employeeRepository.findById(id);
-            if (savedEmployee.isPresent()) {
-                employeeRepository.delete(savedEmployee.get());
-            }else {
+            List<String> deleted = employeeRepository.softDeleteIfVersion(id, EntityTag.parseIfMatch(ifMatch),
+                    LocalDateTime.now());
+            if (deleted.isEmpty()) {
+                return missingOrConflict(id);
+            }
+            tokenRevocationRegistry.employeeChanged(id);
+            userDetailsCache.evict(deleted.get(0));
+        }catch (IllegalArgumentException e) {
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to delete employee, pass in correct data")
+                    .build();
+        }catch (Exception e){
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to delete employee, try again later")
+                    .build();
+        }
+        return ApiResponse.builder()
+                .code("00")
+                .message("Success")
+                .build();
+    }
+
+    /**
+     * Soft-deletes the given employees in one UPDATE, without loading them, then drops cached
+     * details and outstanding tokens of every employee actually deleted.
+     */
+    public ApiResponse deleteEmployees(BulkDeleteRequest request) {
+        if (request.getIds() == null || request.getIds().isEmpty()) {
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to delete employees, pass in correct data")
+                    .build();
+        }
+        Long[] ids = request.getIds().stream().distinct().toArray(Long[]::new);
+        List<EmployeeKey> deleted = new ArrayList<>();
+        try {
+            deleted.addAll(employeeRepository.softDeleteByIds(ids, LocalDateTime.now()));
+        }catch (Exception e){
+            logger.error(e.getMessage());
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to delete employees, try again later")
+                    .build();
+        }finally {
+            if (!deleted.isEmpty()) {
+                tokenRevocationRegistry.employeesChanged(deleted.stream().map(EmployeeKey::getId).toList());
+                deleted.forEach(employee -> userDetailsCache.evict(employee.getEmail()));
+            }
+        }
+        if (deleted.isEmpty()) {
+            return ApiResponse.builder()
+                    .code("90")
+                    .message("Employee not found")
+                    .build();
+        }
+        return ApiResponse.builder()
+                .code("00")
+                .message("Success")
+                .data(BulkDeleteResponse.builder()
+                        .requested(ids.length)
+                        .deleted(deleted.size())
+                        .build())
+                .build();
+    }
+
+    /**
+     * Tells a missing employee from a version conflict once a conditional write matched no row. Only runs on
+     * that path, so successful writes stay a single statement.
+     */
+    private ApiResponse missingOrConflict(Long id) {
+        if (!employeeRepository.existsById(id)) {
+            return ApiResponse.builder()
+                    .code("90")
+                    .message("Employee not found")
+                    .build();
+        }
+        return ApiResponse.builder()
+                .code("91")
+                .message("Employee has changed since it was read, fetch it again and retry")
+                .build();
+    }
+
+    public ApiResponse transferDepartment(BulkReassignRequest request) {
+        try{
+            if (referenceDataCache.department(request.getTargetId()).isEmpty()) {
                 return ApiResponse.builder()
                         .code("90")
-                        .message("Employee not found")
+                        .message("Department not found")
                         .build();
             }
         }catch (Exception e){
+            logger.error(e.getMessage());
             return ApiResponse.builder()
                     .code("99")
-                    .message("Unable to delete employee, try again later")
+                    .message("Unable to transfer employees, try again later")
+                    .build();
+        }
+        return reassign(request, "transfer employees",
+                ids -> employeeRepository.transferDepartmentByIds(request.getTargetId(), ids, LocalDateTime.now()),
+                () -> employeeRepository.transferDepartmentByFilter(request.getTargetId(), request.getDepartmentId(),
+                        request.getRoleId(), request.getStatus(), LocalDateTime.now()));
+    }
+
+    public ApiResponse reassignRole(BulkReassignRequest request) {
+        try{
+            if (referenceDataCache.role(request.getTargetId()).isEmpty()) {
+                return ApiResponse.builder()
+                        .code("90")
+                        .message("Role not found")
+                        .build();
+            }
+        }catch (Exception e){
+            logger.error(e.getMessage());
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to reassign employees, try again later")
                     .build();
         }
+        return reassign(request, "reassign employees",
+                ids -> employeeRepository.reassignRoleByIds(request.getTargetId(), ids, LocalDateTime.now()),
+                () -> employeeRepository.reassignRoleByFilter(request.getTargetId(), request.getDepartmentId(),
+                        request.getRoleId(), request.getStatus(), LocalDateTime.now()));
+    }
+
+    /**
+     * Runs the by-id update (all ids bound as one array) or the filter update as a single statement, then drops
+     * cached details and outstanding tokens of every employee the update actually changed.
+     */
+    private ApiResponse reassign(BulkReassignRequest request, String action,
+                                 Function<Long[], List<EmployeeKey>> byIds,
+                                 Supplier<List<EmployeeKey>> byFilter) {
+        boolean hasIds = request.getEmployeeIds() != null && !request.getEmployeeIds().isEmpty();
+        boolean hasFilter = request.getDepartmentId() != null || request.getRoleId() != null || request.getStatus() != null;
+        if (hasIds == hasFilter) {
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to " + action + ", pass either employee_ids or a filter")
+                    .build();
+        }
+        List<EmployeeKey> changed = new ArrayList<>();
+        try{
+            if (hasIds) {
+                changed.addAll(byIds.apply(request.getEmployeeIds().stream().distinct().toArray(Long[]::new)));
+            } else {
+                changed.addAll(byFilter.get());
+            }
+        }catch (Exception e){
+            logger.error(e.getMessage());
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to " + action + ", try again later")
+                    .build();
+        }finally {
+            if (!changed.isEmpty()) {
+                tokenRevocationRegistry.employeesChanged(changed.stream().map(EmployeeKey::getId).toList());
+                changed.forEach(employee -> userDetailsCache.evict(employee.getEmail()));
+            }
+        }
         return ApiResponse.builder()
                 .code("00")
                 .message("Success")
+                .data(BulkUpdateResponse.builder()
+                        .updated(changed.size())
+                        .build())
                 .build();
     }
 }
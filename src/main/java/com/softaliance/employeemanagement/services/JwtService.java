@@ -1,10 +1,15 @@
 package com.softaliance.employeemanagement.services;
 
+import com.softaliance.employeemanagement.models.Employee;
+import com.softaliance.employeemanagement.security.TokenRevocationRegistry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
@@ -19,30 +24,79 @@ public class JwtService {
 
     private static final String SECRET_KEY = "3e45f8c2e3a4c9d7b8e4f1a2c3d4e5f67a8b9c0d1e2f3a4b5c6d7e8f9a0b1c2";
 
+    // Both are immutable and thread-safe, so they are built once instead of on every request.
+    private final Key signingKey;
+    private final JwtParser jwtParser;
+    private final long expirationMillis;
+    private final boolean stateless;
+
+    public JwtService(@Value("${security.jwt.expiration-ms:1440000}") long expirationMillis,
+                      @Value("${security.jwt.stateless:false}") boolean stateless) {
+        this.expirationMillis = expirationMillis;
+        this.stateless = stateless;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     public String extractUserEmail(String jwtToken) {
         return extractClaim(jwtToken, Claims::getSubject);
     }
 
     public <T> T extractClaim(String jwtToken, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractClaims(jwtToken);
+        final Claims claims = validateToken(jwtToken);
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Issues a token for the user. Employees also get their id, role and department as claims, which is
+     * all the authentication filter needs when {@link #isStateless() stateless} mode is enabled.
+     */
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof Employee employee) {
+            claims.put(TokenRevocationRegistry.EMPLOYEE_ID_CLAIM, employee.getId());
+            if (employee.getRoles() != null) {
+                claims.put(TokenRevocationRegistry.ROLE_CLAIM, employee.getRoles().getName());
+            }
+            if (employee.getDepartment() != null) {
+                claims.put(TokenRevocationRegistry.DEPARTMENT_CLAIM, employee.getDepartment().getId());
+            }
+        }
+        return generateToken(claims, userDetails);
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String userEmail = extractUserEmail(token);
-        return (userEmail.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    public long getExpirationMillis() {
+        return expirationMillis;
+    }
+
+    /**
+     * Whether requests are authenticated from verified token claims alone, without loading the user.
+     */
+    public boolean isStateless() {
+        return stateless;
+    }
+
+    /**
+     * Verifies the signature and expiry of the token and returns its claims, so callers parse it only once.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims validateToken(String jwtToken) {
+        return jwtParser.parseClaimsJws(jwtToken).getBody();
+    }
+
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return userDetails.getUsername().equals(claims.getSubject()) && !isTokenExpired(claims);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return isTokenValid(validateToken(token), userDetails);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -50,28 +104,10 @@ public class JwtService {
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + (1000 * 60 * 24)))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + expirationMillis))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
 
 
     }
-
-    private Claims extractClaims(String jwtToken) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(jwtToken)
-                .getBody();
-
-    }
-
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY); // POTENTIAL ERROR
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
-
 }
-
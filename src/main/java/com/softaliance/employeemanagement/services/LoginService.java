@@ -0,0 +1,94 @@
+package com.softaliance.employeemanagement.services;
+
+import com.softaliance.employeemanagement.requests.LoginRequest;
+import com.softaliance.employeemanagement.responses.ApiResponse;
+import com.softaliance.employeemanagement.responses.LoginResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Authenticates through the configured {@link AuthenticationManager} on the bounded {@code loginExecutor}, so
+ * BCrypt verification never runs on a request thread. When the executor is saturated, or a login waits longer
+ * than {@code security.login.timeout-ms}, the caller gets a "93" response instead of a slow one.
+ */
+@Service
+public class LoginService {
+    private final Logger logger = LoggerFactory.getLogger(LoginService.class);
+    private final AuthenticationManager authenticationManager;
+    private final JwtService jwtService;
+    private final ThreadPoolTaskExecutor loginExecutor;
+    private final long timeoutMillis;
+
+    public LoginService(AuthenticationManager authenticationManager,
+                        JwtService jwtService,
+                        @Qualifier("loginExecutor") ThreadPoolTaskExecutor loginExecutor,
+                        @Value("${security.login.timeout-ms:2000}") long timeoutMillis) {
+        this.authenticationManager = authenticationManager;
+        this.jwtService = jwtService;
+        this.loginExecutor = loginExecutor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public ApiResponse login(LoginRequest request) {
+        Authentication authentication;
+        Future<Authentication> task = null;
+        try {
+            task = loginExecutor.submit(() -> authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(request.getEmail(), request.getPassword())));
+            authentication = task.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TaskRejectedException | TimeoutException e) {
+            if (task != null) {
+                // The caller is gone: interrupt the check if it started, and free its queue slot if not, so
+                // abandoned logins do not crowd out live ones.
+                task.cancel(true);
+                loginExecutor.getThreadPoolExecutor().purge();
+            }
+            return ApiResponse.builder()
+                    .code("93")
+                    .message("Unable to login, server is busy, try again later")
+                    .build();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AuthenticationException) {
+                return ApiResponse.builder()
+                        .code("92")
+                        .message("Invalid email or password")
+                        .build();
+            }
+            logger.error(e.getMessage());
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to login, try again later")
+                    .build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to login, try again later")
+                    .build();
+        }
+        return ApiResponse.builder()
+                .code("00")
+                .message("Success")
+                .data(LoginResponse.builder()
+                        .token(jwtService.generateToken((UserDetails) authentication.getPrincipal()))
+                        .tokenType("Bearer")
+                        .expiresIn(jwtService.getExpirationMillis())
+                        .build())
+                .build();
+    }
+}
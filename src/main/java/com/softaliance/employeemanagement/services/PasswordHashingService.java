@@ -0,0 +1,90 @@
+package com.softaliance.employeemanagement.services;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs BCrypt on the {@code passwordHashingExecutor} instead of the request thread. Submissions beyond the
+ * executor's queue fail with {@link org.springframework.core.task.TaskRejectedException}.
+ * <p>
+ * New employees get the configured default password. With {@link InitialPasswordStrategy#SHARED} it is hashed
+ * once and the hash is reused; with {@link InitialPasswordStrategy#PER_EMPLOYEE} every employee gets a hash
+ * with its own salt.
+ */
+@Service
+public class PasswordHashingService {
+
+    public enum InitialPasswordStrategy {
+        SHARED,
+        PER_EMPLOYEE
+    }
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final InitialPasswordStrategy strategy;
+    private final String initialPassword;
+    private volatile CompletableFuture<String> sharedHash;
+
+    public PasswordHashingService(BCryptPasswordEncoder passwordEncoder,
+                                  @Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor executor,
+                                  @Value("${employee.initial-password.strategy:SHARED}") InitialPasswordStrategy strategy,
+                                  @Value("${employee.password}") String initialPassword) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.strategy = strategy;
+        this.initialPassword = initialPassword;
+    }
+
+    public CompletableFuture<String> hash(String rawPassword) {
+        return CompletableFuture.supplyAsync(() -> passwordEncoder.encode(rawPassword), executor);
+    }
+
+    public CompletableFuture<String> initialPasswordHash() {
+        if (strategy == InitialPasswordStrategy.PER_EMPLOYEE) {
+            return hash(initialPassword);
+        }
+        CompletableFuture<String> hash = sharedHash;
+        if (hash == null || hash.isCompletedExceptionally()) {
+            synchronized (this) {
+                hash = sharedHash;
+                if (hash == null || hash.isCompletedExceptionally()) {
+                    hash = hash(initialPassword);
+                    sharedHash = hash;
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Initial-password hashes for {@code count} new employees. Per-employee hashes are split into one task per
+     * executor thread, so a large batch spreads across every core while taking only that many queue slots.
+     */
+    public CompletableFuture<List<String>> initialPasswordHashes(int count) {
+        if (strategy == InitialPasswordStrategy.SHARED) {
+            return initialPasswordHash().thenApply(hash -> Collections.nCopies(count, hash));
+        }
+        int tasks = Math.max(1, Math.min(count, executor.getMaxPoolSize()));
+        List<CompletableFuture<List<String>>> parts = new ArrayList<>(tasks);
+        for (int task = 0; task < tasks; task++) {
+            int size = count / tasks + (task < count % tasks ? 1 : 0);
+            parts.add(CompletableFuture.supplyAsync(() -> {
+                List<String> hashes = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    hashes.add(passwordEncoder.encode(initialPassword));
+                }
+                return hashes;
+            }, executor));
+        }
+        return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+                .thenApply(done -> parts.stream().flatMap(part -> part.join().stream()).toList());
+    }
+}
@@ -1,28 +1,46 @@
 package com.softaliance.employeemanagement.services;
 
+import com.softaliance.employeemanagement.cache.ReferenceDataCache;
+import com.softaliance.employeemanagement.cache.UserDetailsCache;
 import com.softaliance.employeemanagement.models.Roles;
+import com.softaliance.employeemanagement.projections.RoleView;
+import com.softaliance.employeemanagement.projections.RoleWrite;
+import com.softaliance.employeemanagement.repository.EmployeeRepository;
 import com.softaliance.employeemanagement.repository.RolesRepository;
+import com.softaliance.employeemanagement.requests.BulkDeleteRequest;
 import com.softaliance.employeemanagement.requests.RolesRequest;
 import com.softaliance.employeemanagement.responses.ApiResponse;
+import com.softaliance.employeemanagement.responses.BulkDeleteResponse;
+import com.softaliance.employeemanagement.security.TokenRevocationRegistry;
+import com.softaliance.employeemanagement.utils.EntityTag;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class RolesService {
-
     private final RolesRepository rolesRepository;
+    private final EmployeeRepository employeeRepository;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final UserDetailsCache userDetailsCache;
+    private final ReferenceDataCache referenceDataCache;
 
-    public RolesService(RolesRepository rolesRepository) {
+    public RolesService(RolesRepository rolesRepository, EmployeeRepository employeeRepository, TokenRevocationRegistry tokenRevocationRegistry, UserDetailsCache userDetailsCache, ReferenceDataCache referenceDataCache) {
         this.rolesRepository = rolesRepository;
+        this.employeeRepository = employeeRepository;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.userDetailsCache = userDetailsCache;
+        this.referenceDataCache = referenceDataCache;
     }
 
     public ApiResponse getRole(Long id) {
-        Optional<Roles> roles;
+        Optional<RoleView> roles;
         try{
-            roles = rolesRepository.findById(id);
+            roles = referenceDataCache.role(id);
             if (roles.isPresent()) {
                 return ApiResponse.builder()
                         .code("00")
@@ -44,9 +62,9 @@ public class RolesService {
     }
 
     public ApiResponse getAllRoles() {
-        List<Roles> roles;
+        List<RoleView> roles;
         try {
-            roles = rolesRepository.findAll();
+            roles = referenceDataCache.roles();
             return ApiResponse.builder()
                     .code("00")
                     .message("Success")
@@ -60,12 +78,24 @@ public class RolesService {
         }
     }
 
+    /**
+     * Serialized success body of {@link #getAllRoles()}, or null when the roles cannot be loaded.
+     */
+    public byte[] getAllRolesJson() {
+        try {
+            return referenceDataCache.rolesJson();
+        }catch (Exception e){
+            return null;
+        }
+    }
+
     public ApiResponse createRoles(RolesRequest request) {
         Roles roles = new Roles();
         try{
             roles.setName(request.getName());
             roles.setDescription(request.getDescription());
             roles = rolesRepository.save(roles);
+            referenceDataCache.invalidateRoles();
         } catch (DataIntegrityViolationException e) {
             return ApiResponse.builder()
                     .code("99")
@@ -85,20 +115,22 @@ public class RolesService {
                 .build();
     }
 
-    public ApiResponse updateRole(Long id, RolesRequest request) {
-        Optional<Roles> savedRoles;
+    public ApiResponse updateRole(Long id, RolesRequest request, String ifMatch) {
+        List<RoleWrite> written;
         try{
-            savedRoles = rolesRepository.findById(id);
-            if (savedRoles.isPresent()) {
-                savedRoles.get().setName(request.getName());
-                savedRoles.get().setDescription(request.getDescription());
-                rolesRepository.save(savedRoles.get());
-            }else{
-                return ApiResponse.builder()
-                        .code("90")
-                        .message("Unable to retrieve role")
-                        .build();
+            written = rolesRepository.updateIfVersion(id, EntityTag.parseIfMatch(ifMatch),
+                    request.getName(), request.getDescription(), LocalDateTime.now());
+            if (written.isEmpty()) {
+                return missingOrConflict(id, "Unable to retrieve role");
             }
+            referenceDataCache.invalidateRoles();
+            tokenRevocationRegistry.roleChanged(written.get(0).getPreviousName());
+            userDetailsCache.evictAll();
+        }catch (IllegalArgumentException e){
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to update role, pass in correct data")
+                    .build();
         }catch(Exception e){
             return ApiResponse.builder()
                     .code("99")
@@ -108,22 +140,31 @@ public class RolesService {
         return ApiResponse.builder()
                 .code("00")
                 .message("Success")
-                .data(savedRoles.get())
+                .data(written.get(0).toView())
                 .build();
     }
 
-    public ApiResponse deleteRole(Long id) {
-        Optional<Roles> savedRoles;
+    public ApiResponse deleteRole(Long id, String ifMatch) {
         try {
-            savedRoles = rolesRepository.findById(id);
-            if (savedRoles.isPresent()) {
-                rolesRepository.delete(savedRoles.get());
-            }else {
-                return ApiResponse.builder()
-                        .code("90")
-                        .message("Role not found")
-                        .build();
+            List<String> deleted = rolesRepository.deleteIfVersion(id, EntityTag.parseIfMatch(ifMatch));
+            if (deleted.isEmpty()) {
+                return missingOrConflict(id, "Role not found");
             }
+            referenceDataCache.invalidateRoles();
+            tokenRevocationRegistry.roleChanged(deleted.get(0));
+            userDetailsCache.evictAll();
+        }catch (IllegalArgumentException e){
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to delete role, pass in correct data")
+                    .build();
+        }catch (DataIntegrityViolationException e) {
+            return ApiResponse.builder()
+                    .code("99")
+                    .message(hasEmployees(List.of(id))
+                            ? "Unable to delete role, role is still assigned to employees"
+                            : "Unable to delete role, its deleted employees have not been archived yet")
+                    .build();
         }catch (Exception e){
             return ApiResponse.builder()
                     .code("99")
@@ -135,4 +176,83 @@ public class RolesService {
                 .message("Success")
                 .build();
     }
+
+    /**
+     * Deletes the given roles in one DELETE, without loading them, then revokes tokens issued under
+     * every role actually deleted.
+     */
+    public ApiResponse deleteRoles(BulkDeleteRequest request) {
+        if (request.getIds() == null || request.getIds().isEmpty()) {
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to delete roles, pass in correct data")
+                    .build();
+        }
+        Long[] ids = request.getIds().stream().distinct().toArray(Long[]::new);
+        List<String> deleted = new ArrayList<>();
+        try {
+            deleted.addAll(rolesRepository.deleteByIds(ids));
+        }catch (DataIntegrityViolationException e) {
+            return ApiResponse.builder()
+                    .code("99")
+                    .message(hasEmployees(List.of(ids))
+                            ? "Unable to delete roles, a role is still assigned to employees"
+                            : "Unable to delete roles, a role's deleted employees have not been archived yet")
+                    .build();
+        }catch (Exception e){
+            return ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to delete roles, try again later")
+                    .build();
+        }finally {
+            if (!deleted.isEmpty()) {
+                referenceDataCache.invalidateRoles();
+                deleted.forEach(tokenRevocationRegistry::roleChanged);
+                userDetailsCache.evictAll();
+            }
+        }
+        if (deleted.isEmpty()) {
+            return ApiResponse.builder()
+                    .code("90")
+                    .message("Role not found")
+                    .build();
+        }
+        return ApiResponse.builder()
+                .code("00")
+                .message("Success")
+                .data(BulkDeleteResponse.builder()
+                        .requested(ids.length)
+                        .deleted(deleted.size())
+                        .build())
+                .build();
+    }
+
+    /**
+     * Whether the foreign key rejected a delete because of active employees. Soft-deleted ones keep their role_id
+     * until the archive job moves them, which would otherwise read as the role still being in use. Assumes active
+     * employees when the check itself fails.
+     */
+    private boolean hasEmployees(List<Long> ids) {
+        try {
+            return employeeRepository.existsInRoles(ids);
+        }catch (Exception e){
+            return true;
+        }
+    }
+
+    /**
+     * Tells a missing role from a version conflict once a conditional write matched no row.
+     */
+    private ApiResponse missingOrConflict(Long id, String notFoundMessage) {
+        if (!rolesRepository.existsById(id)) {
+            return ApiResponse.builder()
+                    .code("90")
+                    .message(notFoundMessage)
+                    .build();
+        }
+        return ApiResponse.builder()
+                .code("91")
+                .message("Role has changed since it was read, fetch it again and retry")
+                .build();
+    }
 }
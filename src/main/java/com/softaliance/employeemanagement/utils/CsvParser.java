@@ -0,0 +1,96 @@
+package com.softaliance.employeemanagement.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Minimal RFC 4180 reader: comma separated, optional double-quoted fields with {@code ""} escapes,
+ * LF or CRLF line endings. The first record is the header; header names are trimmed and lower-cased.
+ */
+public final class CsvParser {
+
+    private CsvParser() {
+    }
+
+    public static List<Map<String, String>> parse(Reader reader) throws IOException {
+        List<List<String>> records = readRecords(reader);
+        List<Map<String, String>> rows = new ArrayList<>();
+        if (records.isEmpty()) {
+            return rows;
+        }
+        List<String> header = records.get(0).stream()
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        for (int i = 1; i < records.size(); i++) {
+            List<String> record = records.get(i);
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            if (record.size() > header.size()) {
+                throw new IllegalArgumentException("Row " + i + " has more fields than the header");
+            }
+            Map<String, String> row = new LinkedHashMap<>();
+            for (int column = 0; column < header.size(); column++) {
+                row.put(header.get(column), column < record.size() ? record.get(column) : null);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static List<List<String>> readRecords(Reader source) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean pending = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            pending = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                record.add(field.toString());
+                field.setLength(0);
+                records.add(record);
+                record = new ArrayList<>();
+                pending = false;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        if (pending) {
+            record.add(field.toString());
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,31 @@
+package com.softaliance.employeemanagement.utils;
+
+/**
+ * Maps optimistic-locking versions to strong HTTP entity tags and back.
+ */
+public final class EntityTag {
+
+    private EntityTag() {
+    }
+
+    public static String format(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Returns the version an {@code If-Match} header requires, or null when the write is unconditional
+     * (no header, or {@code *}).
+     *
+     * @throws IllegalArgumentException if the header is not a single strong tag produced by {@link #format(Long)}
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException("Invalid If-Match");
+        }
+        return Long.parseLong(tag.substring(1, tag.length() - 1));
+    }
+}
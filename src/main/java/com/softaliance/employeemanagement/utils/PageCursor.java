@@ -0,0 +1,36 @@
+package com.softaliance.employeemanagement.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the keyset position of a paginated listing into an opaque, URL-safe cursor.
+ */
+public final class PageCursor {
+
+    private static final String PREFIX = "id:";
+
+    private PageCursor() {
+    }
+
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the id after which the next page starts, or 0 when no cursor is given.
+     *
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode(Long)}
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (!decoded.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return Long.parseLong(decoded.substring(PREFIX.length()));
+    }
+}
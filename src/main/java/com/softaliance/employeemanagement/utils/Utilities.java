@@ -1,29 +1,62 @@
 package com.softaliance.employeemanagement.utils;
 
+import com.softaliance.employeemanagement.projections.Versioned;
 import com.softaliance.employeemanagement.responses.ApiResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @Service
 public class Utilities {
 
     private final BCryptPasswordEncoder passwordEncoder;
+    private final boolean requireIfMatch;
 
-    public Utilities(BCryptPasswordEncoder passwordEncoder) {
+    public Utilities(BCryptPasswordEncoder passwordEncoder,
+                     @Value("${conditional-writes.require-if-match:false}") boolean requireIfMatch) {
         this.passwordEncoder = passwordEncoder;
+        this.requireIfMatch = requireIfMatch;
     }
 
     public ResponseEntity<ApiResponse> getApiResponseResponseEntity(ApiResponse apiResponse) {
         if(apiResponse.getCode().equals("00")){
+            if(apiResponse.getData() instanceof Versioned versioned && versioned.version() != null){
+                return ResponseEntity.ok().eTag(EntityTag.format(versioned.version())).body(apiResponse);
+            }
             return new ResponseEntity<>(apiResponse, HttpStatus.OK);
         }else if(apiResponse.getCode().equals("90")){
             return new ResponseEntity<>(apiResponse, HttpStatus.NOT_FOUND);
+        }else if(apiResponse.getCode().equals("91")){
+            return new ResponseEntity<>(apiResponse, HttpStatus.PRECONDITION_FAILED);
+        }else if(apiResponse.getCode().equals("92")){
+            return new ResponseEntity<>(apiResponse, HttpStatus.UNAUTHORIZED);
+        }else if(apiResponse.getCode().equals("93")){
+            return new ResponseEntity<>(apiResponse, HttpStatus.SERVICE_UNAVAILABLE);
+        }else if(apiResponse.getCode().equals("95")){
+            return new ResponseEntity<>(apiResponse, HttpStatus.PRECONDITION_REQUIRED);
         }
         return new ResponseEntity<>(apiResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * With {@code conditional-writes.require-if-match} on, rejects a PUT, PATCH or DELETE of a single resource
+     * that carries no {@code If-Match}, so a client cannot overwrite a change it has not seen. {@code *} still counts
+     * as present. Empty when the write may go ahead.
+     */
+    public Optional<ApiResponse> missingIfMatch(String ifMatch) {
+        if (!requireIfMatch || (ifMatch != null && !ifMatch.isBlank())) {
+            return Optional.empty();
+        }
+        return Optional.of(ApiResponse.builder()
+                .code("95")
+                .message("If-Match is required, pass the ETag returned when the resource was read")
+                .build());
+    }
+
     public String encodePassword(String plainPassword){
         return passwordEncoder.encode(plainPassword);
     }
@@ -0,0 +1,15 @@
+-- Columns mapped by the Employee entity that V1 did not create.
+ALTER TABLE employee ADD COLUMN IF NOT EXISTS phone VARCHAR(255);
+ALTER TABLE employee ADD COLUMN IF NOT EXISTS address VARCHAR(255);
+ALTER TABLE employee ADD COLUMN IF NOT EXISTS status BOOLEAN DEFAULT FALSE;
+
+-- Schemas generated from the entity before the role join column was named explicitly use roles_id.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'employee' AND column_name = 'roles_id')
+       AND NOT EXISTS (SELECT 1 FROM information_schema.columns
+                       WHERE table_name = 'employee' AND column_name = 'role_id') THEN
+        ALTER TABLE employee RENAME COLUMN roles_id TO role_id;
+    END IF;
+END $$;
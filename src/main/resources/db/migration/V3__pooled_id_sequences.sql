@@ -0,0 +1,13 @@
+-- Ids move from IDENTITY inserts to Hibernate's pooled sequence optimizer so inserts can be batched.
+-- With INCREMENT BY 50, a nextval that returns n reserves ids n - 49 .. n for the caller.
+-- Each sequence is restarted so the first block starts just after the current max id; existing ids are kept.
+ALTER SEQUENCE department_id_seq INCREMENT BY 50;
+SELECT setval('department_id_seq', COALESCE((SELECT MAX(id) FROM department), 0) + 50, false);
+
+ALTER SEQUENCE roles_id_seq INCREMENT BY 50;
+SELECT setval('roles_id_seq', COALESCE((SELECT MAX(id) FROM roles), 0) + 50, false);
+
+ALTER SEQUENCE employee_id_seq INCREMENT BY 50;
+SELECT setval('employee_id_seq', COALESCE((SELECT MAX(id) FROM employee), 0) + 50, false);
+
+-- Inserts that still rely on the column default take a whole block's top value, which no other caller is handed.
@@ -0,0 +1,5 @@
+-- Optimistic-locking version for every editable table. Each write bumps it; conditional writes
+-- (If-Match) only apply when the stored version still matches the one the client read.
+ALTER TABLE department ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE roles ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE employee ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
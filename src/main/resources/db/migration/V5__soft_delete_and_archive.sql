@@ -0,0 +1,29 @@
+-- Soft delete: deleted employees keep their row, flagged by deleted_at, until the archival job moves them out.
+ALTER TABLE employee ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP;
+
+-- An email only has to be unique among employees that are not deleted, so a deleted employee's email can be reused.
+CREATE UNIQUE INDEX IF NOT EXISTS employee_email_active_key ON employee (email) WHERE deleted_at IS NULL;
+ALTER TABLE employee DROP CONSTRAINT IF EXISTS employee_email_key;
+
+-- Lets the archival job find its candidates without scanning the active workforce.
+CREATE INDEX IF NOT EXISTS employee_archive_candidates_idx ON employee (id)
+    WHERE deleted_at IS NOT NULL OR status = false;
+
+-- Cold tier with the same shape as employee, plus when each row was moved. No foreign keys or unique email, so
+-- archived rows never block deleting a department or role, or reusing an email. Columns added to employee
+-- later must be added here too.
+CREATE TABLE IF NOT EXISTS employee_archive (LIKE employee INCLUDING DEFAULTS);
+ALTER TABLE employee_archive ADD COLUMN IF NOT EXISTS archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE employee_archive ADD PRIMARY KEY (id);
+
+-- Every employee outside the active set: soft-deleted rows not yet moved, and archived rows. Ids never overlap,
+-- since a row is moved, not copied. The password hash is deliberately left out.
+CREATE OR REPLACE VIEW archived_employee AS
+SELECT id, first_name, last_name, email, phone, address, status, department_id, role_id,
+       created_at, updated_at, version, deleted_at, CAST(NULL AS TIMESTAMP) AS archived_at
+FROM employee
+WHERE deleted_at IS NOT NULL
+UNION ALL
+SELECT id, first_name, last_name, email, phone, address, status, department_id, role_id,
+       created_at, updated_at, version, deleted_at, archived_at
+FROM employee_archive;
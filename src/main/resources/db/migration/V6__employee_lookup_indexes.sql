@@ -0,0 +1,11 @@
+-- Indexes behind the employee lookups. Built CONCURRENTLY so a large employee table keeps taking writes;
+-- Flyway runs a script made only of such statements outside a transaction. If a build is interrupted it
+-- leaves an INVALID index that IF NOT EXISTS would skip: drop it before re-running.
+
+-- Employees by department and by role. id is included so keyset pages filtered on either column read the
+-- index in order. Not partial: deleting a department or role checks its foreign key across every row.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS employee_department_id_idx ON employee (department_id, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS employee_role_id_idx ON employee (role_id, id);
+
+-- Case-insensitive email lookup at login, over active employees only.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS employee_email_lower_idx ON employee (lower(email)) WHERE deleted_at IS NULL;
@@ -0,0 +1,8 @@
+-- Email uniqueness ignores case, matching the case-insensitive login lookup: otherwise Ada@x.com and ada@x.com
+-- could both be active and login would pick either. Built CONCURRENTLY like V6, so Flyway runs this script
+-- outside a transaction. The build fails if active employees already share an email up to case; resolve those
+-- rows first. Every email lookup matches on lower(email) and is served by the new key, which replaces the exact
+-- email key and V6's plain lower(email) index.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS employee_email_lower_key ON employee (lower(email)) WHERE deleted_at IS NULL;
+DROP INDEX CONCURRENTLY IF EXISTS employee_email_active_key;
+DROP INDEX CONCURRENTLY IF EXISTS employee_email_lower_idx;
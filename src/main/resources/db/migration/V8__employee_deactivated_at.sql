@@ -0,0 +1,6 @@
+-- When an employee was last set inactive. The archival job counts inactivity from here rather than from
+-- status = false alone, which is also the column default. Existing inactive rows stay NULL: employees created
+-- through the API were saved inactive whatever their request said, and cannot be told apart from ones
+-- deactivated on purpose, so none of them is archived until it is explicitly set inactive again.
+ALTER TABLE employee ADD COLUMN IF NOT EXISTS deactivated_at TIMESTAMP;
+ALTER TABLE employee_archive ADD COLUMN IF NOT EXISTS deactivated_at TIMESTAMP;
@@ -0,0 +1,5 @@
+-- Archival candidates are now soft-deleted or deactivated employees (V8), replacing V5's status-based index.
+-- Built CONCURRENTLY like V6, so Flyway runs this script outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS employee_archive_candidates_v2_idx ON employee (id)
+    WHERE deleted_at IS NOT NULL OR deactivated_at IS NOT NULL;
+DROP INDEX CONCURRENTLY IF EXISTS employee_archive_candidates_idx;
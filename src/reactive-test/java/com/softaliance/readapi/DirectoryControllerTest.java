@@ -0,0 +1,134 @@
+package com.softaliance.readapi;
+
+import com.softaliance.employeemanagement.projections.DepartmentView;
+import com.softaliance.employeemanagement.projections.EmployeeView;
+import com.softaliance.employeemanagement.security.TokenRevocationRegistry;
+import com.softaliance.employeemanagement.services.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = DirectoryController.class, properties = "spring.config.name=reactive-read-api")
+@Import({DirectoryService.class, ReadApiSecurityConfiguration.class})
+class DirectoryControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private JwtService jwtService;
+    @MockBean
+    private DirectoryRepository directoryRepository;
+
+    @Test
+    void returnsEmployeeWithEntityTag() {
+        when(directoryRepository.findEmployee(7L)).thenReturn(Mono.just(new EmployeeView(7L, "Ada", "Lovelace", "0800",
+                "Lagos", "ada@example.com", true, new DepartmentView(1L, "HR", null, null, null, null, 2L), 3L)));
+
+        webTestClient.get().uri("/employees/get/id/7")
+                .header(HttpHeaders.AUTHORIZATION, bearer("User"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("00")
+                .jsonPath("$.data.department.name").isEqualTo("HR");
+    }
+
+    @Test
+    void returnsNotFoundForMissingEmployee() {
+        when(directoryRepository.findEmployee(8L)).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/employees/get/id/8")
+                .header(HttpHeaders.AUTHORIZATION, bearer("User"))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("90")
+                .jsonPath("$.message").isEqualTo("Employee not found");
+    }
+
+    @Test
+    void pagesEmployeesByKeyset() {
+        when(directoryRepository.findEmployeePage(0L, 3)).thenReturn(Flux.just(employee(1L), employee(2L), employee(3L)));
+
+        webTestClient.get().uri("/employees/get/all?size=2")
+                .header(HttpHeaders.AUTHORIZATION, bearer("Admin"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.size").isEqualTo(2)
+                .jsonPath("$.data.hasNext").isEqualTo(true)
+                .jsonPath("$.data.items[1].id").isEqualTo(2);
+    }
+
+    @Test
+    void rejectsInvalidCursor() {
+        webTestClient.get().uri("/employees/get/all?cursor=bm9wZQ")
+                .header(HttpHeaders.AUTHORIZATION, bearer("Admin"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("99");
+        verifyNoInteractions(directoryRepository);
+    }
+
+    @Test
+    void reportsDatabaseFailures() {
+        when(directoryRepository.findRoles()).thenReturn(Flux.error(new IllegalStateException("connection refused")));
+
+        webTestClient.get().uri("/roles/get/all")
+                .header(HttpHeaders.AUTHORIZATION, bearer("Admin"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Unable to retrieve roles, try again later");
+    }
+
+    @Test
+    void requiresValidToken() {
+        webTestClient.get().uri("/employees/get/id/7")
+                .exchange()
+                .expectStatus().isUnauthorized();
+        webTestClient.get().uri("/employees/get/id/7")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token")
+                .exchange()
+                .expectStatus().isUnauthorized();
+        verifyNoInteractions(directoryRepository);
+    }
+
+    @Test
+    void restrictsListingsToAdmins() {
+        webTestClient.get().uri("/department/get/all")
+                .header(HttpHeaders.AUTHORIZATION, bearer("User"))
+                .exchange()
+                .expectStatus().isForbidden();
+        webTestClient.get().uri("/employees/get/all")
+                .header(HttpHeaders.AUTHORIZATION, bearer("User"))
+                .exchange()
+                .expectStatus().isForbidden();
+        verifyNoInteractions(directoryRepository);
+    }
+
+    private String bearer(String role) {
+        return "Bearer " + jwtService.generateToken(Map.of(TokenRevocationRegistry.ROLE_CLAIM, role),
+                User.withUsername("ada@example.com").password("").build());
+    }
+
+    private static EmployeeView employee(Long id) {
+        return new EmployeeView(id, "Ada", "Lovelace", "0800", "Lagos", "ada" + id + "@example.com", true, null, 1L);
+    }
+}
@@ -0,0 +1,69 @@
+package com.softaliance.readapi;
+
+import com.softaliance.employeemanagement.projections.Versioned;
+import com.softaliance.employeemanagement.responses.ApiResponse;
+import com.softaliance.employeemanagement.utils.EntityTag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * The read endpoints of the employee service under the same paths, so only the host differs for clients.
+ */
+@RestController
+public class DirectoryController {
+
+    private final DirectoryService directoryService;
+
+    public DirectoryController(DirectoryService directoryService) {
+        this.directoryService = directoryService;
+    }
+
+    @GetMapping("/employees/get/id/{id}")
+    public Mono<ResponseEntity<ApiResponse>> getEmployee(@PathVariable Long id) {
+        return directoryService.getEmployee(id).map(DirectoryController::toResponseEntity);
+    }
+
+    @GetMapping("/employees/get/all")
+    public Mono<ResponseEntity<ApiResponse>> getAllEmployees(@RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer size) {
+        return directoryService.getAllEmployees(cursor, size).map(DirectoryController::toResponseEntity);
+    }
+
+    @GetMapping("/department/get/{id}")
+    public Mono<ResponseEntity<ApiResponse>> getDepartment(@PathVariable Long id) {
+        return directoryService.getDepartment(id).map(DirectoryController::toResponseEntity);
+    }
+
+    @GetMapping("/department/get/all")
+    public Mono<ResponseEntity<ApiResponse>> getAllDepartments() {
+        return directoryService.getAllDepartments().map(DirectoryController::toResponseEntity);
+    }
+
+    @GetMapping("/roles/get/{id}")
+    public Mono<ResponseEntity<ApiResponse>> getRole(@PathVariable Long id) {
+        return directoryService.getRole(id).map(DirectoryController::toResponseEntity);
+    }
+
+    @GetMapping("/roles/get/all")
+    public Mono<ResponseEntity<ApiResponse>> getAllRoles() {
+        return directoryService.getAllRoles().map(DirectoryController::toResponseEntity);
+    }
+
+    // Same status mapping as Utilities#getApiResponseResponseEntity, for the codes a read can produce.
+    static ResponseEntity<ApiResponse> toResponseEntity(ApiResponse apiResponse) {
+        if (apiResponse.getCode().equals("00")) {
+            if (apiResponse.getData() instanceof Versioned versioned && versioned.version() != null) {
+                return ResponseEntity.ok().eTag(EntityTag.format(versioned.version())).body(apiResponse);
+            }
+            return new ResponseEntity<>(apiResponse, HttpStatus.OK);
+        } else if (apiResponse.getCode().equals("90")) {
+            return new ResponseEntity<>(apiResponse, HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(apiResponse, HttpStatus.BAD_REQUEST);
+    }
+}
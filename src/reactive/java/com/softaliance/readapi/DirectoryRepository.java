@@ -0,0 +1,103 @@
+package com.softaliance.readapi;
+
+import com.softaliance.employeemanagement.projections.DepartmentView;
+import com.softaliance.employeemanagement.projections.EmployeeView;
+import com.softaliance.employeemanagement.projections.RoleView;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * The same view queries as the employee service's JPA repositories, in SQL over R2DBC. Soft-deleted employees
+ * are excluded here explicitly, since there is no entity restriction to do it.
+ */
+@Repository
+public class DirectoryRepository {
+
+    private static final String EMPLOYEE_VIEW = "SELECT e.id, e.first_name, e.last_name, e.phone, e.address, e.email, " +
+            "e.status, e.version, d.id AS department_id, d.name AS department_name, " +
+            "d.description AS department_description, d.created_at AS department_created_at, " +
+            "d.updated_at AS department_updated_at, d.manager_id AS department_manager_id, " +
+            "d.version AS department_version " +
+            "FROM employee e LEFT JOIN department d ON d.id = e.department_id WHERE e.deleted_at IS NULL ";
+    private static final String DEPARTMENT_VIEW = "SELECT id, name, description, created_at, updated_at, manager_id, " +
+            "version FROM department ";
+    private static final String ROLE_VIEW = "SELECT id, name, description, created_at, updated_at, version FROM roles ";
+
+    private final DatabaseClient databaseClient;
+
+    public DirectoryRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<EmployeeView> findEmployee(Long id) {
+        return databaseClient.sql(EMPLOYEE_VIEW + "AND e.id = :id")
+                .bind("id", id)
+                .map(DirectoryRepository::employee)
+                .one();
+    }
+
+    /**
+     * Keyset page ordered by id, starting after {@code afterId}.
+     */
+    public Flux<EmployeeView> findEmployeePage(Long afterId, int limit) {
+        return databaseClient.sql(EMPLOYEE_VIEW + "AND e.id > :afterId ORDER BY e.id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(DirectoryRepository::employee)
+                .all();
+    }
+
+    public Mono<DepartmentView> findDepartment(Long id) {
+        return databaseClient.sql(DEPARTMENT_VIEW + "WHERE id = :id")
+                .bind("id", id)
+                .map(DirectoryRepository::department)
+                .one();
+    }
+
+    public Flux<DepartmentView> findDepartments() {
+        return databaseClient.sql(DEPARTMENT_VIEW + "ORDER BY id")
+                .map(DirectoryRepository::department)
+                .all();
+    }
+
+    public Mono<RoleView> findRole(Long id) {
+        return databaseClient.sql(ROLE_VIEW + "WHERE id = :id")
+                .bind("id", id)
+                .map(DirectoryRepository::role)
+                .one();
+    }
+
+    public Flux<RoleView> findRoles() {
+        return databaseClient.sql(ROLE_VIEW + "ORDER BY id")
+                .map(DirectoryRepository::role)
+                .all();
+    }
+
+    private static EmployeeView employee(Readable row) {
+        return new EmployeeView(row.get("id", Long.class), row.get("first_name", String.class),
+                row.get("last_name", String.class), row.get("phone", String.class), row.get("address", String.class),
+                row.get("email", String.class), row.get("status", Boolean.class), row.get("department_id", Long.class),
+                row.get("department_name", String.class), row.get("department_description", String.class),
+                row.get("department_created_at", LocalDateTime.class), row.get("department_updated_at", LocalDateTime.class),
+                row.get("department_manager_id", String.class), row.get("department_version", Long.class),
+                row.get("version", Long.class));
+    }
+
+    private static DepartmentView department(Readable row) {
+        return new DepartmentView(row.get("id", Long.class), row.get("name", String.class),
+                row.get("description", String.class), row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class), row.get("manager_id", String.class),
+                row.get("version", Long.class));
+    }
+
+    private static RoleView role(Readable row) {
+        return new RoleView(row.get("id", Long.class), row.get("name", String.class),
+                row.get("description", String.class), row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class), row.get("version", Long.class));
+    }
+}
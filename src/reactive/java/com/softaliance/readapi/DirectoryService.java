@@ -0,0 +1,111 @@
+package com.softaliance.readapi;
+
+import com.softaliance.employeemanagement.projections.EmployeeView;
+import com.softaliance.employeemanagement.responses.ApiResponse;
+import com.softaliance.employeemanagement.responses.PageResponse;
+import com.softaliance.employeemanagement.utils.PageCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Wraps {@link DirectoryRepository} results in the same {@link ApiResponse} codes and messages as the employee
+ * service, so a client can switch hosts without changing how it reads responses.
+ */
+@Service
+public class DirectoryService {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private final Logger logger = LoggerFactory.getLogger(DirectoryService.class);
+    private final DirectoryRepository directoryRepository;
+
+    public DirectoryService(DirectoryRepository directoryRepository) {
+        this.directoryRepository = directoryRepository;
+    }
+
+    public Mono<ApiResponse> getEmployee(Long id) {
+        return found(directoryRepository.findEmployee(id), "Employee not found", "Unable to retrieve employee, try again later");
+    }
+
+    public Mono<ApiResponse> getAllEmployees(String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Long afterId;
+        try {
+            afterId = PageCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ApiResponse.builder()
+                    .code("99")
+                    .message("Unable to retrieve employees, pass in correct data")
+                    .build());
+        }
+        return directoryRepository.findEmployeePage(afterId, pageSize + 1)
+                .collectList()
+                .map(employees -> {
+                    boolean hasNext = employees.size() > pageSize;
+                    List<EmployeeView> items = hasNext ? employees.subList(0, pageSize) : employees;
+                    PageResponse<EmployeeView> page = PageResponse.<EmployeeView>builder()
+                            .items(items)
+                            .size(items.size())
+                            .hasNext(hasNext)
+                            .nextCursor(hasNext ? PageCursor.encode(items.get(items.size() - 1).id()) : null)
+                            .build();
+                    return ApiResponse.builder()
+                            .code("00")
+                            .message("Success")
+                            .data(page)
+                            .build();
+                })
+                .onErrorResume(e -> failed(e, "Unable to retrieve employee, try again later"));
+    }
+
+    public Mono<ApiResponse> getDepartment(Long id) {
+        return found(directoryRepository.findDepartment(id), "Department not found", "Unable to retrieve department, try again later");
+    }
+
+    public Mono<ApiResponse> getAllDepartments() {
+        return all(directoryRepository.findDepartments().collectList(), "Unable to retrieve departments, try again later");
+    }
+
+    public Mono<ApiResponse> getRole(Long id) {
+        return found(directoryRepository.findRole(id), "Role not found", "Unable to retrieve role, try again later");
+    }
+
+    public Mono<ApiResponse> getAllRoles() {
+        return all(directoryRepository.findRoles().collectList(), "Unable to retrieve roles, try again later");
+    }
+
+    private Mono<ApiResponse> found(Mono<?> row, String notFound, String failure) {
+        return row
+                .map(data -> ApiResponse.builder()
+                        .code("00")
+                        .message("Success")
+                        .data(data)
+                        .build())
+                .defaultIfEmpty(ApiResponse.builder()
+                        .code("90")
+                        .message(notFound)
+                        .build())
+                .onErrorResume(e -> failed(e, failure));
+    }
+
+    private Mono<ApiResponse> all(Mono<? extends List<?>> rows, String failure) {
+        return rows
+                .map(data -> ApiResponse.builder()
+                        .code("00")
+                        .message("Success")
+                        .data(data)
+                        .build())
+                .onErrorResume(e -> failed(e, failure));
+    }
+
+    private Mono<ApiResponse> failed(Throwable e, String message) {
+        logger.error(e.getMessage());
+        return Mono.just(ApiResponse.builder()
+                .code("99")
+                .message(message)
+                .build());
+    }
+}
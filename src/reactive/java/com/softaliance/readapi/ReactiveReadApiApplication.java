@@ -0,0 +1,36 @@
+package com.softaliance.readapi;
+
+import com.softaliance.employeemanagement.services.JwtService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Read-only employee, department and role lookups on WebFlux and R2DBC, for consumers that hold many mostly idle
+ * connections (badge readers, directory kiosks). Every request is served by a few event-loop threads instead of
+ * a thread each. Built with the {@code reactive-read-api} Maven profile and configured by
+ * {@code reactive-read-api.yaml}; it shares the schema, views, response envelope and token validation of the
+ * employee service, which stays the only writer and the only issuer of tokens.
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        FlywayAutoConfiguration.class,
+        UserDetailsServiceAutoConfiguration.class,
+        ReactiveUserDetailsServiceAutoConfiguration.class})
+@Import(JwtService.class)
+public class ReactiveReadApiApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveReadApiApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties("spring.config.name=reactive-read-api")
+                .run(args);
+    }
+}
@@ -0,0 +1,86 @@
+package com.softaliance.readapi;
+
+import com.softaliance.employeemanagement.security.TokenRevocationRegistry;
+import com.softaliance.employeemanagement.services.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Authenticates bearer tokens issued by the employee service from their verified claims alone, like the
+ * service's stateless mode: the subject is the principal and the role claim its only authority. Access rules
+ * mirror the service's for the same paths.
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class ReadApiSecurityConfiguration {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Bean
+    public SecurityWebFilterChain readApiSecurityFilterChain(ServerHttpSecurity http, JwtService jwtService) {
+        ServerAuthenticationEntryPoint entryPoint = new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED);
+        AuthenticationWebFilter bearerFilter = new AuthenticationWebFilter(bearerAuthenticationManager(jwtService));
+        bearerFilter.setServerAuthenticationConverter(exchange -> {
+            String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (header == null || !header.startsWith(BEARER_PREFIX)) {
+                return Mono.empty();
+            }
+            String token = header.substring(BEARER_PREFIX.length());
+            return Mono.just(UsernamePasswordAuthenticationToken.unauthenticated(token, token));
+        });
+        bearerFilter.setAuthenticationFailureHandler(new ServerAuthenticationEntryPointFailureHandler(entryPoint));
+        bearerFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .addFilterAt(bearerFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers("/roles/**", "/department/**", "/employees/get/all")
+                        .hasAuthority("Admin")
+                        .anyExchange()
+                        .authenticated()
+                )
+                .exceptionHandling(exception -> exception
+                        .authenticationEntryPoint(entryPoint)
+                )
+                .build();
+    }
+
+    static ReactiveAuthenticationManager bearerAuthenticationManager(JwtService jwtService) {
+        return authentication -> Mono.fromCallable(() -> {
+            Claims claims;
+            try {
+                claims = jwtService.validateToken((String) authentication.getCredentials());
+            } catch (JwtException | IllegalArgumentException e) {
+                throw new BadCredentialsException("Invalid token", e);
+            }
+            String role = claims.get(TokenRevocationRegistry.ROLE_CLAIM, String.class);
+            return UsernamePasswordAuthenticationToken.authenticated(claims.getSubject(), null,
+                    role == null ? List.of() : List.of(new SimpleGrantedAuthority(role)));
+        });
+    }
+}
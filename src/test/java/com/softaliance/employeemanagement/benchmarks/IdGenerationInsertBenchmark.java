@@ -0,0 +1,135 @@
+package com.softaliance.employeemanagement.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to insert 10k employee-shaped rows with each id strategy, issuing the same JDBC calls Hibernate does.
+ * <p>
+ * {@code identity} is the previous mapping: one {@code INSERT ... RETURNING id} round trip per row, because
+ * Hibernate needs the generated key before it can continue. {@code pooledSequence} is the current mapping:
+ * one {@code nextval} per 50 ids and inserts sent in JDBC batches of 50 ({@code hibernate.jdbc.batch_size}).
+ * <p>
+ * Needs a scratch Postgres database; the benchmark creates and drops its own tables. Run with
+ * {@code mvn test-compile} followed by
+ * {@code java -Dbenchmark.jdbc.url=jdbc:postgresql://localhost:5432/bench -Dbenchmark.jdbc.user=postgres
+ * -Dbenchmark.jdbc.password=postgres -cp target/test-classes:target/classes:<test classpath>
+ * com.softaliance.employeemanagement.benchmarks.IdGenerationInsertBenchmark}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IdGenerationInsertBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int ALLOCATION_SIZE = 50;
+    private static final String COLUMNS = "first_name, last_name, email, password, created_at, updated_at";
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void connect() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/bench"),
+                System.getProperty("benchmark.jdbc.user", "postgres"),
+                System.getProperty("benchmark.jdbc.password", "postgres"));
+        connection.setAutoCommit(false);
+    }
+
+    @Setup(Level.Iteration)
+    public void createTables() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_identity");
+            statement.execute("DROP TABLE IF EXISTS bench_pooled");
+            statement.execute("DROP SEQUENCE IF EXISTS bench_pooled_id_seq");
+            statement.execute("CREATE TABLE bench_identity (id SERIAL PRIMARY KEY, first_name VARCHAR(255), " +
+                    "last_name VARCHAR(255), email VARCHAR(255) UNIQUE, password VARCHAR(255), " +
+                    "created_at TIMESTAMP, updated_at TIMESTAMP)");
+            statement.execute("CREATE TABLE bench_pooled (id BIGINT PRIMARY KEY, first_name VARCHAR(255), " +
+                    "last_name VARCHAR(255), email VARCHAR(255) UNIQUE, password VARCHAR(255), " +
+                    "created_at TIMESTAMP, updated_at TIMESTAMP)");
+            statement.execute("CREATE SEQUENCE bench_pooled_id_seq INCREMENT BY " + ALLOCATION_SIZE);
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_identity");
+            statement.execute("DROP TABLE IF EXISTS bench_pooled");
+            statement.execute("DROP SEQUENCE IF EXISTS bench_pooled_id_seq");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    public long identity() throws SQLException {
+        long lastId = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_identity (" + COLUMNS + ") VALUES (?, ?, ?, ?, now(), now()) RETURNING id")) {
+            for (int i = 0; i < ROWS; i++) {
+                bind(insert, 1, i);
+                try (ResultSet key = insert.executeQuery()) {
+                    key.next();
+                    lastId = key.getLong(1);
+                }
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    @Benchmark
+    public long pooledSequence() throws SQLException {
+        long blockEnd = 0;
+        try (PreparedStatement nextval = connection.prepareStatement("SELECT nextval('bench_pooled_id_seq')");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO bench_pooled (id, " + COLUMNS + ") VALUES (?, ?, ?, ?, ?, now(), now())")) {
+            for (int i = 0; i < ROWS; i++) {
+                if (i % ALLOCATION_SIZE == 0) {
+                    try (ResultSet block = nextval.executeQuery()) {
+                        block.next();
+                        blockEnd = block.getLong(1);
+                    }
+                }
+                insert.setLong(1, blockEnd - ALLOCATION_SIZE + 1 + i % ALLOCATION_SIZE);
+                bind(insert, 2, i);
+                insert.addBatch();
+                if ((i + 1) % ALLOCATION_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return blockEnd;
+    }
+
+    private static void bind(PreparedStatement insert, int from, int i) throws SQLException {
+        insert.setString(from, "First" + i);
+        insert.setString(from + 1, "Last" + i);
+        insert.setString(from + 2, "employee" + i + "@example.com");
+        insert.setString(from + 3, "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z9LJ1lK5o5b0Y1GJ3x6K1p9a");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IdGenerationInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,77 @@
+package com.softaliance.employeemanagement.benchmarks;
+
+import com.softaliance.employeemanagement.models.Employee;
+import com.softaliance.employeemanagement.services.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JWT validation in the authentication filter.
+ * <p>
+ * {@code legacyValidation} reproduces the previous flow: the key was decoded and a parser built for
+ * every parse, and the token was parsed three times (subject, subject again, expiration).
+ * {@code cachedValidation} is the current flow: one parse with the pre-built parser.
+ * <p>
+ * Run with {@code mvn test-compile} followed by
+ * {@code java -cp target/test-classes:target/classes:<test classpath> com.softaliance.employeemanagement.benchmarks.JwtServiceBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET_KEY = "3e45f8c2e3a4c9d7b8e4f1a2c3d4e5f67a8b9c0d1e2f3a4b5c6d7e8f9a0b1c2";
+
+    private JwtService jwtService;
+    private Employee employee;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(1000 * 60 * 24, false);
+        employee = Employee.builder()
+                .email("admin@example.com")
+                .build();
+        token = jwtService.generateToken(employee);
+    }
+
+    @Benchmark
+    public boolean legacyValidation() {
+        String userEmail = legacyParse(token).getSubject();
+        return userEmail != null
+                && legacyParse(token).getSubject().equals(employee.getUsername())
+                && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean cachedValidation() {
+        Claims claims = jwtService.validateToken(token);
+        return claims.getSubject() != null && jwtService.isTokenValid(claims, employee);
+    }
+
+    private Claims legacyParse(String jwtToken) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY)))
+                .build()
+                .parseClaimsJws(jwtToken)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
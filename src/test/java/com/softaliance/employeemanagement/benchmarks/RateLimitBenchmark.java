@@ -0,0 +1,62 @@
+package com.softaliance.employeemanagement.benchmarks;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.softaliance.employeemanagement.configurations.GcraRateLimiter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the rate limit check, from 8 threads: {@code sameClient} has every thread contend on one
+ * bucket's CAS, {@code manyClients} spreads requests over 10k buckets as behind a busy gateway. At 20k requests
+ * a second the budget is 50 microseconds per request per core, so both should be a small fraction of it.
+ * <p>
+ * Run with {@code mvn test-compile} followed by
+ * {@code java -cp target/test-classes:target/classes:<test classpath> com.softaliance.employeemanagement.benchmarks.RateLimitBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class RateLimitBenchmark {
+
+    private static final int CLIENTS = 10_000;
+    // Generous enough that requests are allowed and every call takes the CAS path.
+    private static final long INTERVAL_NANOS = 1;
+
+    private GcraRateLimiter limiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        limiter = new GcraRateLimiter(100_000, Duration.ofMinutes(1), Ticker.systemTicker());
+        keys = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            keys[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public long sameClient() {
+        return limiter.tryAcquire(keys[0], INTERVAL_NANOS, 1_000_000);
+    }
+
+    @Benchmark
+    public long manyClients() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(CLIENTS)], INTERVAL_NANOS, 1_000_000);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RateLimitBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
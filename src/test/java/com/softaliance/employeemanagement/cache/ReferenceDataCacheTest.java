@@ -0,0 +1,75 @@
+package com.softaliance.employeemanagement.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.softaliance.employeemanagement.projections.DepartmentView;
+import com.softaliance.employeemanagement.projections.RoleView;
+import com.softaliance.employeemanagement.repository.DepartmentRepository;
+import com.softaliance.employeemanagement.repository.RolesRepository;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReferenceDataCacheTest {
+
+    private final DepartmentRepository departmentRepository = mock(DepartmentRepository.class);
+    private final RolesRepository rolesRepository = mock(RolesRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final DepartmentView hr = new DepartmentView(1L, "HR", "Human resources", null, null, null, null);
+    private final RoleView admin = new RoleView(1L, "Admin", "Administrator role", null, null, null);
+
+    @Test
+    void loadsOnceAndIndexesByIdAndName() {
+        when(departmentRepository.findAllViews()).thenReturn(List.of(hr));
+        ReferenceDataCache cache = new ReferenceDataCache(departmentRepository, rolesRepository, objectMapper, Duration.ofMinutes(10));
+
+        assertEquals(hr, cache.department(1L).orElseThrow());
+        assertEquals(hr, cache.departmentByName("hr").orElseThrow());
+        assertTrue(cache.department(2L).isEmpty());
+        assertEquals(List.of(hr), cache.departments());
+
+        verify(departmentRepository, times(1)).findAllViews();
+    }
+
+    @Test
+    void invalidationForcesReload() {
+        when(rolesRepository.findAllViews()).thenReturn(List.of(admin), List.of());
+        ReferenceDataCache cache = new ReferenceDataCache(departmentRepository, rolesRepository, objectMapper, Duration.ofMinutes(10));
+
+        assertTrue(cache.roleByName("ADMIN").isPresent());
+        cache.invalidateRoles();
+
+        assertTrue(cache.role(1L).isEmpty());
+        verify(rolesRepository, times(2)).findAllViews();
+        verifyNoInteractions(departmentRepository);
+    }
+
+    @Test
+    void expiredSnapshotIsReloaded() {
+        when(departmentRepository.findAllViews()).thenReturn(List.of(hr));
+        ReferenceDataCache cache = new ReferenceDataCache(departmentRepository, rolesRepository, objectMapper, Duration.ZERO);
+
+        cache.departments();
+        cache.departments();
+
+        verify(departmentRepository, times(2)).findAllViews();
+    }
+
+    @Test
+    void listJsonIsTheSuccessResponseBody() throws Exception {
+        when(rolesRepository.findAllViews()).thenReturn(List.of(admin));
+        ReferenceDataCache cache = new ReferenceDataCache(departmentRepository, rolesRepository, objectMapper, Duration.ofMinutes(10));
+
+        String json = new String(cache.rolesJson(), StandardCharsets.UTF_8);
+
+        assertEquals("00", objectMapper.readTree(json).get("code").asText());
+        assertEquals("Admin", objectMapper.readTree(json).get("data").get(0).get("name").asText());
+        assertSame(cache.rolesJson(), cache.rolesJson());
+    }
+}
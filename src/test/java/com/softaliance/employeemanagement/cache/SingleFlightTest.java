@@ -0,0 +1,110 @@
+package com.softaliance.employeemanagement.cache;
+
+import com.softaliance.employeemanagement.datasource.ReadConsistency;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight(meterRegistry);
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("departments", "all", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "HR";
+                })));
+            }
+            while (collapsed("departments") < 9) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("HR", result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, meterRegistry.get("singleflight.executions").tag("group", "departments").counter().count());
+    }
+
+    @Test
+    void sharesExceptionsWithWaitingCallers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Object> leader = executor.submit(() -> singleFlight.execute("employee", 1, () -> {
+                await(release);
+                throw new IllegalStateException("connection refused");
+            }));
+            while (meterRegistry.find("singleflight.executions").counter() == null) {
+                Thread.sleep(5);
+            }
+            Future<Object> follower = executor.submit(() -> singleFlight.execute("employee", 1, () -> "unexpected"));
+            while (collapsed("employee") < 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<Object> result : List.of(leader, follower)) {
+                Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+        }
+    }
+
+    @Test
+    void keepsNothingOnceALoadCompletes() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("employee", 1, loads::incrementAndGet);
+        singleFlight.execute("employee", 1, loads::incrementAndGet);
+        singleFlight.execute("employee", 2, loads::incrementAndGet);
+
+        assertEquals(3, loads.get());
+        assertEquals(0, collapsed("employee"));
+    }
+
+    @Test
+    void callersWithAConsistencyRequirementLoadForThemselves() {
+        AtomicInteger loads = new AtomicInteger();
+
+        ReadConsistency.onPrimary(() -> singleFlight.execute("employee", 1, loads::incrementAndGet));
+
+        assertEquals(1, loads.get());
+        assertNull(meterRegistry.find("singleflight.executions").counter());
+    }
+
+    private double collapsed(String group) {
+        Counter counter = meterRegistry.find("singleflight.collapsed").tag("group", group).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
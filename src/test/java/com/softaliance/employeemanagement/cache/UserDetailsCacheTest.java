@@ -0,0 +1,108 @@
+package com.softaliance.employeemanagement.cache;
+
+import com.softaliance.employeemanagement.models.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDetailsCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserDetailsCache userDetailsCache = new UserDetailsCache(100, Duration.ofMinutes(5), meterRegistry);
+
+    @Test
+    void loadsOnceAndServesHitsFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+        Employee employee = Employee.builder().id(1L).email("admin@example.com").build();
+
+        userDetailsCache.get("admin@example.com", email -> { loads.incrementAndGet(); return employee; });
+        Employee cached = userDetailsCache.get("admin@example.com", email -> { loads.incrementAndGet(); return employee; });
+
+        assertSame(employee, cached);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "userDetails").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void evictionForcesReload() {
+        AtomicInteger loads = new AtomicInteger();
+        Employee employee = Employee.builder().id(1L).email("admin@example.com").build();
+
+        userDetailsCache.get("admin@example.com", email -> { loads.incrementAndGet(); return employee; });
+        userDetailsCache.evict("admin@example.com");
+        userDetailsCache.get("admin@example.com", email -> { loads.incrementAndGet(); return employee; });
+        userDetailsCache.evictAll();
+        userDetailsCache.get("admin@example.com", email -> { loads.incrementAndGet(); return employee; });
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void everySpellingOfAnEmailSharesOneEntry() {
+        AtomicInteger loads = new AtomicInteger();
+        Employee employee = Employee.builder().id(1L).email("Admin@Example.com").build();
+
+        userDetailsCache.get("admin@example.com", email -> { loads.incrementAndGet(); return employee; });
+        assertSame(employee, userDetailsCache.get("ADMIN@example.com", email -> { loads.incrementAndGet(); return employee; }));
+        userDetailsCache.evict(employee.getEmail());
+        userDetailsCache.get("admin@example.com", email -> { loads.incrementAndGet(); return employee; });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Employee employee = Employee.builder().id(1L).email("admin@example.com").build();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Employee> first = executor.submit(() -> userDetailsCache.get("admin@example.com", email -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return employee;
+            }));
+            loading.await(5, TimeUnit.SECONDS);
+            Future<Employee> second = executor.submit(() -> userDetailsCache.get("admin@example.com", email -> {
+                loads.incrementAndGet();
+                return employee;
+            }));
+            release.countDown();
+
+            assertSame(employee, first.get(5, TimeUnit.SECONDS));
+            assertSame(employee, second.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void missingUserIsNotCached() {
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsCache.get("missing@example.com", email -> {
+            throw new UsernameNotFoundException("User not found");
+        }));
+        Employee employee = Employee.builder().id(2L).email("missing@example.com").build();
+
+        assertSame(employee, userDetailsCache.get("missing@example.com", email -> employee));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.softaliance.employeemanagement.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AimdLimit readLimit = new AimdLimit(1, 1, 10, 0.5, 0, System::nanoTime);
+    private final AimdLimit writeLimit = new AimdLimit(1, 1, 10, 0.5, 0, System::nanoTime);
+    private final AtomicBoolean saturated = new AtomicBoolean();
+    private final AtomicInteger readRejections = new AtomicInteger();
+    private final AtomicInteger writeRejections = new AtomicInteger();
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(readLimit, writeLimit, saturated::get,
+            Duration.ofMillis(1500), objectMapper, readRejections::incrementAndGet, writeRejections::incrementAndGet);
+
+    @Test
+    void rejectsOverTheLimitImmediatelyWithRetryAfter() throws Exception {
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        FilterChain nested = (request, response) -> filter.doFilter(get("/employees/get/id/1"), rejected, new MockFilterChain());
+
+        filter.doFilter(get("/employees/get/id/1"), new MockHttpServletResponse(), nested);
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("2", rejected.getHeader("Retry-After"));
+        assertEquals("93", objectMapper.readTree(rejected.getContentAsString()).get("code").asText());
+        assertEquals(1, readRejections.get());
+        assertEquals(0, readLimit.getInFlight());
+    }
+
+    @Test
+    void keepsSeparateBudgetsForReadsAndWrites() throws Exception {
+        MockHttpServletResponse write = new MockHttpServletResponse();
+        MockHttpServletResponse login = new MockHttpServletResponse();
+        FilterChain duringRead = (request, response) -> {
+            filter.doFilter(request("POST", "/employees/create"), write, new MockFilterChain());
+            filter.doFilter(request("POST", "/auth/login"), login, new MockFilterChain());
+        };
+
+        filter.doFilter(get("/employees/get/all"), new MockHttpServletResponse(), duringRead);
+
+        assertEquals(200, write.getStatus());
+        assertEquals(503, login.getStatus());
+        assertEquals(0, writeRejections.get());
+        assertEquals(1, readRejections.get());
+    }
+
+    @Test
+    void shrinksTheLimitWhileThePoolIsSaturated() throws Exception {
+        AimdLimit limit = new AimdLimit(8, 1, 10, 0.5, 0, System::nanoTime);
+        AdmissionControlFilter adaptive = new AdmissionControlFilter(limit, writeLimit, saturated::get,
+                Duration.ofSeconds(1), objectMapper, () -> { }, () -> { });
+
+        saturated.set(true);
+        adaptive.doFilter(get("/roles/get/all"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(4, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void releasesWhenTheRequestFails() {
+        FilterChain failing = (request, response) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(request("DELETE", "/employees/delete/1"), new MockHttpServletResponse(), failing));
+        assertEquals(0, writeLimit.getInFlight());
+    }
+
+    @Test
+    void holdsThePermitUntilAnAsyncRequestCompletes() throws Exception {
+        MockHttpServletRequest export = get("/employees/export");
+        export.setAsyncSupported(true);
+
+        filter.doFilter(export, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        assertEquals(1, readLimit.getInFlight());
+        export.getAsyncContext().complete();
+        assertEquals(0, readLimit.getInFlight());
+    }
+
+    @Test
+    void neverLimitsActuatorEndpoints() throws Exception {
+        MockHttpServletResponse health = new MockHttpServletResponse();
+        FilterChain nested = (request, response) -> filter.doFilter(get("/actuator/health"), health, new MockFilterChain());
+
+        filter.doFilter(get("/employees/get/id/1"), new MockHttpServletResponse(), nested);
+
+        assertEquals(200, health.getStatus());
+        assertEquals(0, readRejections.get());
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return request("GET", uri);
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+}
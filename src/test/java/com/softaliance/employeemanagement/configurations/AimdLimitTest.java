@@ -0,0 +1,81 @@
+package com.softaliance.employeemanagement.configurations;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AimdLimitTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void admitsUpToTheLimitWithoutWaiting() {
+        AimdLimit limit = new AimdLimit(2, 1, 10, 0.5, 1_000, clock::get);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+
+        limit.release(false);
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void backsOffOncePerIntervalWhenOverloaded() {
+        AimdLimit limit = new AimdLimit(20, 2, 40, 0.5, 1_000, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            limit.tryAcquire();
+        }
+        for (int i = 0; i < 5; i++) {
+            limit.release(true);
+        }
+        assertEquals(10, limit.getLimit());
+
+        clock.addAndGet(1_000);
+        limit.tryAcquire();
+        limit.release(true);
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    void neverDropsBelowTheMinimum() {
+        AimdLimit limit = new AimdLimit(4, 3, 40, 0.1, 0, clock::get);
+
+        limit.tryAcquire();
+        limit.release(true);
+
+        assertEquals(3, limit.getLimit());
+    }
+
+    @Test
+    void growsByAboutOnePerRoundOfCompletionsWhileInUse() {
+        AimdLimit limit = new AimdLimit(4, 1, 5, 0.5, 0, clock::get);
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(limit.tryAcquire());
+            }
+            for (int i = 0; i < 4; i++) {
+                limit.release(false);
+            }
+        }
+
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    void doesNotGrowWhileMostlyIdle() {
+        AimdLimit limit = new AimdLimit(10, 1, 40, 0.5, 0, clock::get);
+
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(false);
+        }
+
+        assertEquals(10, limit.getLimit());
+    }
+}
@@ -0,0 +1,87 @@
+package com.softaliance.employeemanagement.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void rejectsRequestsOverTheLimitOnceTheQueueTimeoutPasses() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(50), objectMapper);
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blocking = (request, response) -> {
+            inside.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> first = executor.submit(() -> {
+                filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), blocking);
+                return null;
+            });
+            assertTrue(inside.await(5, TimeUnit.SECONDS));
+            assertEquals(1, filter.getInFlight());
+
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest(), rejected, new MockFilterChain());
+
+            assertEquals(503, rejected.getStatus());
+            assertEquals("93", objectMapper.readTree(rejected.getContentAsString()).get("code").asText());
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+        }
+
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(), admitted, new MockFilterChain());
+        assertEquals(200, admitted.getStatus());
+        assertEquals(0, filter.getInFlight());
+    }
+
+    @Test
+    void holdsThePermitUntilAnAsyncRequestCompletes() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ZERO, objectMapper);
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/employees/export");
+        export.setAsyncSupported(true);
+
+        filter.doFilter(export, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        assertEquals(1, filter.getInFlight());
+        MockHttpServletResponse health = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), health, new MockFilterChain());
+        assertEquals(200, health.getStatus());
+        export.getAsyncContext().complete();
+        assertEquals(0, filter.getInFlight());
+    }
+
+    @Test
+    void releasesThePermitWhenTheRequestFails() {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ZERO, objectMapper);
+
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(new MockHttpServletRequest(),
+                new MockHttpServletResponse(), (request, response) -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        assertEquals(0, filter.getInFlight());
+    }
+}
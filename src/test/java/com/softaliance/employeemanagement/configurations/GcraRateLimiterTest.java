@@ -0,0 +1,58 @@
+package com.softaliance.employeemanagement.configurations;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GcraRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private final AtomicLong clock = new AtomicLong(42 * SECOND);
+    private final GcraRateLimiter limiter = new GcraRateLimiter(1_000, Duration.ofMinutes(1), clock::get);
+
+    @Test
+    void allowsTheBurstThenTheSustainedRate() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:1", SECOND, 3));
+        }
+        assertEquals(SECOND, limiter.tryAcquire("ip:1", SECOND, 3));
+
+        clock.addAndGet(SECOND);
+        assertEquals(0, limiter.tryAcquire("ip:1", SECOND, 3));
+        assertTrue(limiter.tryAcquire("ip:1", SECOND, 3) > 0);
+    }
+
+    @Test
+    void rejectedRequestsDoNotDrainTheBucket() {
+        limiter.tryAcquire("ip:1", SECOND, 1);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("ip:1", SECOND, 1);
+        }
+
+        clock.addAndGet(SECOND);
+        assertEquals(0, limiter.tryAcquire("ip:1", SECOND, 1));
+    }
+
+    @Test
+    void keepsABucketPerKey() {
+        assertEquals(0, limiter.tryAcquire("ip:1", SECOND, 1));
+        assertTrue(limiter.tryAcquire("ip:1", SECOND, 1) > 0);
+        assertEquals(0, limiter.tryAcquire("sub:ada@example.com", SECOND, 1));
+    }
+
+    @Test
+    void refillsAfterAnIdlePeriod() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("ip:1", SECOND, 5);
+        }
+
+        clock.addAndGet(10 * SECOND);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:1", SECOND, 5));
+        }
+        assertTrue(limiter.tryAcquire("ip:1", SECOND, 5) > 0);
+    }
+}
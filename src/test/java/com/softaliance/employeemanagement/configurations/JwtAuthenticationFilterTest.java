@@ -0,0 +1,76 @@
+package com.softaliance.employeemanagement.configurations;
+
+import com.softaliance.employeemanagement.security.TokenRevocationRegistry;
+import com.softaliance.employeemanagement.services.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private final JwtService jwtService = new JwtService(60_000, false);
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, userDetailsService,
+            new TokenRevocationRegistry(60_000));
+    private final UserDetails ada = User.withUsername("ada@example.com").password("hash").authorities("Employee").build();
+
+    // Other tests on this thread may leave an authentication behind.
+    @BeforeEach
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validTokenAuthenticatesTheRequest() throws Exception {
+        when(userDetailsService.loadUserByUsername("ada@example.com")).thenReturn(ada);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(bearer(jwtService.generateToken(ada)), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(ada, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+    }
+
+    @Test
+    void invalidTokenContinuesUnauthenticated() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(bearer("not.a.token"), response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void expiredTokenContinuesUnauthenticated() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(bearer(new JwtService(-1_000, false).generateToken(ada)), response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employees/get/id/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
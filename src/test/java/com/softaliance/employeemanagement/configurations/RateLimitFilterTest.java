@@ -0,0 +1,137 @@
+package com.softaliance.employeemanagement.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softaliance.employeemanagement.services.JwtService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JwtService jwtService = new JwtService(60_000, false);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+    private final RateLimitFilter filter = new RateLimitFilter(properties(true), jwtService, objectMapper, meterRegistry, clock::get);
+
+    @Test
+    void rejectsOverTheLimitWithRetryAfter() throws Exception {
+        assertEquals(200, call(get("/auth/get/email/ada@example.com", "10.0.0.1")).getStatus());
+        assertEquals(200, call(get("/auth/get/email/grace@example.com", "10.0.0.1")).getStatus());
+
+        MockHttpServletResponse rejected = call(get("/auth/get/email/ada@example.com", "10.0.0.1"));
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("30", rejected.getHeader("Retry-After"));
+        assertEquals("94", objectMapper.readTree(rejected.getContentAsString()).get("code").asText());
+        assertEquals(1, meterRegistry.get("http.server.rate.limited").tag("route", "/auth/**").counter().count());
+    }
+
+    @Test
+    void limitsEachAddressSeparately() throws Exception {
+        call(get("/auth/get/email/ada@example.com", "10.0.0.1"));
+        call(get("/auth/get/email/ada@example.com", "10.0.0.1"));
+
+        assertEquals(200, call(get("/auth/get/email/ada@example.com", "10.0.0.2")).getStatus());
+    }
+
+    @Test
+    void keysAuthenticatedClientsBySubjectAndSharesTheClaims() throws Exception {
+        String token = token("ada@example.com");
+        MockHttpServletRequest first = get("/employees/get/all", "10.0.0.1");
+        first.addHeader("Authorization", "Bearer " + token);
+
+        call(first);
+        assertEquals("ada@example.com", ((Claims) first.getAttribute(RateLimitFilter.CLAIMS_ATTRIBUTE)).getSubject());
+
+        // Same subject from another address shares the bucket; another subject does not.
+        MockHttpServletRequest sameSubject = get("/employees/get/all", "10.0.0.9");
+        sameSubject.addHeader("Authorization", "Bearer " + token);
+        assertEquals(429, call(sameSubject).getStatus());
+        MockHttpServletRequest otherSubject = get("/employees/get/all", "10.0.0.1");
+        otherSubject.addHeader("Authorization", "Bearer " + token("grace@example.com"));
+        assertEquals(200, call(otherSubject).getStatus());
+    }
+
+    @Test
+    void fallsBackToTheAddressForInvalidTokens() throws Exception {
+        MockHttpServletRequest forged = get("/employees/get/all", "10.0.0.1");
+        forged.addHeader("Authorization", "Bearer not-a-token");
+        call(forged);
+
+        assertNull(forged.getAttribute(RateLimitFilter.CLAIMS_ATTRIBUTE));
+        assertEquals(429, call(get("/employees/get/all", "10.0.0.1")).getStatus());
+    }
+
+    @Test
+    void leavesOtherRoutesAndMethodsAlone() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, call(get("/employees/get/id/1", "10.0.0.1")).getStatus());
+            MockHttpServletRequest post = get("/employees/get/all", "10.0.0.1");
+            post.setMethod("POST");
+            assertEquals(200, call(post).getStatus());
+        }
+    }
+
+    @Test
+    void refillsOverTime() throws Exception {
+        call(get("/auth/get/email/ada@example.com", "10.0.0.1"));
+        call(get("/auth/get/email/ada@example.com", "10.0.0.1"));
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertEquals(200, call(get("/auth/get/email/ada@example.com", "10.0.0.1")).getStatus());
+    }
+
+    @Test
+    void doesNothingWhenDisabled() throws Exception {
+        RateLimitFilter disabled = new RateLimitFilter(properties(false), jwtService, objectMapper, meterRegistry, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            disabled.doFilter(get("/auth/login", "10.0.0.1"), response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    private MockHttpServletResponse call(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private String token(String subject) {
+        return jwtService.generateToken(Map.of(), User.withUsername(subject).password("").build());
+    }
+
+    private static MockHttpServletRequest get(String uri, String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+    private static RateLimitProperties properties(boolean enabled) {
+        RateLimitProperties.Route auth = new RateLimitProperties.Route();
+        auth.setPath("/auth/**");
+        auth.setLimit(2);
+        auth.setPeriod(Duration.ofMinutes(1));
+        RateLimitProperties.Route listing = new RateLimitProperties.Route();
+        listing.setPath("/employees/get/all");
+        listing.setMethods(List.of("get"));
+        listing.setLimit(1);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(enabled);
+        properties.setRoutes(List.of(auth, listing));
+        return properties;
+    }
+}
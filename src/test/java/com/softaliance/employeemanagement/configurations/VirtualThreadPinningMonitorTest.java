@@ -0,0 +1,44 @@
+package com.softaliance.employeemanagement.configurations;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void recordsVirtualThreadsThatBlockInsideAMonitor() throws Exception {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(10));
+        monitor.start();
+        try {
+            Object lock = new Object();
+            Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }).join();
+
+            // JFR streams events in batches, about once a second.
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (pinnedCount() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            assertTrue(pinnedCount() >= 1);
+        } finally {
+            monitor.stop();
+        }
+    }
+
+    private long pinnedCount() {
+        return meterRegistry.get("jvm.threads.virtual.pinned").timer().count();
+    }
+}
@@ -0,0 +1,72 @@
+package com.softaliance.employeemanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softaliance.employeemanagement.responses.ApiResponse;
+import com.softaliance.employeemanagement.services.EmployeeExportService;
+import com.softaliance.employeemanagement.services.EmployeeImportService;
+import com.softaliance.employeemanagement.services.EmployeePatchService;
+import com.softaliance.employeemanagement.services.EmployeeService;
+import com.softaliance.employeemanagement.utils.Utilities;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmployeeControllerTest {
+
+    @Mock
+    private EmployeeService employeeService;
+    @Mock
+    private EmployeeExportService employeeExportService;
+    @Mock
+    private EmployeeImportService employeeImportService;
+    @Mock
+    private EmployeePatchService employeePatchService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private EmployeeController employeeController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        employeeController = new EmployeeController(employeeService, employeeExportService, employeeImportService,
+                employeePatchService, new Utilities(new BCryptPasswordEncoder(), true));
+    }
+
+    @Test
+    void patchWithoutIfMatchIsRejectedWhenRequired() throws Exception {
+        ResponseEntity<ApiResponse> response = employeeController.patchEmployee(patch(), "7", null);
+
+        assertEquals(HttpStatus.PRECONDITION_REQUIRED, response.getStatusCode());
+        assertEquals("95", response.getBody().getCode());
+        verify(employeePatchService, never()).patchEmployee(anyLong(), any(), any());
+    }
+
+    @Test
+    void patchWithIfMatchIsApplied() throws Exception {
+        JsonNode patch = patch();
+        when(employeePatchService.patchEmployee(7L, patch, "\"3\""))
+                .thenReturn(ApiResponse.builder().code("00").message("Success").build());
+
+        ResponseEntity<ApiResponse> response = employeeController.patchEmployee(patch, "7", "\"3\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(employeePatchService).patchEmployee(eq(7L), eq(patch), eq("\"3\""));
+    }
+
+    private JsonNode patch() throws Exception {
+        return objectMapper.readTree("{\"phone\":\"0900\"}");
+    }
+}
@@ -0,0 +1,84 @@
+package com.softaliance.employeemanagement.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReplicaLagMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void replicasAreIneligibleUntilTheFirstPoll() throws Exception {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(positionAt("0/5000"), Map.of("replica-0", positionAt("0/5000")),
+                1024, meterRegistry);
+
+        assertNull(monitor.pickReplica(0));
+        monitor.refresh();
+        assertEquals("replica-0", monitor.pickReplica(0));
+    }
+
+    @Test
+    void skipsReplicasThatLagOrHaveNotReplayedTheRequiredPosition() throws Exception {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(positionAt("0/9000"), Map.of(
+                "replica-0", positionAt("0/8F00"),
+                "replica-1", positionAt("0/1000")), 1024, meterRegistry);
+
+        monitor.refresh();
+
+        assertEquals("replica-0", monitor.pickReplica(0));
+        assertEquals("replica-0", monitor.pickReplica(0));
+        assertEquals("replica-0", monitor.pickReplica(WalPosition.parse("0/8F00")));
+        assertNull(monitor.pickReplica(WalPosition.parse("0/9000")));
+        assertEquals(0x8000, meterRegistry.get("datasource.replica.lag").tag("replica", "replica-1").gauge().value());
+    }
+
+    @Test
+    void rotatesBetweenEligibleReplicas() throws Exception {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(positionAt("0/9000"), Map.of(
+                "replica-0", positionAt("0/9000"),
+                "replica-1", positionAt("0/9000")), 1024, meterRegistry);
+
+        monitor.refresh();
+
+        assertNotEquals(monitor.pickReplica(0), monitor.pickReplica(0));
+    }
+
+    @Test
+    void unreachableReplicaStopsServingReads() throws Exception {
+        DataSource replica = positionAt("0/9000");
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(positionAt("0/9000"), Map.of("replica-0", replica),
+                1024, meterRegistry);
+        monitor.refresh();
+        assertEquals("replica-0", monitor.pickReplica(0));
+
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        monitor.refresh();
+
+        assertNull(monitor.pickReplica(0));
+        assertTrue(Double.isNaN(meterRegistry.get("datasource.replica.lag").gauge().value()));
+    }
+
+    private static DataSource positionAt(String lsn) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getString(1)).thenReturn(lsn);
+        return dataSource;
+    }
+}
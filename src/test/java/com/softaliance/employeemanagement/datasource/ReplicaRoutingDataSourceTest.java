@@ -0,0 +1,97 @@
+package com.softaliance.employeemanagement.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replica;
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replicaConnection;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(lagMonitor.replicas()).thenReturn(Map.of("replica-0", replica));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        routingDataSource = new ReplicaRoutingDataSource(primary, lagMonitor);
+        routingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadConsistency.clear();
+    }
+
+    @Test
+    void writesGoToThePrimary() throws Exception {
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToAnEligibleReplica() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(lagMonitor.pickReplica(0)).thenReturn("replica-0");
+
+        assertSame(replicaConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenNoReplicaHasTheClientsWrite() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        long written = WalPosition.parse("0/3000060");
+        ReadConsistency.require(written);
+        when(lagMonitor.pickReplica(written)).thenReturn(null);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void onPrimaryOverridesTheClientsTokenAndRestoresIt() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReadConsistency.require(42);
+        when(lagMonitor.pickReplica(ReadConsistency.PRIMARY_ONLY)).thenReturn(null);
+
+        Connection connection = ReadConsistency.onPrimary(() -> {
+            try {
+                return routingDataSource.getConnection();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertSame(primaryConnection, connection);
+        assertEquals(42, ReadConsistency.requiredPosition());
+    }
+
+    @Test
+    void walPositionsRoundTrip() {
+        assertEquals(0x16B374D848L, WalPosition.parse("16/B374D848"));
+        assertEquals("16/B374D848", WalPosition.format(WalPosition.parse("16/b374d848")));
+        assertThrows(IllegalArgumentException.class, () -> WalPosition.parse("not-a-position"));
+        assertThrows(IllegalArgumentException.class, () -> WalPosition.parse("1/"));
+    }
+}
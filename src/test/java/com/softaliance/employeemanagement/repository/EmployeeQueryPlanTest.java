@@ -0,0 +1,320 @@
+package com.softaliance.employeemanagement.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softaliance.employeemanagement.models.Department;
+import com.softaliance.employeemanagement.models.Roles;
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.JDBCType;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards the indexes behind the repository queries: migrates a Postgres container with the application's
+ * Flyway scripts, seeds a table large enough that the planner prefers an index whenever a usable one exists,
+ * and fails if the plan of any lookup still sequentially scans {@code employee}.
+ * <p>
+ * Each case calls the repository method itself and records the SQL Hibernate prepares along with the values it
+ * binds. That statement is then PREPAREd with the bound types and EXPLAINed under
+ * {@code plan_cache_mode = force_generic_plan}, which is the plan a pooled prepared statement settles on once it
+ * is past the custom-plan threshold. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        // Skips application.yaml, whose config server import is unreachable here; the slice needs none of it.
+        "spring.config.name=repository-test",
+        "spring.cloud.config.enabled=false",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EmployeeQueryPlanTest.RecordStatements.class)
+class EmployeeQueryPlanTest {
+
+    private static final int EMPLOYEES = 200_000;
+    private static final int DEPARTMENTS = 200;
+    private static final int ROLES = 100;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final List<Captured> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    private static Connection connection;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private ArchivedEmployeeRepository archivedEmployeeRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO department (id, name) " +
+                    "SELECT g, 'department-' || g FROM generate_series(1, " + DEPARTMENTS + ") g");
+            statement.execute("INSERT INTO roles (id, name) " +
+                    "SELECT g, 'role-' || g FROM generate_series(1, " + ROLES + ") g");
+            // One in ten inactive, one in fifty soft-deleted and not yet archived.
+            statement.execute("INSERT INTO employee (id, first_name, last_name, email, password, phone, address, " +
+                    "status, department_id, role_id, deleted_at) " +
+                    "SELECT g, 'First' || g, 'Last' || g, 'Employee' || g || '@example.com', 'hash', '0800', 'Lagos', " +
+                    "g % 10 <> 0, 1 + g % " + DEPARTMENTS + ", 1 + g % " + ROLES + ", " +
+                    "CASE WHEN g % 50 = 0 THEN now() END " +
+                    "FROM generate_series(1, " + EMPLOYEES + ") g");
+            statement.execute("ANALYZE");
+            statement.execute("SET plan_cache_mode = force_generic_plan");
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                query("EmployeeRepository.findByEmail",
+                        test -> test.employeeRepository.findByEmail("employee4242@EXAMPLE.com")),
+                query("EmployeeRepository.findViewById",
+                        test -> test.employeeRepository.findViewById(4242L)),
+                query("EmployeeRepository.findAuthResponseByEmail",
+                        test -> test.employeeRepository.findAuthResponseByEmail("Employee4242@example.com")),
+                query("EmployeeRepository.findExistingEmails",
+                        test -> test.employeeRepository.findExistingEmails(
+                                List.of("employee1@example.com", "employee2@example.com", "new@example.com"))),
+                query("EmployeeRepository.findEmployeesByDepartment",
+                        test -> test.employeeRepository.findEmployeesByDepartment(
+                                test.entityManager.getReference(Department.class, 17L))),
+                query("EmployeeRepository.findEmployeesByRoleName",
+                        test -> test.employeeRepository.findEmployeesByRoleName("role-17")),
+                query("EmployeeRepository.findDepartmentColleaguesByEmail",
+                        test -> test.employeeRepository.findDepartmentColleaguesByEmail("Employee4242@example.com")),
+                query("EmployeeRepository.findPage by department",
+                        test -> test.employeeRepository.findPage(100_000L, 17L, null, null, Limit.of(21))),
+                query("EmployeeRepository.findPage by role",
+                        test -> test.employeeRepository.findPage(100_000L, null, 17L, null, Limit.of(21))),
+                query("Department.employees",
+                        test -> test.entityManager.find(Department.class, 17L).getEmployees().size()),
+                query("Roles.employees",
+                        test -> test.entityManager.find(Roles.class, 17L).getEmployees().size()),
+                query("ArchivedEmployeeRepository.findViewById",
+                        test -> test.archivedEmployeeRepository.findViewById(4250L)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void doesNotScanTheEmployeeTable(String query, Consumer<EmployeeQueryPlanTest> call) throws SQLException, JsonProcessingException {
+        STATEMENTS.clear();
+        call.accept(this);
+        assertFalse(STATEMENTS.isEmpty(), query + " issued no statement");
+        // The last statement is the lookup itself; lazy collections first load their owner.
+        Captured statement = STATEMENTS.get(STATEMENTS.size() - 1);
+
+        JsonNode plan = explainGeneric(statement);
+
+        List<String> scans = new ArrayList<>();
+        collectSequentialScans(plan, scans);
+
+        assertTrue(scans.isEmpty(), query + " scans " + scans + " in\n" + statement.sql() + "\n" + plan.toPrettyString());
+    }
+
+    private static Arguments query(String name, Consumer<EmployeeQueryPlanTest> call) {
+        return Arguments.of(name, call);
+    }
+
+    /**
+     * PREPAREs the statement with the types Hibernate bound and EXPLAINs its generic plan for the bound values.
+     */
+    private static JsonNode explainGeneric(Captured statement) throws SQLException, JsonProcessingException {
+        StringBuilder sql = new StringBuilder();
+        int parameter = 0;
+        for (char c : statement.sql().toCharArray()) {
+            if (c == '?') {
+                sql.append('$').append(++parameter);
+            } else {
+                sql.append(c);
+            }
+        }
+        assertEquals(parameter, statement.binds().size(), "unbound parameters in " + statement.sql());
+        StringJoiner types = new StringJoiner(", ", "(", ")").setEmptyValue("");
+        StringJoiner values = new StringJoiner(", ", "(", ")").setEmptyValue("");
+        for (Bind bind : statement.binds().values()) {
+            types.add(bind.type());
+            values.add(bind.literal());
+        }
+        try (Statement explain = connection.createStatement()) {
+            explain.execute("DEALLOCATE ALL");
+            explain.execute("PREPARE repository_query" + types + " AS " + sql);
+            try (ResultSet resultSet = explain.executeQuery("EXPLAIN (FORMAT JSON) EXECUTE repository_query" + values)) {
+                resultSet.next();
+                return OBJECT_MAPPER.readTree(resultSet.getString(1)).get(0).get("Plan");
+            }
+        }
+    }
+
+    private static void collectSequentialScans(JsonNode node, List<String> scans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText()) && "employee".equals(node.path("Relation Name").asText())) {
+            scans.add(node.path("Alias").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, scans);
+        }
+    }
+
+    /** A statement Hibernate prepared, with what it bound by parameter index. */
+    private record Captured(String sql, SortedMap<Integer, Bind> binds) {
+    }
+
+    /** One {@code PreparedStatement} setter call: its name, the value, and the SQL type when one was passed. */
+    private record Bind(String setter, Object value, Integer sqlType) {
+
+        String type() {
+            if (sqlType != null) {
+                return switch (JDBCType.valueOf(sqlType)) {
+                    case BIGINT -> "bigint";
+                    case INTEGER -> "integer";
+                    case SMALLINT, TINYINT -> "smallint";
+                    case BOOLEAN, BIT -> "boolean";
+                    case TIMESTAMP -> "timestamp";
+                    case DATE -> "date";
+                    case NUMERIC, DECIMAL -> "numeric";
+                    default -> "text";
+                };
+            }
+            return switch (setter.equals("setObject") ? value.getClass().getSimpleName() : setter) {
+                case "setLong", "Long" -> "bigint";
+                case "setInt", "Integer" -> "integer";
+                case "setShort", "Short" -> "smallint";
+                case "setBoolean", "Boolean" -> "boolean";
+                case "setTimestamp", "Timestamp", "LocalDateTime" -> "timestamp";
+                case "setDate", "Date", "LocalDate" -> "date";
+                case "setBigDecimal", "BigDecimal" -> "numeric";
+                default -> "text";
+            };
+        }
+
+        String literal() {
+            return value == null ? "NULL::" + type() : "'" + value.toString().replace("'", "''") + "'::" + type();
+        }
+    }
+
+    /**
+     * Wraps the pool so every statement Hibernate prepares, and each value it binds, lands in {@link #STATEMENTS}.
+     */
+    @TestConfiguration
+    static class RecordStatements {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return recording(super.getConnection());
+                        }
+                    };
+                }
+            };
+        }
+
+        private static Connection recording(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(method, connection, args);
+                        if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement prepared) {
+                            Captured captured = new Captured((String) args[0], new TreeMap<>());
+                            STATEMENTS.add(captured);
+                            return recording(prepared, captured);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement recording(PreparedStatement statement, Captured captured) {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            boolean isNull = name.equals("setNull");
+                            Integer sqlType = isNull ? (Integer) args[1]
+                                    : args.length >= 3 && args[2] instanceof Integer type ? type : null;
+                            captured.binds().put(index, new Bind(name, isNull ? null : args[1], sqlType));
+                        } else if (name.equals("clearParameters")) {
+                            captured.binds().clear();
+                        }
+                        return invoke(method, statement, args);
+                    });
+        }
+
+        private static Object invoke(java.lang.reflect.Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
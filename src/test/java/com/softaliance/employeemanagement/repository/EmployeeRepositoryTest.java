@@ -0,0 +1,113 @@
+package com.softaliance.employeemanagement.repository;
+
+import com.softaliance.employeemanagement.models.Employee;
+import com.softaliance.employeemanagement.projections.EmployeeKey;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the fetch plans of the employee lookups against a Postgres container migrated by Flyway: callers use
+ * the associations after the repository's transaction has ended, so they must come back initialized. Also checks
+ * which employees the archival statement picks up.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        // Skips application.yaml, whose config server import is unreachable here; the slice needs none of it.
+        "spring.config.name=repository-test",
+        "spring.cloud.config.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EmployeeRepositoryTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO department (id, name) VALUES (1, 'HR')");
+        jdbcTemplate.update("INSERT INTO roles (id, name) VALUES (2, 'Manager')");
+        jdbcTemplate.update("INSERT INTO employee (id, first_name, last_name, email, password, phone, address, " +
+                "status, department_id, role_id) " +
+                "VALUES (7, 'Ada', 'Lovelace', 'ada@example.com', 'hash', '0800', 'Lagos', true, 1, 2)");
+        entityManager.clear();
+    }
+
+    @Test
+    void findByIdLoadsTheDepartment() {
+        Employee employee = employeeRepository.findById(7L).orElseThrow();
+        entityManager.detach(employee);
+
+        assertTrue(Hibernate.isInitialized(employee.getDepartment()));
+        assertEquals("HR", employee.getDepartment().getName());
+    }
+
+    @Test
+    void findByEmailLoadsTheDepartmentAndRole() {
+        Employee employee = employeeRepository.findByEmail("Ada@Example.com").orElseThrow();
+        entityManager.detach(employee);
+
+        assertTrue(Hibernate.isInitialized(employee.getDepartment()));
+        assertTrue(Hibernate.isInitialized(employee.getRoles()));
+        assertEquals("Manager", employee.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void findWithoutAssociationsByIdLeavesThemLazy() {
+        Employee employee = employeeRepository.findWithoutAssociationsById(7L).orElseThrow();
+
+        assertFalse(Hibernate.isInitialized(employee.getDepartment()));
+        assertEquals(1L, employee.getDepartment().getId());
+    }
+
+    @Test
+    void archiveChunkOnlyMovesExplicitlyDeactivatedEmployees() {
+        // Inactive by the column default alone, as API-created employees were saved, and long untouched.
+        jdbcTemplate.update("INSERT INTO employee (id, first_name, last_name, email, password, phone, address, " +
+                "status, department_id, role_id, updated_at) " +
+                "VALUES (8, 'Ada', 'Byron', 'byron@example.com', 'hash', '0800', 'Lagos', false, 1, 2, now() - interval '1 year')");
+        jdbcTemplate.update("INSERT INTO employee (id, first_name, last_name, email, password, phone, address, " +
+                "status, department_id, role_id, updated_at, deactivated_at) " +
+                "VALUES (9, 'Charles', 'Babbage', 'charles@example.com', 'hash', '0800', 'Lagos', false, 1, 2, " +
+                "now() - interval '1 year', now() - interval '1 year')");
+        LocalDateTime now = LocalDateTime.now();
+
+        List<EmployeeKey> moved = employeeRepository.archiveChunk(now.minusDays(30), now.minusDays(180), 10, now);
+
+        assertEquals(List.of(9L), moved.stream().map(EmployeeKey::getId).toList());
+        assertTrue(employeeRepository.existsById(7L));
+        assertTrue(employeeRepository.existsById(8L));
+    }
+}
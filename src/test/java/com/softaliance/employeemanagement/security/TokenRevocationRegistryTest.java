@@ -0,0 +1,69 @@
+package com.softaliance.employeemanagement.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenRevocationRegistryTest {
+
+    private final TokenRevocationRegistry registry = new TokenRevocationRegistry(60_000);
+
+    @Test
+    void tokenIssuedAfterChangeIsNotRevoked() {
+        registry.employeeChanged(1L);
+        registry.roleChanged("Manager");
+
+        Claims claims = claims(1L, "Manager", new Date(System.currentTimeMillis() + 2_000));
+
+        assertFalse(registry.isRevoked(claims));
+    }
+
+    @Test
+    void tokenIssuedBeforeEmployeeChangeIsRevoked() {
+        Claims claims = claims(1L, "Employee", new Date(System.currentTimeMillis() - 2_000));
+
+        registry.employeeChanged(1L);
+
+        assertTrue(registry.isRevoked(claims));
+        assertFalse(registry.isRevoked(claims(2L, "Employee", claims.getIssuedAt())));
+    }
+
+    @Test
+    void bulkChangeRevokesTokensOfEveryEmployeeInIt() {
+        Date issuedAt = new Date(System.currentTimeMillis() - 2_000);
+
+        registry.employeesChanged(List.of(1L, 2L));
+
+        assertTrue(registry.isRevoked(claims(1L, "Employee", issuedAt)));
+        assertTrue(registry.isRevoked(claims(2L, "Employee", issuedAt)));
+        assertFalse(registry.isRevoked(claims(3L, "Employee", issuedAt)));
+    }
+
+    @Test
+    void tokenIssuedBeforeRoleChangeIsRevokedIgnoringCase() {
+        Claims claims = claims(1L, "Manager", new Date(System.currentTimeMillis() - 2_000));
+
+        registry.roleChanged("MANAGER");
+
+        assertTrue(registry.isRevoked(claims));
+    }
+
+    @Test
+    void tokenWithoutIssuedAtIsRevoked() {
+        assertTrue(registry.isRevoked(claims(1L, "Manager", null)));
+    }
+
+    private Claims claims(Long employeeId, String role, Date issuedAt) {
+        Claims claims = Jwts.claims();
+        claims.put(TokenRevocationRegistry.EMPLOYEE_ID_CLAIM, employeeId);
+        claims.put(TokenRevocationRegistry.ROLE_CLAIM, role);
+        claims.setIssuedAt(issuedAt);
+        return claims;
+    }
+}
@@ -1,19 +1,29 @@
 package com.softaliance.employeemanagement.services;
 
+import com.softaliance.employeemanagement.cache.ReferenceDataCache;
+import com.softaliance.employeemanagement.cache.SingleFlight;
 import com.softaliance.employeemanagement.models.Department;
 import com.softaliance.employeemanagement.models.Employee;
 import com.softaliance.employeemanagement.models.Roles;
+import com.softaliance.employeemanagement.projections.DepartmentView;
+import com.softaliance.employeemanagement.projections.DepartmentWrite;
+import com.softaliance.employeemanagement.projections.EmployeeView;
 import com.softaliance.employeemanagement.repository.DepartmentRepository;
 import com.softaliance.employeemanagement.repository.EmployeeRepository;
+import com.softaliance.employeemanagement.requests.BulkDeleteRequest;
 import com.softaliance.employeemanagement.requests.DepartmentRequest;
 import com.softaliance.employeemanagement.responses.ApiResponse;
+import com.softaliance.employeemanagement.responses.BulkDeleteResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.*;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -37,6 +47,10 @@ class DepartmentServiceTest {
     private DepartmentRepository departmentRepository;
     @Mock
     private EmployeeRepository employeeRepository;
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(new SimpleMeterRegistry());
 
     @Mock
     private Authentication authentication;
@@ -72,6 +86,7 @@ class DepartmentServiceTest {
         assertEquals("00", apiResponse.getCode());
         assertEquals("Success", apiResponse.getMessage());
         assertEquals(department, apiResponse.getData());
+        verify(referenceDataCache).invalidateDepartments();
     }
 
     @Test
@@ -144,9 +159,9 @@ class DepartmentServiceTest {
     public void should_return_success_when_department_found() {
         // Given
         Long departmentId = 1L;
-        Department department = new Department();
-        department.setId(departmentId);
-        when(departmentRepository.findById(departmentId)).thenReturn(Optional.of(department));
+        DepartmentView department = new DepartmentView(departmentId, "HR", "HR Department",
+                LocalDateTime.now(), LocalDateTime.now(), null, null);
+        when(referenceDataCache.department(departmentId)).thenReturn(Optional.of(department));
 
         // When
         ApiResponse response = departmentService.getDepartment(departmentId);
@@ -162,7 +177,7 @@ class DepartmentServiceTest {
     public void should_return_error_when_department_not_found() {
         // Given
         Long departmentId = 1L;
-        when(departmentRepository.findById(departmentId)).thenReturn(Optional.empty());
+        when(referenceDataCache.department(departmentId)).thenReturn(Optional.empty());
 
         // When
         ApiResponse response = departmentService.getDepartment(departmentId);
@@ -178,7 +193,7 @@ class DepartmentServiceTest {
     public void should_return_error_when_exception_is_thrown() {
         // Given
         Long departmentId = 1L;
-        when(departmentRepository.findById(departmentId)).thenThrow(new RuntimeException("Database error"));
+        when(referenceDataCache.department(departmentId)).thenThrow(new RuntimeException("Database error"));
 
         // When
         ApiResponse response = departmentService.getDepartment(departmentId);
@@ -193,11 +208,11 @@ class DepartmentServiceTest {
     @Test
     public void should_return_success_when_departments_are_retrieved() {
         // Given
-        List<Department> departments = List.of(
-                new Department(1L, "HR", "HR Department", LocalDateTime.now(), LocalDateTime.now(), new HashSet<>()),
-                new Department(2L, "Finance", "Finance Department", LocalDateTime.now(), LocalDateTime.now(), new HashSet<>())
+        List<DepartmentView> departments = List.of(
+                new DepartmentView(1L, "HR", "HR Department", LocalDateTime.now(), LocalDateTime.now(), null, null),
+                new DepartmentView(2L, "Finance", "Finance Department", LocalDateTime.now(), LocalDateTime.now(), null, null)
         );
-        when(departmentRepository.findAll()).thenReturn(departments);
+        when(referenceDataCache.departments()).thenReturn(departments);
 
         // When
         ApiResponse apiResponse = departmentService.getAllDepartments();
@@ -212,8 +227,8 @@ class DepartmentServiceTest {
     @Test
     public void should_return_success_with_empty_list_when_no_departments_found() {
         // Given
-        List<Department> departments = Collections.emptyList();
-        when(departmentRepository.findAll()).thenReturn(departments);
+        List<DepartmentView> departments = Collections.emptyList();
+        when(referenceDataCache.departments()).thenReturn(departments);
 
         // When
         ApiResponse apiResponse = departmentService.getAllDepartments();
@@ -228,7 +243,7 @@ class DepartmentServiceTest {
     @Test
     public void should_return_error_when_exception_occurs() {
         // Given
-        when(departmentRepository.findAll()).thenThrow(new RuntimeException("Database is down"));
+        when(referenceDataCache.departments()).thenThrow(new RuntimeException("Database is down"));
 
         // When
         ApiResponse apiResponse = departmentService.getAllDepartments();
@@ -245,26 +260,72 @@ class DepartmentServiceTest {
         // Given
         Long departmentId = 1L;
         DepartmentRequest request = new DepartmentRequest("New HR", "New HR Description");
-        Department department = Department.builder()
-                .id(departmentId)
-                .name("Old HR")
-                .description("Old HR Description")
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
 
-        when(departmentRepository.findById(departmentId)).thenReturn(Optional.of(department));
-        when(departmentRepository.save(department)).thenReturn(department);
+        when(departmentRepository.updateIfVersion(eq(departmentId), isNull(), eq("New HR"), eq("New HR Description"), any()))
+                .thenReturn(List.of(departmentWrite(departmentId, "New HR", "New HR Description", 1L)));
 
         // When
-        ApiResponse apiResponse = departmentService.updateDepartment(departmentId, request);
+        ApiResponse apiResponse = departmentService.updateDepartment(departmentId, request, null);
 
         // Then
         assertNotNull(apiResponse);
         assertEquals("00", apiResponse.getCode());
         assertEquals("Success", apiResponse.getMessage());
-        assertEquals("New HR", ((Department) apiResponse.getData()).getName());
-        assertEquals("New HR Description", ((Department) apiResponse.getData()).getDescription());
+        assertEquals("New HR", ((DepartmentView) apiResponse.getData()).name());
+        assertEquals("New HR Description", ((DepartmentView) apiResponse.getData()).description());
+        assertEquals(1L, ((DepartmentView) apiResponse.getData()).version());
+        verify(departmentRepository, never()).findById(anyLong());
+        verify(departmentRepository, never()).existsById(anyLong());
+        verify(referenceDataCache, times(1)).invalidateDepartments();
+    }
+
+    @Test
+    public void should_update_department_when_version_matches() {
+        // Given
+        Long departmentId = 1L;
+        DepartmentRequest request = new DepartmentRequest("New HR", "New HR Description");
+
+        when(departmentRepository.updateIfVersion(eq(departmentId), eq(3L), any(), any(), any()))
+                .thenReturn(List.of(departmentWrite(departmentId, "New HR", "New HR Description", 4L)));
+
+        // When
+        ApiResponse apiResponse = departmentService.updateDepartment(departmentId, request, "\"3\"");
+
+        // Then
+        assertEquals("00", apiResponse.getCode());
+        assertEquals(4L, ((DepartmentView) apiResponse.getData()).version());
+    }
+
+    @Test
+    public void should_return_conflict_when_version_is_stale_for_update_department() {
+        // Given
+        Long departmentId = 1L;
+        DepartmentRequest request = new DepartmentRequest("New HR", "New HR Description");
+
+        when(departmentRepository.updateIfVersion(eq(departmentId), eq(3L), any(), any(), any())).thenReturn(List.of());
+        when(departmentRepository.existsById(departmentId)).thenReturn(true);
+
+        // When
+        ApiResponse apiResponse = departmentService.updateDepartment(departmentId, request, "\"3\"");
+
+        // Then
+        assertEquals("91", apiResponse.getCode());
+        assertNull(apiResponse.getData());
+        verify(referenceDataCache, never()).invalidateDepartments();
+    }
+
+    @Test
+    public void should_return_error_when_if_match_is_malformed() {
+        // Given
+        DepartmentRequest request = new DepartmentRequest("New HR", "New HR Description");
+
+        // When
+        ApiResponse apiResponse = departmentService.updateDepartment(1L, request, "W/\"3\"");
+
+        // Then
+        assertEquals("99", apiResponse.getCode());
+        assertEquals("Unable to update department, pass in correct data", apiResponse.getMessage());
+        verifyNoInteractions(departmentRepository);
     }
 
     @Test
@@ -273,10 +334,11 @@ class DepartmentServiceTest {
         Long departmentId = 1L;
         DepartmentRequest request = new DepartmentRequest("New HR", "New HR Description");
 
-        when(departmentRepository.findById(departmentId)).thenReturn(Optional.empty());
+        when(departmentRepository.updateIfVersion(eq(departmentId), isNull(), any(), any(), any())).thenReturn(List.of());
+        when(departmentRepository.existsById(departmentId)).thenReturn(false);
 
         // When
-        ApiResponse apiResponse = departmentService.updateDepartment(departmentId, request);
+        ApiResponse apiResponse = departmentService.updateDepartment(departmentId, request, null);
 
         // Then
         assertNotNull(apiResponse);
@@ -290,19 +352,12 @@ class DepartmentServiceTest {
         // Given
         Long departmentId = 1L;
         DepartmentRequest request = new DepartmentRequest("New HR", "New HR Description");
-        Department department = Department.builder()
-                .id(departmentId)
-                .name("Old HR")
-                .description("Old HR Description")
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
 
-        when(departmentRepository.findById(departmentId)).thenReturn(Optional.of(department));
-        when(departmentRepository.save(department)).thenThrow(new RuntimeException("Database is down"));
+        when(departmentRepository.updateIfVersion(eq(departmentId), isNull(), any(), any(), any()))
+                .thenThrow(new RuntimeException("Database is down"));
 
         // When
-        ApiResponse apiResponse = departmentService.updateDepartment(departmentId, request);
+        ApiResponse apiResponse = departmentService.updateDepartment(departmentId, request, null);
 
         // Then
         assertNotNull(apiResponse);
@@ -312,86 +367,61 @@ class DepartmentServiceTest {
     }
 
     @Test
-    public void should_return_success_when_no_update_required() {
+    public void should_return_success_when_department_is_deleted() {
         // Given
         Long departmentId = 1L;
-        DepartmentRequest request = new DepartmentRequest("HR", "HR Department Description");
-        Department department = Department.builder()
-                .id(departmentId)
-                .name("HR")
-                .description("HR Department Description")
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
-
-        when(departmentRepository.findById(departmentId)).thenReturn(Optional.of(department));
-        when(departmentRepository.save(department)).thenReturn(department);
+        when(departmentRepository.deleteIfVersion(departmentId, null)).thenReturn(List.of(departmentId));
 
         // When
-        ApiResponse apiResponse = departmentService.updateDepartment(departmentId, request);
+        ApiResponse apiResponse = departmentService.deleteDepartment(departmentId, null);
 
         // Then
         assertNotNull(apiResponse);
         assertEquals("00", apiResponse.getCode());
         assertEquals("Success", apiResponse.getMessage());
-        assertEquals(department, apiResponse.getData());
+        verify(departmentRepository, never()).findById(anyLong());
+        verify(referenceDataCache, times(1)).invalidateDepartments();
     }
 
     @Test
-    public void should_return_success_when_department_is_deleted() {
+    public void should_return_error_when_department_not_found_delete() {
         // Given
         Long departmentId = 1L;
-        Department existingDepartment = Department.builder()
-                .id(departmentId)
-                .name("HR")
-                .description("HR Department")
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
-        when(departmentRepository.findById(departmentId)).thenReturn(Optional.of(existingDepartment));
+        when(departmentRepository.deleteIfVersion(departmentId, 2L)).thenReturn(List.of());
+        when(departmentRepository.existsById(departmentId)).thenReturn(false);
 
         // When
-        ApiResponse apiResponse = departmentService.deleteDepartment(departmentId);
+        ApiResponse apiResponse = departmentService.deleteDepartment(departmentId, "\"2\"");
 
         // Then
         assertNotNull(apiResponse);
-        assertEquals("00", apiResponse.getCode());
-        assertEquals("Success", apiResponse.getMessage());
-        verify(departmentRepository, Mockito.times(1)).delete(existingDepartment);
+        assertEquals("90", apiResponse.getCode());
+        assertEquals("Department not found", apiResponse.getMessage());
     }
 
     @Test
-    public void should_return_error_when_department_not_found_delete() {
+    public void should_return_conflict_when_version_is_stale_for_delete() {
         // Given
         Long departmentId = 1L;
-        when(departmentRepository.findById(departmentId)).thenReturn(Optional.empty());
+        when(departmentRepository.deleteIfVersion(departmentId, 2L)).thenReturn(List.of());
+        when(departmentRepository.existsById(departmentId)).thenReturn(true);
 
         // When
-        ApiResponse apiResponse = departmentService.deleteDepartment(departmentId);
+        ApiResponse apiResponse = departmentService.deleteDepartment(departmentId, "\"2\"");
 
         // Then
-        assertNotNull(apiResponse);
-        assertEquals("90", apiResponse.getCode());
-        assertEquals("Department not found", apiResponse.getMessage());
-        verify(departmentRepository, never()).delete(Mockito.any(Department.class));
+        assertEquals("91", apiResponse.getCode());
+        verify(referenceDataCache, never()).invalidateDepartments();
     }
 
     @Test
     public void should_return_error_when_exception_occurs_during_deletion() {
         // Given
         Long departmentId = 1L;
-        Department existingDepartment = Department.builder()
-                .id(departmentId)
-                .name("HR")
-                .description("HR Department")
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
-        when(departmentRepository.findById(departmentId)).thenReturn(Optional.of(existingDepartment));
-        Mockito.doThrow(new RuntimeException("Database error")).when(departmentRepository).delete(existingDepartment);
+        when(departmentRepository.deleteIfVersion(departmentId, null)).thenThrow(new RuntimeException("Database error"));
 
         // When
-        ApiResponse apiResponse = departmentService.deleteDepartment(departmentId);
+        ApiResponse apiResponse = departmentService.deleteDepartment(departmentId, null);
 
         // Then
         assertNotNull(apiResponse);
@@ -401,26 +431,15 @@ class DepartmentServiceTest {
 
     @Test
     void testViewEmployeesInDepartment_Success() {
-        // Mock the authentication to return an employee's email
+        // Mock the authentication of a manager
         when(authentication.getName()).thenReturn("manager@example.com");
+        doReturn(List.of(new SimpleGrantedAuthority("Manager"))).when(authentication).getAuthorities();
 
-        // Mock the employee returned from the repository
-        Employee mockEmployee = new Employee();
-        mockEmployee.setEmail("manager@example.com");
-        Roles role = new Roles();
-        role.setName("manager");
-        mockEmployee.setRoles(role);
-        Department department = new Department();
-        department.setId(1L);
-        mockEmployee.setDepartment(department);
-        when(employeeRepository.findByEmail("manager@example.com")).thenReturn(Optional.of(mockEmployee));
-
-        // Mock the department returned from the repository
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(department));
-
-        // Mock the list of employees returned by the repository
-        List<Employee> employeeList = List.of(mockEmployee);  // Use a single employee for simplicity
-        when(employeeRepository.findEmployeesByDepartment(department)).thenReturn(employeeList);
+        // Mock the employees returned by the single department query
+        DepartmentView department = new DepartmentView(1L, "HR", "HR Department", null, null, null, null);
+        List<EmployeeView> employeeList = List.of(new EmployeeView(1L, "Frank", "Thomas", "1234567890",
+                "123 Admin St", "manager@example.com", true, department, null));
+        when(employeeRepository.findDepartmentColleaguesByEmail("manager@example.com")).thenReturn(employeeList);
 
         // Call the method under test
         ApiResponse response = departmentService.viewEmployeesInDepartment();
@@ -430,83 +449,200 @@ class DepartmentServiceTest {
         assertEquals("Success", response.getMessage());
         assertEquals(employeeList, response.getData());
 
-        // Verify the interactions with the repositories
-        verify(employeeRepository, Mockito.times(1)).findByEmail("manager@example.com");
-        verify(departmentRepository, Mockito.times(1)).findById(1L);
-        verify(employeeRepository, Mockito.times(1)).findEmployeesByDepartment(department);
+        // Only one query is issued
+        verify(employeeRepository, Mockito.times(1)).findDepartmentColleaguesByEmail("manager@example.com");
+        verifyNoMoreInteractions(employeeRepository);
+        verifyNoInteractions(departmentRepository);
+    }
+
+    @Test
+    void testViewEmployeesInDepartment_SharesFlightPerDepartment() {
+        Department department = Department.builder().id(4L).build();
+        Employee manager = Employee.builder().email("manager@example.com").department(department).build();
+        when(authentication.getPrincipal()).thenReturn(manager);
+        doReturn(List.of(new SimpleGrantedAuthority("Manager"))).when(authentication).getAuthorities();
+        List<EmployeeView> employeeList = List.of(new EmployeeView(1L, "Frank", "Thomas", "1234567890",
+                "123 Admin St", "manager@example.com", true, null, null));
+        when(employeeRepository.findDepartmentColleagues(4L)).thenReturn(employeeList);
+
+        ApiResponse response = departmentService.viewEmployeesInDepartment();
+
+        assertEquals("00", response.getCode());
+        assertEquals(employeeList, response.getData());
+        verify(singleFlight).execute(eq("department-colleagues"), eq("department:4"), any());
+        verify(employeeRepository, never()).findDepartmentColleaguesByEmail(any());
+    }
+
+    @Test
+    void testViewEmployeesInDepartment_AdminIsAllowed() {
+        when(authentication.getName()).thenReturn("admin@example.com");
+        doReturn(List.of(new SimpleGrantedAuthority("Admin"))).when(authentication).getAuthorities();
+        List<EmployeeView> employeeList = List.of(new EmployeeView(1L, "John", "Doe", "1234567890",
+                "123 Admin St", "admin@example.com", true, null, null));
+        when(employeeRepository.findDepartmentColleaguesByEmail("admin@example.com")).thenReturn(employeeList);
+
+        ApiResponse response = departmentService.viewEmployeesInDepartment();
+
+        assertEquals("00", response.getCode());
+        assertEquals(employeeList, response.getData());
     }
 
     @Test
     void testViewEmployeesInDepartment_EmployeeNotFound() {
         when(authentication.getName()).thenReturn("nonexistent@example.com");
-        when(employeeRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
+        doReturn(List.of(new SimpleGrantedAuthority("Manager"))).when(authentication).getAuthorities();
+        when(employeeRepository.findDepartmentColleaguesByEmail("nonexistent@example.com")).thenReturn(List.of());
 
         ApiResponse response = departmentService.viewEmployeesInDepartment();
 
         assertEquals("90", response.getCode());
-        assertEquals("Employee not found", response.getMessage());
+        assertEquals("Department not found", response.getMessage());
 
-        verify(employeeRepository, Mockito.times(1)).findByEmail("nonexistent@example.com");
-        verify(departmentRepository, never()).findById(Mockito.anyLong());
+        verify(employeeRepository, Mockito.times(1)).findDepartmentColleaguesByEmail("nonexistent@example.com");
+        verifyNoInteractions(departmentRepository);
     }
 
     @Test
     void testViewEmployeesInDepartment_EmployeeWithoutPrivileges() {
         when(authentication.getName()).thenReturn("employee@example.com");
-
-        // Mock the employee without manager/admin privileges
-        Employee mockEmployee = new Employee();
-        mockEmployee.setEmail("employee@example.com");
-        Roles role = new Roles();
-        role.setName("user");  // Not a manager or admin
-        mockEmployee.setRoles(role);
-        when(employeeRepository.findByEmail("employee@example.com")).thenReturn(Optional.of(mockEmployee));
+        // Not a manager or admin
+        doReturn(List.of(new SimpleGrantedAuthority("user"))).when(authentication).getAuthorities();
 
         ApiResponse response = departmentService.viewEmployeesInDepartment();
 
         assertEquals("99", response.getCode());
         assertEquals("Employee does not have privileges to access", response.getMessage());
 
-        verify(employeeRepository, times(1)).findByEmail("employee@example.com");
-        verify(departmentRepository, never()).findById(anyLong());
+        verifyNoInteractions(employeeRepository);
+        verifyNoInteractions(departmentRepository);
     }
 
     @Test
     void testViewEmployeesInDepartment_DepartmentNotFound() {
         when(authentication.getName()).thenReturn("manager@example.com");
+        doReturn(List.of(new SimpleGrantedAuthority("manager"))).when(authentication).getAuthorities();
 
-        Employee mockEmployee = new Employee();
-        mockEmployee.setEmail("manager@example.com");
-        Roles role = new Roles();
-        role.setName("manager");
-        mockEmployee.setRoles(role);
-        Department department = new Department();
-        department.setId(1L);
-        mockEmployee.setDepartment(department);
-        when(employeeRepository.findByEmail("manager@example.com")).thenReturn(Optional.of(mockEmployee));
-
-        // Mock department not found
-        when(departmentRepository.findById(1L)).thenReturn(Optional.empty());
+        // Manager without a department
+        when(employeeRepository.findDepartmentColleaguesByEmail("manager@example.com")).thenReturn(List.of());
 
         ApiResponse response = departmentService.viewEmployeesInDepartment();
 
         assertEquals("90", response.getCode());
         assertEquals("Department not found", response.getMessage());
 
-        verify(employeeRepository, times(1)).findByEmail("manager@example.com");
-        verify(departmentRepository, times(1)).findById(1L);
+        verify(employeeRepository, times(1)).findDepartmentColleaguesByEmail("manager@example.com");
     }
 
     @Test
     void testViewEmployeesInDepartment_ExceptionHandling() {
         when(authentication.getName()).thenReturn("manager@example.com");
+        doReturn(List.of(new SimpleGrantedAuthority("Manager"))).when(authentication).getAuthorities();
 
-        // Simulate an exception when trying to find the employee
-        when(employeeRepository.findByEmail("manager@example.com")).thenThrow(new RuntimeException("Database error"));
+        // Simulate an exception when running the query
+        when(employeeRepository.findDepartmentColleaguesByEmail("manager@example.com"))
+                .thenThrow(new RuntimeException("Database error"));
 
         ApiResponse response = departmentService.viewEmployeesInDepartment();
 
         assertEquals("99", response.getCode());
         assertEquals("Unable to retrieve employees, try again later", response.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void should_delete_departments_by_id_without_loading_them() {
+        // Given
+        when(departmentRepository.deleteByIds(new Long[]{1L, 2L, 3L})).thenReturn(List.of(1L, 3L));
+
+        // When
+        ApiResponse apiResponse = departmentService.deleteDepartments(new BulkDeleteRequest(List.of(1L, 2L, 3L, 1L)));
+
+        // Then
+        assertEquals("00", apiResponse.getCode());
+        assertEquals(3, ((BulkDeleteResponse) apiResponse.getData()).getRequested());
+        assertEquals(2, ((BulkDeleteResponse) apiResponse.getData()).getDeleted());
+        verify(departmentRepository, never()).findById(anyLong());
+        verify(referenceDataCache, times(1)).invalidateDepartments();
+    }
+
+    @Test
+    public void should_return_error_when_no_department_deleted() {
+        // Given
+        when(departmentRepository.deleteByIds(new Long[]{9L})).thenReturn(List.of());
+
+        // When
+        ApiResponse apiResponse = departmentService.deleteDepartments(new BulkDeleteRequest(List.of(9L)));
+
+        // Then
+        assertEquals("90", apiResponse.getCode());
+        assertEquals("Department not found", apiResponse.getMessage());
+        verify(referenceDataCache, never()).invalidateDepartments();
+    }
+
+    @Test
+    public void should_return_error_when_deleted_department_still_has_employees() {
+        // Given
+        when(departmentRepository.deleteByIds(new Long[]{1L})).thenThrow(new DataIntegrityViolationException("fk"));
+        when(employeeRepository.existsInDepartments(List.of(1L))).thenReturn(true);
+
+        // When
+        ApiResponse apiResponse = departmentService.deleteDepartments(new BulkDeleteRequest(List.of(1L)));
+
+        // Then
+        assertEquals("99", apiResponse.getCode());
+        assertEquals("Unable to delete departments, a department still has employees", apiResponse.getMessage());
+    }
+
+    @Test
+    public void should_explain_when_only_deleted_employees_block_the_delete() {
+        // Given
+        when(departmentRepository.deleteIfVersion(1L, null)).thenThrow(new DataIntegrityViolationException("fk"));
+        when(employeeRepository.existsInDepartments(List.of(1L))).thenReturn(false);
+
+        // When
+        ApiResponse apiResponse = departmentService.deleteDepartment(1L, null);
+
+        // Then
+        assertEquals("99", apiResponse.getCode());
+        assertEquals("Unable to delete department, its deleted employees have not been archived yet", apiResponse.getMessage());
+        verify(referenceDataCache, never()).invalidateDepartments();
+    }
+
+    private static DepartmentWrite departmentWrite(Long id, String name, String description, Long version) {
+        return new DepartmentWrite() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return null;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return null;
+            }
+
+            @Override
+            public String getManagerId() {
+                return null;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.softaliance.employeemanagement.services;
+
+import com.softaliance.employeemanagement.cache.UserDetailsCache;
+import com.softaliance.employeemanagement.projections.EmployeeKey;
+import com.softaliance.employeemanagement.repository.EmployeeRepository;
+import com.softaliance.employeemanagement.security.TokenRevocationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class EmployeeArchiveServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    private EmployeeArchiveService employeeArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        employeeArchiveService = new EmployeeArchiveService(employeeRepository, tokenRevocationRegistry, userDetailsCache,
+                Duration.ofDays(30), Duration.ofDays(180), 2);
+    }
+
+    @Test
+    void movesChunksUntilOneComesBackShort() {
+        when(employeeRepository.archiveChunk(any(), any(), anyInt(), any()))
+                .thenReturn(List.of(employeeKey(1L, "a@example.com"), employeeKey(2L, "b@example.com")))
+                .thenReturn(List.of(employeeKey(3L, "c@example.com")));
+
+        int archived = employeeArchiveService.archive();
+
+        assertEquals(3, archived);
+        verify(employeeRepository, times(2)).archiveChunk(any(), any(), eq(2), any());
+        verify(tokenRevocationRegistry).employeesChanged(List.of(1L, 2L));
+        verify(tokenRevocationRegistry).employeesChanged(List.of(3L));
+        verify(userDetailsCache).evict("a@example.com");
+        verify(userDetailsCache).evict("c@example.com");
+    }
+
+    @Test
+    void passesCutoffsRelativeToOneRunTimestamp() {
+        when(employeeRepository.archiveChunk(any(), any(), anyInt(), any())).thenReturn(List.of());
+        ArgumentCaptor<LocalDateTime> deletedBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> inactiveBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+
+        assertEquals(0, employeeArchiveService.archive());
+
+        verify(employeeRepository).archiveChunk(deletedBefore.capture(), inactiveBefore.capture(), eq(2), now.capture());
+        assertEquals(now.getValue().minusDays(30), deletedBefore.getValue());
+        assertEquals(now.getValue().minusDays(180), inactiveBefore.getValue());
+        verifyNoInteractions(tokenRevocationRegistry, userDetailsCache);
+    }
+
+    @Test
+    void keepsWhatWasMovedWhenAChunkFails() {
+        when(employeeRepository.archiveChunk(any(), any(), anyInt(), any()))
+                .thenReturn(List.of(employeeKey(1L, "a@example.com"), employeeKey(2L, "b@example.com")))
+                .thenThrow(new RuntimeException("Database error"));
+
+        int archived = employeeArchiveService.archive();
+
+        assertEquals(2, archived);
+        verify(userDetailsCache).evict("b@example.com");
+    }
+
+    private EmployeeKey employeeKey(Long id, String email) {
+        return new EmployeeKey() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
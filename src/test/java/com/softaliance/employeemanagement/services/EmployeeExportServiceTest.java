@@ -0,0 +1,70 @@
+package com.softaliance.employeemanagement.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.softaliance.employeemanagement.projections.DepartmentView;
+import com.softaliance.employeemanagement.projections.EmployeeView;
+import com.softaliance.employeemanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class EmployeeExportServiceTest {
+
+    private EmployeeExportService employeeExportService;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        employeeExportService = new EmployeeExportService(employeeRepository, objectMapper);
+    }
+
+    @Test
+    void testExportEmployees_WritesOneLinePerEmployee() throws IOException {
+        DepartmentView department = new DepartmentView(1L, "HR", "HR Department", null, null, null, null);
+        EmployeeView employee1 = new EmployeeView(1L, "John", "Doe", "1234567890", "123 Street",
+                "john.doe@example.com", true, department, null);
+        EmployeeView employee2 = new EmployeeView(2L, "Jane", "Doe", "0987654321", "456 Avenue",
+                "jane.doe@example.com", true, department, null);
+
+        when(employeeRepository.streamAllViews()).thenReturn(Stream.of(employee1, employee2));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long count = employeeExportService.exportEmployees(outputStream);
+
+        assertEquals(2, count);
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("john.doe@example.com", first.get("email").asText());
+        assertEquals("HR", first.get("department").get("name").asText());
+        assertFalse(first.has("password"));
+        assertEquals(2L, objectMapper.readTree(lines[1]).get("id").asLong());
+    }
+
+    @Test
+    void testExportEmployees_EmptyTable() throws IOException {
+        when(employeeRepository.streamAllViews()).thenReturn(Stream.empty());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long count = employeeExportService.exportEmployees(outputStream);
+
+        assertEquals(0, count);
+        assertEquals(0, outputStream.size());
+    }
+}
@@ -0,0 +1,209 @@
+package com.softaliance.employeemanagement.services;
+
+import com.softaliance.employeemanagement.cache.ReferenceDataCache;
+import com.softaliance.employeemanagement.models.Employee;
+import com.softaliance.employeemanagement.projections.DepartmentView;
+import com.softaliance.employeemanagement.projections.RoleView;
+import com.softaliance.employeemanagement.repository.EmployeeRepository;
+import com.softaliance.employeemanagement.requests.EmployeeRequest;
+import com.softaliance.employeemanagement.responses.ApiResponse;
+import com.softaliance.employeemanagement.responses.BulkImportResponse;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EmployeeImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private EmployeeRepository employeeRepository;
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private EmployeeImportService employeeImportService;
+
+    private final DepartmentView hr = new DepartmentView(1L, "HR", null, null, null, null, null);
+    private final RoleView user = new RoleView(2L, "User", null, null, null, null);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        employeeImportService = new EmployeeImportService(jdbcTemplate, transactionManager, employeeRepository,
+                referenceDataCache, passwordHashingService, validator);
+        when(referenceDataCache.department(1L)).thenReturn(Optional.of(hr));
+        when(referenceDataCache.departmentByName("HR")).thenReturn(Optional.of(hr));
+        when(referenceDataCache.role(2L)).thenReturn(Optional.of(user));
+        when(referenceDataCache.roleByName(anyString())).thenReturn(Optional.empty());
+        when(passwordHashingService.initialPasswordHashes(anyInt()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(Collections.nCopies(invocation.getArgument(0), "hash")));
+        AtomicLong sequence = new AtomicLong();
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any())).thenAnswer(invocation -> {
+            int blocks = invocation.getArgument(2);
+            List<Long> blockEnds = new ArrayList<>();
+            for (int i = 0; i < blocks; i++) {
+                blockEnds.add(sequence.addAndGet(Employee.ID_ALLOCATION_SIZE));
+            }
+            return blockEnds;
+        });
+    }
+
+    @Test
+    void importsValidRowsAndReportsEachFailure() {
+        List<EmployeeRequest> requests = List.of(
+                request("ada@example.com", "1", "2"),
+                request("ada@example.com", "1", "2"),
+                request("taken@example.com", "1", "2"),
+                request("grace@example.com", "9", "2"),
+                request("linus@example.com", "1", "Manager"),
+                request("not-an-email", "1", "2"));
+        when(referenceDataCache.department(9L)).thenReturn(Optional.empty());
+        when(employeeRepository.findExistingEmails(anyCollection())).thenReturn(List.of("taken@example.com"));
+
+        ApiResponse response = employeeImportService.importEmployees(requests);
+
+        assertEquals("00", response.getCode());
+        BulkImportResponse report = (BulkImportResponse) response.getData();
+        assertEquals(6, report.getTotal());
+        assertEquals(1, report.getCreated());
+        assertEquals(5, report.getFailed());
+        List<BulkImportResponse.RowResult> results = report.getResults();
+        assertTrue(results.get(0).isCreated());
+        assertEquals(1L, results.get(0).getId());
+        assertEquals("Unable to create employee, employee details has been used", results.get(1).getMessage());
+        assertEquals("Unable to create employee, employee details has been used", results.get(2).getMessage());
+        assertEquals("Unable to create employee, department not found", results.get(3).getMessage());
+        assertEquals("Unable to create employee, role not found", results.get(4).getMessage());
+        assertEquals("Enter a valid email", results.get(5).getMessage());
+        verify(passwordHashingService, times(1)).initialPasswordHashes(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rejectsEmailsTakenUpToCase() {
+        List<EmployeeRequest> requests = List.of(
+                request("ada@example.com", "1", "2"),
+                request("Ada@Example.com", "1", "2"),
+                request("Taken@Example.com", "1", "2"));
+        when(employeeRepository.findExistingEmails(anyCollection())).thenReturn(List.of("taken@example.com"));
+
+        BulkImportResponse report = (BulkImportResponse) employeeImportService.importEmployees(requests).getData();
+
+        assertEquals(1, report.getCreated());
+        assertEquals("Unable to create employee, employee details has been used", report.getResults().get(1).getMessage());
+        assertEquals("Unable to create employee, employee details has been used", report.getResults().get(2).getMessage());
+        ArgumentCaptor<Collection<String>> looked = ArgumentCaptor.forClass(Collection.class);
+        verify(employeeRepository).findExistingEmails(looked.capture());
+        assertEquals(List.of("ada@example.com", "taken@example.com"), List.copyOf(looked.getValue()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void insertsInBatches() {
+        List<EmployeeRequest> requests = new ArrayList<>();
+        for (int i = 0; i < EmployeeImportService.BATCH_SIZE + 1; i++) {
+            requests.add(request("employee" + i + "@example.com", "1", "2"));
+        }
+        when(employeeRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+
+        ApiResponse response = employeeImportService.importEmployees(requests);
+
+        BulkImportResponse report = (BulkImportResponse) response.getData();
+        assertEquals(EmployeeImportService.BATCH_SIZE + 1, report.getCreated());
+        assertEquals(EmployeeImportService.BATCH_SIZE + 1, report.getResults().stream()
+                .map(BulkImportResponse.RowResult::getId).distinct().count());
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        verify(employeeRepository, times(2)).findExistingEmails(anyCollection());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retriesBatchRowByRowWhenAnEmailIsTakenConcurrently() {
+        List<EmployeeRequest> requests = List.of(request("ada@example.com", "1", "2"), request("grace@example.com", "1", "2"));
+        when(employeeRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DuplicateKeyException("duplicate"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenReturn(1)
+                .thenThrow(new DuplicateKeyException("duplicate"));
+
+        BulkImportResponse report = (BulkImportResponse) employeeImportService.importEmployees(requests).getData();
+
+        assertTrue(report.getResults().get(0).isCreated());
+        assertFalse(report.getResults().get(1).isCreated());
+        assertEquals(1, report.getFailed());
+    }
+
+    @Test
+    void parsesCsvWithQuotedFieldsAndDepartmentNames() {
+        String csv = """
+                first_name,last_name,email,status,phone,address,department_id,role_id
+                Ada,Lovelace,ada@example.com,true,0800,"12 Main St, Lagos",HR,2
+                """;
+        when(employeeRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+
+        ApiResponse response = employeeImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("00", response.getCode());
+        assertEquals(1, ((BulkImportResponse) response.getData()).getCreated());
+    }
+
+    @Test
+    void rejectsMalformedCsv() {
+        String csv = "first_name,last_name\n\"Ada,Lovelace\n";
+
+        ApiResponse response = employeeImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("99", response.getCode());
+        assertEquals("Unable to import employees, pass in correct data", response.getMessage());
+    }
+
+    @Test
+    void rejectsEmptyImport() {
+        ApiResponse response = employeeImportService.importEmployees(List.of());
+
+        assertEquals("99", response.getCode());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static EmployeeRequest request(String email, String departmentId, String roleId) {
+        EmployeeRequest request = new EmployeeRequest();
+        request.setFirstName("First");
+        request.setLastName("Last");
+        request.setEmail(email);
+        request.setStatus(true);
+        request.setPhone("0800");
+        request.setAddress("Lagos");
+        request.setDepartmentId(departmentId);
+        request.setRoleId(roleId);
+        return request;
+    }
+}
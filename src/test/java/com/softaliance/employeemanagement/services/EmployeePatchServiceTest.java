@@ -0,0 +1,232 @@
+package com.softaliance.employeemanagement.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softaliance.employeemanagement.cache.ReferenceDataCache;
+import com.softaliance.employeemanagement.cache.UserDetailsCache;
+import com.softaliance.employeemanagement.models.Department;
+import com.softaliance.employeemanagement.models.Employee;
+import com.softaliance.employeemanagement.projections.DepartmentView;
+import com.softaliance.employeemanagement.projections.EmployeeView;
+import com.softaliance.employeemanagement.repository.DepartmentRepository;
+import com.softaliance.employeemanagement.repository.EmployeeRepository;
+import com.softaliance.employeemanagement.responses.ApiResponse;
+import com.softaliance.employeemanagement.security.TokenRevocationRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class EmployeePatchServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+    @Mock
+    private DepartmentRepository departmentRepository;
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+    @Mock
+    private UserDetailsCache userDetailsCache;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private EmployeePatchService employeePatchService;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        employeePatchService = new EmployeePatchService(employeeRepository, departmentRepository, referenceDataCache,
+                tokenRevocationRegistry, userDetailsCache, validator, transactionManager);
+        Department department = new Department();
+        department.setId(1L);
+        employee = Employee.builder()
+                .id(7L)
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .email("ada@example.com")
+                .phone("0800")
+                .address("Lagos")
+                .status(true)
+                .department(department)
+                .version(3L)
+                .build();
+        when(employeeRepository.findWithoutAssociationsById(7L)).thenReturn(Optional.of(employee));
+        when(referenceDataCache.department(1L)).thenReturn(Optional.of(new DepartmentView(1L, "HR", null, null, null, null, null)));
+        when(referenceDataCache.department(2L)).thenReturn(Optional.of(new DepartmentView(2L, "IT", null, null, null, null, null)));
+    }
+
+    @Test
+    void patchesOnlyTheFieldsPresent() throws Exception {
+        ApiResponse response = employeePatchService.patchEmployee(7L, patch("{\"last_name\":\"Byron\",\"status\":false}"), null);
+
+        assertEquals("00", response.getCode());
+        assertEquals("Byron", employee.getLastName());
+        assertFalse(employee.getStatus());
+        assertNotNull(employee.getDeactivatedAt());
+        assertEquals("Ada", employee.getFirstName());
+        assertEquals("0800", employee.getPhone());
+        EmployeeView view = (EmployeeView) response.getData();
+        assertEquals("HR", view.department().name());
+        verify(employeeRepository).flush();
+        verify(tokenRevocationRegistry).employeeChanged(7L);
+        verify(userDetailsCache).evict("ada@example.com");
+        verifyNoInteractions(departmentRepository);
+    }
+
+    @Test
+    void dropsCachedDetailsOnlyAfterCommit() throws Exception {
+        InOrder inOrder = inOrder(transactionManager, tokenRevocationRegistry, userDetailsCache);
+
+        employeePatchService.patchEmployee(7L, patch("{\"phone\":\"0900\"}"), null);
+
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(tokenRevocationRegistry).employeeChanged(7L);
+        inOrder.verify(userDetailsCache).evict("ada@example.com");
+    }
+
+    @Test
+    void keepsCachedDetailsWhenCommitFails() throws Exception {
+        doThrow(new ObjectOptimisticLockingFailureException(Employee.class, 7L)).when(transactionManager).commit(any());
+
+        ApiResponse response = employeePatchService.patchEmployee(7L, patch("{\"phone\":\"0900\"}"), null);
+
+        assertEquals("91", response.getCode());
+        verifyNoInteractions(tokenRevocationRegistry, userDetailsCache);
+    }
+
+    @Test
+    void skipsDepartmentLookupWhenUnchanged() throws Exception {
+        ApiResponse response = employeePatchService.patchEmployee(7L, patch("{\"department_id\":\"1\",\"first_name\":\"Ada\"}"), null);
+
+        assertEquals("00", response.getCode());
+        verifyNoInteractions(departmentRepository);
+        verify(employeeRepository, never()).flush();
+        verifyNoInteractions(tokenRevocationRegistry, userDetailsCache);
+    }
+
+    @Test
+    void reactivatingClearsTheDeactivationStamp() throws Exception {
+        employee.setStatus(false);
+        employee.setDeactivatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+
+        ApiResponse response = employeePatchService.patchEmployee(7L, patch("{\"status\":true}"), null);
+
+        assertEquals("00", response.getCode());
+        assertTrue(employee.getStatus());
+        assertNull(employee.getDeactivatedAt());
+        verify(employeeRepository).flush();
+    }
+
+    @Test
+    void deactivatingAgainKeepsTheFirstStamp() throws Exception {
+        LocalDateTime deactivatedAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        employee.setStatus(false);
+        employee.setDeactivatedAt(deactivatedAt);
+
+        employeePatchService.patchEmployee(7L, patch("{\"status\":false}"), null);
+
+        assertEquals(deactivatedAt, employee.getDeactivatedAt());
+        verify(employeeRepository, never()).flush();
+    }
+
+    @Test
+    void movesEmployeeToAnotherDepartment() throws Exception {
+        Department it = new Department();
+        it.setId(2L);
+        when(departmentRepository.getReferenceById(2L)).thenReturn(it);
+
+        ApiResponse response = employeePatchService.patchEmployee(7L, patch("{\"department_id\":2}"), null);
+
+        assertEquals("00", response.getCode());
+        assertSame(it, employee.getDepartment());
+        assertEquals("IT", ((EmployeeView) response.getData()).department().name());
+        verify(tokenRevocationRegistry).employeeChanged(7L);
+    }
+
+    @Test
+    void rejectsUnknownDepartment() throws Exception {
+        when(referenceDataCache.department(9L)).thenReturn(Optional.empty());
+
+        ApiResponse response = employeePatchService.patchEmployee(7L, patch("{\"department_id\":9}"), null);
+
+        assertEquals("90", response.getCode());
+        assertEquals("Department not found", response.getMessage());
+        verify(departmentRepository, never()).getReferenceById(anyLong());
+    }
+
+    @Test
+    void rejectsInvalidValuesBeforeLoadingEmployee() throws Exception {
+        assertEquals("Unable to update employee, Enter a valid email",
+                employeePatchService.patchEmployee(7L, patch("{\"email\":\"not-an-email\"}"), null).getMessage());
+        assertEquals("Unable to update employee, Phone cannot be null",
+                employeePatchService.patchEmployee(7L, patch("{\"phone\":null}"), null).getMessage());
+        assertEquals("Unable to update employee, unknown field password",
+                employeePatchService.patchEmployee(7L, patch("{\"password\":\"secret\"}"), null).getMessage());
+        assertEquals("Unable to update employee, patch must be a JSON object",
+                employeePatchService.patchEmployee(7L, patch("[]"), null).getMessage());
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void returnsNotFoundForMissingEmployee() throws Exception {
+        ApiResponse response = employeePatchService.patchEmployee(8L, patch("{\"first_name\":\"Grace\"}"), null);
+
+        assertEquals("90", response.getCode());
+        assertEquals("Employee not found", response.getMessage());
+    }
+
+    @Test
+    void appliesPatchOnlyToTheVersionTheClientRead() throws Exception {
+        ApiResponse stale = employeePatchService.patchEmployee(7L, patch("{\"first_name\":\"Grace\"}"), "\"2\"");
+        ApiResponse current = employeePatchService.patchEmployee(7L, patch("{\"first_name\":\"Grace\"}"), "\"3\"");
+
+        assertEquals("91", stale.getCode());
+        assertEquals("00", current.getCode());
+        assertEquals(3L, ((EmployeeView) current.getData()).version());
+        verify(employeeRepository, times(1)).flush();
+    }
+
+    @Test
+    void reportsConflictWhenAConcurrentWriteWins() throws Exception {
+        doThrow(new ObjectOptimisticLockingFailureException(Employee.class, 7L)).when(employeeRepository).flush();
+
+        ApiResponse response = employeePatchService.patchEmployee(7L, patch("{\"first_name\":\"Grace\"}"), null);
+
+        assertEquals("91", response.getCode());
+        verifyNoInteractions(tokenRevocationRegistry, userDetailsCache);
+    }
+
+    @Test
+    void reportsTakenEmail() throws Exception {
+        doThrow(new DataIntegrityViolationException("duplicate")).when(employeeRepository).flush();
+
+        ApiResponse response = employeePatchService.patchEmployee(7L, patch("{\"email\":\"grace@example.com\"}"), null);
+
+        assertEquals("99", response.getCode());
+        assertEquals("Unable to update employee, employee details has been used", response.getMessage());
+        verifyNoInteractions(userDetailsCache);
+    }
+
+    private JsonNode patch(String json) throws Exception {
+        return objectMapper.readTree(json);
+    }
+}
@@ -1,25 +1,51 @@
 package com.softaliance.employeemanagement.services;
 
+import com.softaliance.employeemanagement.cache.ReferenceDataCache;
+import com.softaliance.employeemanagement.cache.SingleFlight;
+import com.softaliance.employeemanagement.cache.UserDetailsCache;
 import com.softaliance.employeemanagement.models.Department;
 import com.softaliance.employeemanagement.models.Employee;
-import com.softaliance.employeemanagement.models.Roles;
+import com.softaliance.employeemanagement.projections.DepartmentView;
+import com.softaliance.employeemanagement.projections.EmployeeKey;
+import com.softaliance.employeemanagement.projections.EmployeeView;
+import com.softaliance.employeemanagement.projections.EmployeeWrite;
+import com.softaliance.employeemanagement.projections.RoleView;
+import com.softaliance.employeemanagement.repository.ArchivedEmployeeRepository;
 import com.softaliance.employeemanagement.repository.DepartmentRepository;
 import com.softaliance.employeemanagement.repository.EmployeeRepository;
 import com.softaliance.employeemanagement.repository.RolesRepository;
+import com.softaliance.employeemanagement.requests.BulkDeleteRequest;
+import com.softaliance.employeemanagement.requests.BulkReassignRequest;
 import com.softaliance.employeemanagement.requests.EmployeeRequest;
 import com.softaliance.employeemanagement.responses.ApiResponse;
 import com.softaliance.employeemanagement.responses.AuthResponse;
-import com.softaliance.employeemanagement.utils.Utilities;
+import com.softaliance.employeemanagement.responses.BulkDeleteResponse;
+import com.softaliance.employeemanagement.responses.BulkUpdateResponse;
+import com.softaliance.employeemanagement.responses.PageResponse;
+import com.softaliance.employeemanagement.security.TokenRevocationRegistry;
+import com.softaliance.employeemanagement.utils.PageCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
@@ -38,11 +64,23 @@ public class EmployeeServiceTest {
         @Mock
         private RolesRepository roleRepository;
         @Mock
-        private Utilities utilities;
+        private PasswordHashingService passwordHashingService;
+        @Mock
+        private TokenRevocationRegistry tokenRevocationRegistry;
+        @Mock
+        private UserDetailsCache userDetailsCache;
+        @Mock
+        private ReferenceDataCache referenceDataCache;
+        @Mock
+        private ArchivedEmployeeRepository archivedEmployeeRepository;
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        @Spy
+        private SingleFlight singleFlight = new SingleFlight(meterRegistry);
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(passwordHashingService.initialPasswordHash()).thenReturn(CompletableFuture.completedFuture("encodedPassword"));
     }
 
     @Test
@@ -55,27 +93,55 @@ public class EmployeeServiceTest {
         request.setLastName("Doe");
         request.setAddress("123 Main St");
         request.setEmail("john.doe@example.com");
+        request.setStatus(true);
 
-        Department department = new Department();
-        department.setId(1L);
-        department.setName("HR");
-        department.setDescription("HR department");
-        Roles role = new Roles();
-        role.setId(1L);
-        role.setName("Admin");
-        role.setDescription("Admin Role");
+        DepartmentView department = new DepartmentView(1L, "HR", "HR department", null, null, null, null);
+        RoleView role = new RoleView(1L, "Admin", "Admin Role", null, null, null);
         Employee savedEmployee = new Employee();
+        savedEmployee.setId(5L);
+        savedEmployee.setEmail("john.doe@example.com");
 
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(department));
-        when(roleRepository.findById(1L)).thenReturn(Optional.of(role));
+        when(referenceDataCache.department(1L)).thenReturn(Optional.of(department));
+        when(referenceDataCache.role(1L)).thenReturn(Optional.of(role));
         when(employeeRepository.save(any(Employee.class))).thenReturn(savedEmployee);
-        when(utilities.encodePassword(anyString())).thenReturn("encodedPassword");
 
         ApiResponse response = employeeService.addEmployee(request);
 
         assertEquals("00", response.getCode());
         assertEquals("Success", response.getMessage());
-        assertEquals(savedEmployee, response.getData());
+        EmployeeView view = (EmployeeView) response.getData();
+        assertEquals(5L, view.id());
+        assertEquals(department, view.department());
+        verify(departmentRepository).getReferenceById(1L);
+        verify(roleRepository).getReferenceById(1L);
+        verify(departmentRepository, never()).findById(anyLong());
+        verify(roleRepository, never()).findById(anyLong());
+        // Saved active and never deactivated, so the archival job leaves it alone.
+        ArgumentCaptor<Employee> saved = ArgumentCaptor.forClass(Employee.class);
+        verify(employeeRepository).save(saved.capture());
+        assertTrue(saved.getValue().getStatus());
+        assertNull(saved.getValue().getDeactivatedAt());
+    }
+
+    @Test
+    void testAddEmployee_InactiveIsStampedAsDeactivated() {
+        EmployeeRequest request = new EmployeeRequest();
+        request.setDepartmentId("1");
+        request.setRoleId("1");
+        request.setEmail("john.doe@example.com");
+        request.setStatus(false);
+
+        when(referenceDataCache.department(1L)).thenReturn(Optional.of(new DepartmentView(1L, "HR", null, null, null, null, null)));
+        when(referenceDataCache.role(1L)).thenReturn(Optional.of(new RoleView(1L, "Admin", null, null, null, null)));
+        when(employeeRepository.save(any(Employee.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ApiResponse response = employeeService.addEmployee(request);
+
+        assertEquals("00", response.getCode());
+        ArgumentCaptor<Employee> saved = ArgumentCaptor.forClass(Employee.class);
+        verify(employeeRepository).save(saved.capture());
+        assertFalse(saved.getValue().getStatus());
+        assertNotNull(saved.getValue().getDeactivatedAt());
     }
 
     @Test
@@ -84,7 +150,7 @@ public class EmployeeServiceTest {
         request.setDepartmentId("1");
         request.setRoleId("1");
 
-        Mockito.when(departmentRepository.findById(1L)).thenReturn(Optional.empty());
+        Mockito.when(referenceDataCache.department(1L)).thenReturn(Optional.empty());
 
         ApiResponse response = employeeService.addEmployee(request);
 
@@ -99,11 +165,10 @@ public class EmployeeServiceTest {
         request.setDepartmentId("1");
         request.setRoleId("1");
 
-        Department department = new Department();
-        department.setId(1L);
+        DepartmentView department = new DepartmentView(1L, "HR", null, null, null, null, null);
 
-        Mockito.when(departmentRepository.findById(1L)).thenReturn(Optional.of(department));
-        Mockito.when(roleRepository.findById(1L)).thenReturn(Optional.empty());
+        Mockito.when(referenceDataCache.department(1L)).thenReturn(Optional.of(department));
+        Mockito.when(referenceDataCache.role(1L)).thenReturn(Optional.empty());
 
         ApiResponse response = employeeService.addEmployee(request);
 
@@ -112,6 +177,21 @@ public class EmployeeServiceTest {
         Mockito.verify(employeeRepository, Mockito.never()).save(Mockito.any(Employee.class));
     }
 
+    @Test
+    public void testAddEmployee_HashingExecutorSaturated() {
+        EmployeeRequest request = new EmployeeRequest();
+        request.setDepartmentId("1");
+        request.setRoleId("1");
+
+        Mockito.when(passwordHashingService.initialPasswordHash()).thenThrow(new TaskRejectedException("queue full"));
+
+        ApiResponse response = employeeService.addEmployee(request);
+
+        assertEquals("99", response.getCode());
+        assertEquals("Unable to create employee, server is busy, try again later", response.getMessage());
+        Mockito.verify(employeeRepository, Mockito.never()).save(Mockito.any(Employee.class));
+    }
+
     @Test
     public void testAddEmployee_InvalidDepartmentIdFormat() {
         EmployeeRequest request = new EmployeeRequest();
@@ -131,14 +211,11 @@ public class EmployeeServiceTest {
         request.setDepartmentId("1");
         request.setRoleId("1");
 
-        Department department = new Department();
-        department.setId(1L);
+        DepartmentView department = new DepartmentView(1L, "HR", null, null, null, null, null);
+        RoleView role = new RoleView(1L, "Admin", null, null, null, null);
 
-        Roles role = new Roles();
-        role.setId(1L);
-
-        Mockito.when(departmentRepository.findById(1L)).thenReturn(Optional.of(department));
-        Mockito.when(roleRepository.findById(1L)).thenReturn(Optional.of(role));
+        Mockito.when(referenceDataCache.department(1L)).thenReturn(Optional.of(department));
+        Mockito.when(referenceDataCache.role(1L)).thenReturn(Optional.of(role));
         Mockito.when(employeeRepository.save(Mockito.any(Employee.class)))
                 .thenThrow(new RuntimeException("Unexpected error"));
 
@@ -151,12 +228,12 @@ public class EmployeeServiceTest {
     @Test
     void testGetEmployee_Success() {
         Long employeeId = 1L;
-        Employee employee = new Employee();
-        employee.setId(employeeId);
+        EmployeeView employee = new EmployeeView(employeeId, "John", "Doe", "1234567890", "123 Street",
+                "john.doe@example.com", true, null, null);
 
-        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(employee));
+        when(employeeRepository.findViewById(employeeId)).thenReturn(Optional.of(employee));
 
-        ApiResponse response = employeeService.getEmployee(employeeId);
+        ApiResponse response = employeeService.getEmployee(employeeId, false);
 
         assertEquals("00", response.getCode());
         assertEquals("Success", response.getMessage());
@@ -167,38 +244,81 @@ public class EmployeeServiceTest {
     void testGetEmployee_EmployeeNotFound() {
         Long employeeId = 1L;
 
-        when(employeeRepository.findById(employeeId)).thenReturn(Optional.empty());
+        when(employeeRepository.findViewById(employeeId)).thenReturn(Optional.empty());
 
-        ApiResponse response = employeeService.getEmployee(employeeId);
+        ApiResponse response = employeeService.getEmployee(employeeId, false);
 
         assertEquals("90", response.getCode());
         assertEquals("Employee not found", response.getMessage());
     }
 
+    @Test
+    void testGetEmployee_IncludeArchivedFallsBackToArchive() {
+        Long employeeId = 1L;
+        EmployeeView archived = employeeView(employeeId, "John", "Doe");
+
+        when(employeeRepository.findViewById(employeeId)).thenReturn(Optional.empty());
+        when(archivedEmployeeRepository.findViewById(employeeId)).thenReturn(Optional.of(archived));
+
+        ApiResponse hidden = employeeService.getEmployee(employeeId, false);
+        ApiResponse response = employeeService.getEmployee(employeeId, true);
+
+        assertEquals("90", hidden.getCode());
+        assertEquals("00", response.getCode());
+        assertEquals(archived, response.getData());
+        verify(archivedEmployeeRepository, times(1)).findViewById(employeeId);
+    }
+
     @Test
     void testGetEmployee_Exception() {
         Long employeeId = 1L;
 
-        when(employeeRepository.findById(employeeId)).thenThrow(new RuntimeException("Database error"));
+        when(employeeRepository.findViewById(employeeId)).thenThrow(new RuntimeException("Database error"));
 
-        ApiResponse response = employeeService.getEmployee(employeeId);
+        ApiResponse response = employeeService.getEmployee(employeeId, false);
 
         assertEquals("99", response.getCode());
         assertEquals("Unable to retrieve employee, try again later", response.getMessage());
     }
 
+    @Test
+    void testGetEmployee_SharesIdenticalConcurrentReads() throws Exception {
+        Long employeeId = 1L;
+        EmployeeView view = new EmployeeView(employeeId, "John", "Doe", "1234567890", "123 Admin St",
+                "john@example.com", true, null, 1L);
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        when(employeeRepository.findViewById(employeeId)).thenAnswer(invocation -> {
+            release.get();
+            return Optional.of(view);
+        });
+
+        CompletableFuture<ApiResponse> first = CompletableFuture.supplyAsync(() -> employeeService.getEmployee(employeeId, false));
+        verify(employeeRepository, timeout(5000)).findViewById(employeeId);
+        CompletableFuture<ApiResponse> second = CompletableFuture.supplyAsync(() -> employeeService.getEmployee(employeeId, false));
+        while (meterRegistry.find("singleflight.collapsed").tag("group", "employee").counter() == null) {
+            Thread.sleep(5);
+        }
+        release.complete(null);
+
+        assertEquals(view, first.get(5, TimeUnit.SECONDS).getData());
+        assertEquals(view, second.get(5, TimeUnit.SECONDS).getData());
+        verify(singleFlight, times(2)).execute(eq("employee"), eq("1:false"), any());
+        verify(employeeRepository, times(1)).findViewById(employeeId);
+    }
+
     @Test
     void testGetEmployeeByEmail_Success() {
         String email = "test@example.com";
-        Employee employee = new Employee();
-        employee.setEmail(email);
-        employee.setPassword("Password@123");
-        employee.setPhone("1234567890");
-        employee.setAddress("123 Street");
-        employee.setFirstName("John");
-        employee.setLastName("Doe");
+        AuthResponse employee = AuthResponse.builder()
+                .email(email)
+                .password("Password@123")
+                .phone("1234567890")
+                .address("123 Street")
+                .firstName("John")
+                .lastName("Doe")
+                .build();
 
-        when(employeeRepository.findByEmail(email)).thenReturn(Optional.of(employee));
+        when(employeeRepository.findAuthResponseByEmail(email)).thenReturn(Optional.of(employee));
 
         ApiResponse response = employeeService.getEmployeeByEmail(email);
 
@@ -218,7 +338,7 @@ public class EmployeeServiceTest {
     void testGetEmployeeByEmail_EmployeeNotFound() {
         String email = "test@example.com";
 
-        when(employeeRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(employeeRepository.findAuthResponseByEmail(email)).thenReturn(Optional.empty());
 
         ApiResponse response = employeeService.getEmployeeByEmail(email);
 
@@ -230,7 +350,7 @@ public class EmployeeServiceTest {
     void testGetEmployeeByEmail_Exception() {
         String email = "test@example.com";
 
-        when(employeeRepository.findByEmail(email)).thenThrow(new RuntimeException("Database error"));
+        when(employeeRepository.findAuthResponseByEmail(email)).thenThrow(new RuntimeException("Database error"));
 
         ApiResponse response = employeeService.getEmployeeByEmail(email);
 
@@ -240,45 +360,109 @@ public class EmployeeServiceTest {
 
     @Test
     void testGetAllEmployees_Success() {
-        Employee employee1 = new Employee();
-        employee1.setId(1L);
-        employee1.setFirstName("John");
-        employee1.setLastName("Doe");
-
-        Employee employee2 = new Employee();
-        employee2.setId(2L);
-        employee2.setFirstName("Jane");
-        employee2.setLastName("Smith");
+        EmployeeView employee1 = employeeView(1L, "John", "Doe");
+        EmployeeView employee2 = employeeView(2L, "Jane", "Smith");
 
-        List<Employee> employees = Arrays.asList(employee1, employee2);
+        List<EmployeeView> employees = Arrays.asList(employee1, employee2);
 
-        when(employeeRepository.findAll()).thenReturn(employees);
+        when(employeeRepository.findPage(0L, null, null, null, Limit.of(21))).thenReturn(employees);
 
-        ApiResponse response = employeeService.getAllEmployees();
+        ApiResponse response = employeeService.getAllEmployees(null, null, null, null, null, false);
 
         assertEquals("00", response.getCode());
         assertEquals("Success", response.getMessage());
-        assertEquals(employees, response.getData());
+        PageResponse<?> page = (PageResponse<?>) response.getData();
+        assertEquals(employees, page.getItems());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
     }
 
     @Test
     void testGetAllEmployees_EmptyList() {
-        List<Employee> employees = new ArrayList<>();
+        List<EmployeeView> employees = new ArrayList<>();
 
-        when(employeeRepository.findAll()).thenReturn(employees);
+        when(employeeRepository.findPage(0L, null, null, null, Limit.of(21))).thenReturn(employees);
 
-        ApiResponse response = employeeService.getAllEmployees();
+        ApiResponse response = employeeService.getAllEmployees(null, null, null, null, null, false);
 
         assertEquals("00", response.getCode());
         assertEquals("Success", response.getMessage());
-        assertEquals(employees, response.getData());
+        assertEquals(employees, ((PageResponse<?>) response.getData()).getItems());
+    }
+
+    @Test
+    void testGetAllEmployees_ReturnsNextCursorWhenMoreRowsExist() {
+        EmployeeView employee1 = employeeView(5L, "John", "Doe");
+        EmployeeView employee2 = employeeView(7L, "Jane", "Smith");
+        EmployeeView employee3 = employeeView(9L, "Frank", "Thomas");
+
+        when(employeeRepository.findPage(3L, 1L, null, true, Limit.of(3)))
+                .thenReturn(new ArrayList<>(List.of(employee1, employee2, employee3)));
+
+        ApiResponse response = employeeService.getAllEmployees(PageCursor.encode(3L), 2, 1L, null, true, false);
+
+        assertEquals("00", response.getCode());
+        PageResponse<?> page = (PageResponse<?>) response.getData();
+        assertEquals(List.of(employee1, employee2), page.getItems());
+        assertTrue(page.isHasNext());
+        assertEquals(7L, PageCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void testGetAllEmployees_IncludeArchivedMergesByIdAcrossBothTables() {
+        EmployeeView active4 = employeeView(4L, "John", "Doe");
+        EmployeeView active8 = employeeView(8L, "Jane", "Smith");
+        EmployeeView archived5 = employeeView(5L, "Frank", "Thomas");
+        EmployeeView archived6 = employeeView(6L, "Grace", "Hopper");
+
+        when(employeeRepository.findPage(3L, null, null, null, Limit.of(3)))
+                .thenReturn(new ArrayList<>(List.of(active4, active8)));
+        when(archivedEmployeeRepository.findPage(3L, null, null, null, Limit.of(3)))
+                .thenReturn(new ArrayList<>(List.of(archived5, archived6)));
+
+        ApiResponse response = employeeService.getAllEmployees(PageCursor.encode(3L), 2, null, null, null, true);
+
+        assertEquals("00", response.getCode());
+        PageResponse<?> page = (PageResponse<?>) response.getData();
+        assertEquals(List.of(active4, archived5), page.getItems());
+        assertTrue(page.isHasNext());
+        assertEquals(5L, PageCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void testGetAllEmployees_ExcludesArchivedByDefault() {
+        when(employeeRepository.findPage(0L, null, null, null, Limit.of(21))).thenReturn(new ArrayList<>());
+
+        employeeService.getAllEmployees(null, null, null, null, null, false);
+
+        verifyNoInteractions(archivedEmployeeRepository);
+    }
+
+    @Test
+    void testGetAllEmployees_PageSizeIsCapped() {
+        when(employeeRepository.findPage(0L, null, null, null, Limit.of(101))).thenReturn(new ArrayList<>());
+
+        ApiResponse response = employeeService.getAllEmployees(null, 10_000, null, null, null, false);
+
+        assertEquals("00", response.getCode());
+        verify(employeeRepository, times(1)).findPage(0L, null, null, null, Limit.of(101));
+    }
+
+    @Test
+    void testGetAllEmployees_InvalidCursor() {
+        ApiResponse response = employeeService.getAllEmployees("not-a-cursor", null, null, null, null, false);
+
+        assertEquals("99", response.getCode());
+        assertEquals("Unable to retrieve employees, pass in correct data", response.getMessage());
+        verify(employeeRepository, never()).findPage(any(), any(), any(), any(), any());
     }
 
     @Test
     void testGetAllEmployees_Exception() {
-        when(employeeRepository.findAll()).thenThrow(new RuntimeException("Database error"));
+        when(employeeRepository.findPage(0L, null, null, null, Limit.of(21)))
+                .thenThrow(new RuntimeException("Database error"));
 
-        ApiResponse response = employeeService.getAllEmployees();
+        ApiResponse response = employeeService.getAllEmployees(null, null, null, null, null, false);
 
         assertEquals("99", response.getCode());
         assertEquals("Unable to retrieve employee, try again later", response.getMessage());
@@ -289,18 +473,7 @@ public class EmployeeServiceTest {
         Long employeeId = 1L;
         Long departmentId = 2L;
 
-        Employee existingEmployee = new Employee();
-        existingEmployee.setId(employeeId);
-        existingEmployee.setFirstName("John");
-        existingEmployee.setLastName("Doe");
-        existingEmployee.setEmail("jphn.smith@example.com");
-        existingEmployee.setPhone("1234567891");
-        existingEmployee.setStatus(false);
-        existingEmployee.setAddress("123 Main St");
-
-        Department existingDepartment = new Department();
-        existingDepartment.setId(departmentId);
-        existingDepartment.setName("IT");
+        DepartmentView cachedDepartment = new DepartmentView(departmentId, "IT", null, null, null, null, null);
 
         EmployeeRequest request = new EmployeeRequest();
         request.setDepartmentId(departmentId.toString());
@@ -311,15 +484,59 @@ public class EmployeeServiceTest {
         request.setStatus(true);
         request.setAddress("123 Main St");
 
-        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(existingEmployee));
-        when(departmentRepository.findById(departmentId)).thenReturn(Optional.of(existingDepartment));
-        when(employeeRepository.save(existingEmployee)).thenReturn(existingEmployee);
+        when(referenceDataCache.department(departmentId)).thenReturn(Optional.of(cachedDepartment));
+        when(employeeRepository.updateIfVersion(eq(employeeId), isNull(), eq("Jane"), eq("Smith"),
+                eq("jane.smith@example.com"), eq("1234567890"), eq("123 Main St"), eq(true), eq(departmentId), any()))
+                .thenReturn(List.of(employeeWrite("jphn.smith@example.com", departmentId, 1L)));
+
+        ApiResponse response = employeeService.updateEmployee(employeeId, request, null);
 
-        ApiResponse response = employeeService.updateEmployee(employeeId, request);
-        Optional<Employee> optionalEmployee = (Optional<Employee>) response.getData();
         assertEquals("00", response.getCode());
         assertEquals("Success", response.getMessage());
-        optionalEmployee.ifPresent(employee -> assertEquals(existingEmployee, employee));
+        EmployeeView employee = (EmployeeView) response.getData();
+        assertEquals("Jane", employee.firstName());
+        assertEquals(cachedDepartment, employee.department());
+        assertEquals(1L, employee.version());
+        verify(employeeRepository, never()).findById(anyLong());
+        verify(employeeRepository, never()).existsById(anyLong());
+        verify(tokenRevocationRegistry, times(1)).employeeChanged(employeeId);
+        verify(userDetailsCache, times(1)).evict("jphn.smith@example.com");
+    }
+
+    @Test
+    void testUpdateEmployee_KeepsDepartmentWhenNotGiven() {
+        Long employeeId = 1L;
+        DepartmentView cachedDepartment = new DepartmentView(3L, "HR", null, null, null, null, null);
+
+        EmployeeRequest request = new EmployeeRequest();
+        request.setFirstName("Jane");
+
+        when(employeeRepository.updateIfVersion(eq(employeeId), eq(4L), any(), any(), any(), any(), any(), any(),
+                isNull(), any())).thenReturn(List.of(employeeWrite("jane@example.com", 3L, 5L)));
+        when(referenceDataCache.department(3L)).thenReturn(Optional.of(cachedDepartment));
+
+        ApiResponse response = employeeService.updateEmployee(employeeId, request, "\"4\"");
+
+        assertEquals("00", response.getCode());
+        assertEquals(cachedDepartment, ((EmployeeView) response.getData()).department());
+        assertEquals(5L, ((EmployeeView) response.getData()).version());
+    }
+
+    @Test
+    void testUpdateEmployee_VersionConflict() {
+        Long employeeId = 1L;
+
+        EmployeeRequest request = new EmployeeRequest();
+        request.setFirstName("Jane");
+
+        when(employeeRepository.updateIfVersion(eq(employeeId), eq(4L), any(), any(), any(), any(), any(), any(),
+                any(), any())).thenReturn(List.of());
+        when(employeeRepository.existsById(employeeId)).thenReturn(true);
+
+        ApiResponse response = employeeService.updateEmployee(employeeId, request, "\"4\"");
+
+        assertEquals("91", response.getCode());
+        verifyNoInteractions(tokenRevocationRegistry, userDetailsCache);
     }
 
     @Test
@@ -329,9 +546,11 @@ public class EmployeeServiceTest {
         EmployeeRequest request = new EmployeeRequest();
         request.setFirstName("Jane");
 
-        when(employeeRepository.findById(employeeId)).thenReturn(Optional.empty());
+        when(employeeRepository.updateIfVersion(eq(employeeId), isNull(), any(), any(), any(), any(), any(), any(),
+                any(), any())).thenReturn(List.of());
+        when(employeeRepository.existsById(employeeId)).thenReturn(false);
 
-        ApiResponse response = employeeService.updateEmployee(employeeId, request);
+        ApiResponse response = employeeService.updateEmployee(employeeId, request, null);
 
         assertEquals("90", response.getCode());
         assertEquals("Employee not found", response.getMessage());
@@ -341,39 +560,28 @@ public class EmployeeServiceTest {
     void testUpdateEmployee_InvalidDepartmentId() {
         Long employeeId = 1L;
 
-        Employee existingEmployee = new Employee();
-        existingEmployee.setId(employeeId);
-        existingEmployee.setFirstName("John");
-        existingEmployee.setLastName("Doe");
-
         EmployeeRequest request = new EmployeeRequest();
         request.setDepartmentId("invalid");
         request.setFirstName("Jane");
 
-        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(existingEmployee));
-
-        ApiResponse response = employeeService.updateEmployee(employeeId, request);
+        ApiResponse response = employeeService.updateEmployee(employeeId, request, null);
 
         assertEquals("99", response.getCode());
         assertEquals("Unable to update employee, pass in correct data", response.getMessage());
+        verifyNoInteractions(employeeRepository);
     }
 
     @Test
     void testUpdateEmployee_GeneralException() {
         Long employeeId = 1L;
 
-        Employee existingEmployee = new Employee();
-        existingEmployee.setId(employeeId);
-        existingEmployee.setFirstName("John");
-        existingEmployee.setLastName("Doe");
-
         EmployeeRequest request = new EmployeeRequest();
         request.setFirstName("Jane");
 
-        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(existingEmployee));
-        when(employeeRepository.save(existingEmployee)).thenThrow(new RuntimeException("Database error"));
+        when(employeeRepository.updateIfVersion(eq(employeeId), isNull(), any(), any(), any(), any(), any(), any(),
+                any(), any())).thenThrow(new RuntimeException("Database error"));
 
-        ApiResponse response = employeeService.updateEmployee(employeeId, request);
+        ApiResponse response = employeeService.updateEmployee(employeeId, request, null);
 
         assertEquals("99", response.getCode());
         assertEquals("Unable to update employee, try again later", response.getMessage());
@@ -383,49 +591,201 @@ public class EmployeeServiceTest {
     void testDeleteEmployee_Success() {
         Long employeeId = 1L;
 
-        Employee existingEmployee = new Employee();
-        existingEmployee.setId(employeeId);
-
-        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(existingEmployee));
+        when(employeeRepository.softDeleteIfVersion(eq(employeeId), isNull(), any())).thenReturn(List.of("john.doe@example.com"));
 
-        ApiResponse response = employeeService.deleteEmployee(employeeId);
+        ApiResponse response = employeeService.deleteEmployee(employeeId, null);
 
         assertEquals("00", response.getCode());
         assertEquals("Success", response.getMessage());
 
-        verify(employeeRepository, times(1)).delete(existingEmployee);
+        verify(employeeRepository, never()).findById(anyLong());
+        verify(tokenRevocationRegistry, times(1)).employeeChanged(employeeId);
+        verify(userDetailsCache, times(1)).evict("john.doe@example.com");
     }
 
     @Test
     void testDeleteEmployee_EmployeeNotFound() {
         Long employeeId = 1L;
 
-        when(employeeRepository.findById(employeeId)).thenReturn(Optional.empty());
+        when(employeeRepository.softDeleteIfVersion(eq(employeeId), isNull(), any())).thenReturn(List.of());
+        when(employeeRepository.existsById(employeeId)).thenReturn(false);
 
-        ApiResponse response = employeeService.deleteEmployee(employeeId);
+        ApiResponse response = employeeService.deleteEmployee(employeeId, null);
 
         assertEquals("90", response.getCode());
         assertEquals("Employee not found", response.getMessage());
 
-        verify(employeeRepository, never()).delete(any(Employee.class));
+        verifyNoInteractions(tokenRevocationRegistry, userDetailsCache);
     }
 
     @Test
-    void testDeleteEmployee_GeneralException() {
+    void testDeleteEmployee_VersionConflict() {
         Long employeeId = 1L;
 
-        Employee existingEmployee = new Employee();
-        existingEmployee.setId(employeeId);
+        when(employeeRepository.softDeleteIfVersion(eq(employeeId), eq(7L), any())).thenReturn(List.of());
+        when(employeeRepository.existsById(employeeId)).thenReturn(true);
 
-        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(existingEmployee));
-        doThrow(new RuntimeException("Database error")).when(employeeRepository).delete(existingEmployee);
+        ApiResponse response = employeeService.deleteEmployee(employeeId, "\"7\"");
 
-        ApiResponse response = employeeService.deleteEmployee(employeeId);
+        assertEquals("91", response.getCode());
+        verifyNoInteractions(tokenRevocationRegistry, userDetailsCache);
+    }
+
+    @Test
+    void testDeleteEmployee_GeneralException() {
+        Long employeeId = 1L;
+
+        when(employeeRepository.softDeleteIfVersion(eq(employeeId), isNull(), any())).thenThrow(new RuntimeException("Database error"));
+
+        ApiResponse response = employeeService.deleteEmployee(employeeId, null);
 
         assertEquals("99", response.getCode());
         assertEquals("Unable to delete employee, try again later", response.getMessage());
+    }
+
+    @Test
+    void testTransferDepartment_ByIdsInOneStatement() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 1500; id++) {
+            ids.add(id);
+        }
+        ids.add(1L);
+        BulkReassignRequest request = new BulkReassignRequest(ids, null, null, null, 2L);
+        when(referenceDataCache.department(2L)).thenReturn(Optional.of(new DepartmentView(2L, "IT", null, null, null, null, null)));
+        when(employeeRepository.transferDepartmentByIds(eq(2L), any(Long[].class), any()))
+                .thenReturn(List.of(employeeKey(1L, "a@example.com"), employeeKey(1200L, "b@example.com")));
+
+        ApiResponse response = employeeService.transferDepartment(request);
+
+        assertEquals("00", response.getCode());
+        assertEquals(2, ((BulkUpdateResponse) response.getData()).getUpdated());
+        ArgumentCaptor<Long[]> bound = ArgumentCaptor.forClass(Long[].class);
+        verify(employeeRepository, times(1)).transferDepartmentByIds(eq(2L), bound.capture(), any());
+        assertEquals(1500, bound.getValue().length);
+        verify(userDetailsCache).evict("a@example.com");
+        verify(userDetailsCache).evict("b@example.com");
+        verify(tokenRevocationRegistry).employeesChanged(List.of(1L, 1200L));
+    }
 
-        verify(employeeRepository, times(1)).delete(existingEmployee);
+    @Test
+    void testReassignRole_ByFilter() {
+        BulkReassignRequest request = new BulkReassignRequest(null, 1L, null, true, 3L);
+        when(referenceDataCache.role(3L)).thenReturn(Optional.of(new RoleView(3L, "Manager", null, null, null, null)));
+        when(employeeRepository.reassignRoleByFilter(eq(3L), eq(1L), isNull(), eq(true), any()))
+                .thenReturn(List.of(employeeKey(7L, "c@example.com")));
+
+        ApiResponse response = employeeService.reassignRole(request);
+
+        assertEquals("00", response.getCode());
+        assertEquals(1, ((BulkUpdateResponse) response.getData()).getUpdated());
+        verify(tokenRevocationRegistry).employeesChanged(List.of(7L));
+        verify(userDetailsCache).evict("c@example.com");
+    }
+
+    @Test
+    void testTransferDepartment_TargetNotFound() {
+        BulkReassignRequest request = new BulkReassignRequest(List.of(1L), null, null, null, 9L);
+        when(referenceDataCache.department(9L)).thenReturn(Optional.empty());
+
+        ApiResponse response = employeeService.transferDepartment(request);
+
+        assertEquals("90", response.getCode());
+        verify(employeeRepository, never()).transferDepartmentByIds(any(), any(), any());
+    }
+
+    @Test
+    void testReassignRole_RequiresExactlyOneSelector() {
+        when(referenceDataCache.role(3L)).thenReturn(Optional.of(new RoleView(3L, "Manager", null, null, null, null)));
+
+        ApiResponse neither = employeeService.reassignRole(new BulkReassignRequest(null, null, null, null, 3L));
+        ApiResponse both = employeeService.reassignRole(new BulkReassignRequest(List.of(1L), 1L, null, null, 3L));
+
+        assertEquals("Unable to reassign employees, pass either employee_ids or a filter", neither.getMessage());
+        assertEquals("99", both.getCode());
+        verify(employeeRepository, never()).reassignRoleByFilter(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testDeleteEmployees_DeletesInOneStatementAndEvictsDeleted() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 1001; id++) {
+            ids.add(id);
+        }
+        ids.add(1L);
+        when(employeeRepository.softDeleteByIds(any(Long[].class), any()))
+                .thenReturn(List.of(employeeKey(1L, "a@example.com"), employeeKey(1001L, "b@example.com")));
+
+        ApiResponse response = employeeService.deleteEmployees(new BulkDeleteRequest(ids));
+
+        assertEquals("00", response.getCode());
+        BulkDeleteResponse result = (BulkDeleteResponse) response.getData();
+        assertEquals(1001, result.getRequested());
+        assertEquals(2, result.getDeleted());
+        ArgumentCaptor<Long[]> bound = ArgumentCaptor.forClass(Long[].class);
+        verify(employeeRepository, times(1)).softDeleteByIds(bound.capture(), any());
+        assertEquals(1001, bound.getValue().length);
+        verify(employeeRepository, never()).findById(anyLong());
+        verify(tokenRevocationRegistry).employeesChanged(List.of(1L, 1001L));
+        verify(userDetailsCache).evict("a@example.com");
+        verify(userDetailsCache).evict("b@example.com");
+    }
+
+    @Test
+    void testDeleteEmployees_NoneFound() {
+        when(employeeRepository.softDeleteByIds(any(Long[].class), any())).thenReturn(List.of());
+
+        ApiResponse response = employeeService.deleteEmployees(new BulkDeleteRequest(List.of(5L, 6L)));
+
+        assertEquals("90", response.getCode());
+        verifyNoInteractions(tokenRevocationRegistry, userDetailsCache);
     }
 
+    @Test
+    void testDeleteEmployees_FailureDeletesNothing() {
+        when(employeeRepository.softDeleteByIds(any(Long[].class), any()))
+                .thenThrow(new RuntimeException("Database error"));
+
+        ApiResponse response = employeeService.deleteEmployees(new BulkDeleteRequest(List.of(1L, 2L)));
+
+        assertEquals("99", response.getCode());
+        assertEquals("Unable to delete employees, try again later", response.getMessage());
+        verifyNoInteractions(tokenRevocationRegistry, userDetailsCache);
+    }
+
+    private EmployeeKey employeeKey(Long id, String email) {
+        return new EmployeeKey() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+
+    private EmployeeView employeeView(Long id, String firstName, String lastName) {
+        return new EmployeeView(id, firstName, lastName, null, null, null, true, null, null);
+    }
+
+    private EmployeeWrite employeeWrite(String previousEmail, Long departmentId, Long version) {
+        return new EmployeeWrite() {
+            @Override
+            public String getPreviousEmail() {
+                return previousEmail;
+            }
+
+            @Override
+            public Long getDepartmentId() {
+                return departmentId;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+        };
+    }
 }
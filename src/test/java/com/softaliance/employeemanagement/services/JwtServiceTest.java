@@ -0,0 +1,57 @@
+package com.softaliance.employeemanagement.services;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private final JwtService jwtService = new JwtService(60_000, false);
+    private final UserDetails ada = user("ada@example.com");
+
+    @Test
+    void validTokenYieldsItsClaims() {
+        String token = jwtService.generateToken(ada);
+
+        Claims claims = jwtService.validateToken(token);
+
+        assertEquals("ada@example.com", claims.getSubject());
+        assertTrue(jwtService.isTokenValid(claims, ada));
+        assertFalse(jwtService.isTokenValid(claims, user("grace@example.com")));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = new JwtService(-1_000, false).generateToken(ada);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.validateToken(token));
+    }
+
+    @Test
+    void expiredClaimsAreNotValid() {
+        Claims claims = Jwts.claims().setSubject("ada@example.com").setExpiration(new Date(System.currentTimeMillis() - 1_000));
+
+        assertFalse(jwtService.isTokenValid(claims, ada));
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        String[] token = jwtService.generateToken(ada).split("\\.");
+        String[] other = jwtService.generateToken(user("grace@example.com")).split("\\.");
+        String forged = token[0] + "." + other[1] + "." + token[2];
+
+        assertThrows(SignatureException.class, () -> jwtService.validateToken(forged));
+    }
+
+    private static UserDetails user(String email) {
+        return User.withUsername(email).password("hash").authorities("Employee").build();
+    }
+}
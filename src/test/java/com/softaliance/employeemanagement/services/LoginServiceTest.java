@@ -0,0 +1,146 @@
+package com.softaliance.employeemanagement.services;
+
+import com.softaliance.employeemanagement.models.Employee;
+import com.softaliance.employeemanagement.requests.LoginRequest;
+import com.softaliance.employeemanagement.responses.ApiResponse;
+import com.softaliance.employeemanagement.responses.LoginResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LoginServiceTest {
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+    @Mock
+    private JwtService jwtService;
+
+    private ThreadPoolTaskExecutor loginExecutor;
+    private LoginService loginService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        loginExecutor = new ThreadPoolTaskExecutor();
+        loginExecutor.setCorePoolSize(1);
+        loginExecutor.setMaxPoolSize(1);
+        loginExecutor.setQueueCapacity(1);
+        loginExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        loginExecutor.initialize();
+        loginService = new LoginService(authenticationManager, jwtService, loginExecutor, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loginExecutor.shutdown();
+    }
+
+    @Test
+    void testLogin_Success() {
+        Employee employee = Employee.builder().email("admin@example.com").build();
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(employee, null, List.of());
+        when(authenticationManager.authenticate(any())).thenReturn(authentication);
+        when(jwtService.generateToken(employee)).thenReturn("token");
+        when(jwtService.getExpirationMillis()).thenReturn(60_000L);
+
+        ApiResponse response = loginService.login(new LoginRequest("admin@example.com", "Password@123"));
+
+        assertEquals("00", response.getCode());
+        LoginResponse loginResponse = (LoginResponse) response.getData();
+        assertEquals("token", loginResponse.getToken());
+        assertEquals("Bearer", loginResponse.getTokenType());
+        assertEquals(60_000L, loginResponse.getExpiresIn());
+    }
+
+    @Test
+    void testLogin_BadCredentials() {
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        ApiResponse response = loginService.login(new LoginRequest("admin@example.com", "wrong"));
+
+        assertEquals("92", response.getCode());
+        assertEquals("Invalid email or password", response.getMessage());
+        verifyNoInteractions(jwtService);
+    }
+
+    @Test
+    void testLogin_ExecutorSaturated() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            loginExecutor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            loginExecutor.execute(() -> { });
+
+            ApiResponse response = loginService.login(new LoginRequest("admin@example.com", "Password@123"));
+
+            assertEquals("93", response.getCode());
+            verifyNoInteractions(authenticationManager);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testLogin_TimesOut() {
+        CountDownLatch release = new CountDownLatch(1);
+        LoginService impatient = new LoginService(authenticationManager, jwtService, loginExecutor, 50);
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            release.await();
+            return null;
+        });
+        try {
+            ApiResponse response = impatient.login(new LoginRequest("admin@example.com", "Password@123"));
+
+            assertEquals("93", response.getCode());
+            // The abandoned check is interrupted, so the single login thread is free again.
+            assertEquals(0, loginExecutor.getThreadPoolExecutor().getQueue().size());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testLogin_TimedOutLoginsLeaveTheQueue() {
+        CountDownLatch release = new CountDownLatch(1);
+        LoginService impatient = new LoginService(authenticationManager, jwtService, loginExecutor, 50);
+        try {
+            // Occupies the only thread, so the login below waits in the queue until it times out.
+            loginExecutor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            ApiResponse response = impatient.login(new LoginRequest("admin@example.com", "Password@123"));
+
+            assertEquals("93", response.getCode());
+            assertEquals(0, loginExecutor.getThreadPoolExecutor().getQueue().size());
+            release.countDown();
+            verifyNoInteractions(authenticationManager);
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.softaliance.employeemanagement.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+    private final ThreadPoolTaskExecutor executor = executor(2, 4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void sharedStrategyHashesTheInitialPasswordOnce() {
+        PasswordHashingService service = new PasswordHashingService(passwordEncoder, executor,
+                PasswordHashingService.InitialPasswordStrategy.SHARED, "Password@123");
+
+        String first = service.initialPasswordHash().join();
+        List<String> batch = service.initialPasswordHashes(3).join();
+
+        assertTrue(passwordEncoder.matches("Password@123", first));
+        assertEquals(List.of(first, first, first), batch);
+    }
+
+    @Test
+    void perEmployeeStrategySaltsEveryHash() {
+        PasswordHashingService service = new PasswordHashingService(passwordEncoder, executor,
+                PasswordHashingService.InitialPasswordStrategy.PER_EMPLOYEE, "Password@123");
+
+        List<String> batch = service.initialPasswordHashes(5).join();
+
+        assertEquals(5, batch.size());
+        assertEquals(5, new HashSet<>(batch).size());
+        assertTrue(batch.stream().allMatch(hash -> passwordEncoder.matches("Password@123", hash)));
+        assertNotEquals(service.initialPasswordHash().join(), service.initialPasswordHash().join());
+    }
+
+    @Test
+    void rejectsWorkBeyondTheQueue() throws InterruptedException {
+        ThreadPoolTaskExecutor saturated = executor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            saturated.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            saturated.execute(() -> { });
+            PasswordHashingService service = new PasswordHashingService(passwordEncoder, saturated,
+                    PasswordHashingService.InitialPasswordStrategy.PER_EMPLOYEE, "Password@123");
+
+            assertThrows(TaskRejectedException.class, service::initialPasswordHash);
+        } finally {
+            release.countDown();
+            saturated.shutdown();
+        }
+    }
+
+    private static ThreadPoolTaskExecutor executor(int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
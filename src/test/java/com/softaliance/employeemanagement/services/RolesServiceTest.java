@@ -1,10 +1,18 @@
 package com.softaliance.employeemanagement.services;
 
+import com.softaliance.employeemanagement.cache.ReferenceDataCache;
+import com.softaliance.employeemanagement.cache.UserDetailsCache;
 import com.softaliance.employeemanagement.models.Roles;
+import com.softaliance.employeemanagement.projections.RoleView;
+import com.softaliance.employeemanagement.projections.RoleWrite;
 import com.softaliance.employeemanagement.repository.DepartmentRepository;
+import com.softaliance.employeemanagement.repository.EmployeeRepository;
 import com.softaliance.employeemanagement.repository.RolesRepository;
+import com.softaliance.employeemanagement.requests.BulkDeleteRequest;
 import com.softaliance.employeemanagement.requests.RolesRequest;
 import com.softaliance.employeemanagement.responses.ApiResponse;
+import com.softaliance.employeemanagement.responses.BulkDeleteResponse;
+import com.softaliance.employeemanagement.security.TokenRevocationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -13,6 +21,7 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.dao.DataIntegrityViolationException;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -30,6 +39,18 @@ public class RolesServiceTest {
     @Mock
     private RolesRepository rolesRepository;
 
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -58,6 +79,7 @@ public class RolesServiceTest {
         Roles savedRoles = (Roles) response.getData();
         assertEquals("Admin", savedRoles.getName());
         assertEquals("Administrator role", savedRoles.getDescription());
+        Mockito.verify(referenceDataCache).invalidateRoles();
     }
 
     @Test
@@ -96,11 +118,9 @@ public class RolesServiceTest {
     public void getRole_RoleFound_ReturnsSuccessResponse() {
         // Given
         Long roleId = 1L;
-        Roles role = new Roles();
-        role.setId(roleId);
-        role.setName("Admin");
+        RoleView role = new RoleView(roleId, "Admin", "Administrator role", null, null, null);
 
-        Mockito.when(rolesRepository.findById(roleId)).thenReturn(Optional.of(role));
+        Mockito.when(referenceDataCache.role(roleId)).thenReturn(Optional.of(role));
 
         // When
         ApiResponse response = rolesService.getRole(roleId);
@@ -110,7 +130,7 @@ public class RolesServiceTest {
         assertEquals("00", response.getCode());
         assertEquals("Success", response.getMessage());
         assertEquals(role, response.getData());
-        Mockito.verify(rolesRepository, Mockito.times(1)).findById(roleId);
+        Mockito.verify(referenceDataCache, Mockito.times(1)).role(roleId);
     }
 
     @Test
@@ -118,7 +138,7 @@ public class RolesServiceTest {
         // Given
         Long roleId = 1L;
 
-        Mockito.when(rolesRepository.findById(roleId)).thenReturn(Optional.empty());
+        Mockito.when(referenceDataCache.role(roleId)).thenReturn(Optional.empty());
 
         // When
         ApiResponse response = rolesService.getRole(roleId);
@@ -128,7 +148,7 @@ public class RolesServiceTest {
         assertEquals("90", response.getCode());
         assertEquals("Unable to retrieve role", response.getMessage());
         assertNull(response.getData());
-        Mockito.verify(rolesRepository, Mockito.times(1)).findById(roleId);
+        Mockito.verify(referenceDataCache, Mockito.times(1)).role(roleId);
     }
 
     @Test
@@ -136,7 +156,7 @@ public class RolesServiceTest {
         // Given
         Long roleId = 1L;
 
-        Mockito.when(rolesRepository.findById(roleId)).thenThrow(new RuntimeException("Database error"));
+        Mockito.when(referenceDataCache.role(roleId)).thenThrow(new RuntimeException("Database error"));
 
         // When
         ApiResponse response = rolesService.getRole(roleId);
@@ -146,25 +166,17 @@ public class RolesServiceTest {
         assertEquals("99", response.getCode());
         assertEquals("Unable to retrieve role, try again later", response.getMessage());
         assertNull(response.getData());
-        Mockito.verify(rolesRepository, Mockito.times(1)).findById(roleId);
+        Mockito.verify(referenceDataCache, Mockito.times(1)).role(roleId);
     }
 
     @Test
     public void getAllRoles_RolesFound_ReturnsSuccessResponse() {
         // Given
-        List<Roles> rolesList = new ArrayList<>();
-        Roles role1 = new Roles();
-        role1.setId(1L);
-        role1.setName("Admin");
-
-        Roles role2 = new Roles();
-        role2.setId(2L);
-        role2.setName("User");
+        List<RoleView> rolesList = new ArrayList<>();
+        rolesList.add(new RoleView(1L, "Admin", null, null, null, null));
+        rolesList.add(new RoleView(2L, "User", null, null, null, null));
 
-        rolesList.add(role1);
-        rolesList.add(role2);
-
-        Mockito.when(rolesRepository.findAll()).thenReturn(rolesList);
+        Mockito.when(referenceDataCache.roles()).thenReturn(rolesList);
 
         // When
         ApiResponse response = rolesService.getAllRoles();
@@ -174,15 +186,15 @@ public class RolesServiceTest {
         assertEquals("00", response.getCode());
         assertEquals("Success", response.getMessage());
         assertEquals(rolesList, response.getData());
-        Mockito.verify(rolesRepository, Mockito.times(1)).findAll();
+        Mockito.verify(referenceDataCache, Mockito.times(1)).roles();
     }
 
     @Test
     public void getAllRoles_NoRolesFound_ReturnsSuccessResponseWithEmptyList() {
         // Given
-        List<Roles> rolesList = new ArrayList<>();
+        List<RoleView> rolesList = new ArrayList<>();
 
-        Mockito.when(rolesRepository.findAll()).thenReturn(rolesList);
+        Mockito.when(referenceDataCache.roles()).thenReturn(rolesList);
 
         // When
         ApiResponse response = rolesService.getAllRoles();
@@ -192,13 +204,13 @@ public class RolesServiceTest {
         assertEquals("00", response.getCode());
         assertEquals("Success", response.getMessage());
         assertEquals(rolesList, response.getData());
-        Mockito.verify(rolesRepository, Mockito.times(1)).findAll();
+        Mockito.verify(referenceDataCache, Mockito.times(1)).roles();
     }
 
     @Test
     public void getAllRoles_ExceptionThrown_ReturnsErrorResponse() {
         // Given
-        Mockito.when(rolesRepository.findAll()).thenThrow(new RuntimeException("Database error"));
+        Mockito.when(referenceDataCache.roles()).thenThrow(new RuntimeException("Database error"));
 
         // When
         ApiResponse response = rolesService.getAllRoles();
@@ -208,7 +220,7 @@ public class RolesServiceTest {
         assertEquals("99", response.getCode());
         assertEquals("Unable to retrieve roles, try again later", response.getMessage());
         assertNull(response.getData());
-        Mockito.verify(rolesRepository, Mockito.times(1)).findAll();
+        Mockito.verify(referenceDataCache, Mockito.times(1)).roles();
     }
 
     @Test
@@ -219,24 +231,24 @@ public class RolesServiceTest {
         request.setName("Updated Role");
         request.setDescription("Updated Description");
 
-        Roles existingRole = new Roles();
-        existingRole.setId(roleId);
-        existingRole.setName("Old Role");
-        existingRole.setDescription("Old Description");
-
-        Mockito.when(rolesRepository.findById(roleId)).thenReturn(Optional.of(existingRole));
-        Mockito.when(rolesRepository.save(existingRole)).thenReturn(existingRole);
+        Mockito.when(rolesRepository.updateIfVersion(Mockito.eq(roleId), Mockito.isNull(), Mockito.eq("Updated Role"),
+                        Mockito.eq("Updated Description"), any()))
+                .thenReturn(List.of(roleWrite(roleId, "Updated Role", "Updated Description", 1L, "Old Role")));
 
         // When
-        ApiResponse response = rolesService.updateRole(roleId, request);
+        ApiResponse response = rolesService.updateRole(roleId, request, null);
 
         // Then
         assertNotNull(response);
         assertEquals("00", response.getCode());
         assertEquals("Success", response.getMessage());
-        assertEquals(existingRole, response.getData());
-        Mockito.verify(rolesRepository, Mockito.times(1)).findById(roleId);
-        Mockito.verify(rolesRepository, Mockito.times(1)).save(existingRole);
+        RoleView role = (RoleView) response.getData();
+        assertEquals("Updated Role", role.name());
+        assertEquals(1L, role.version());
+        Mockito.verify(rolesRepository, Mockito.never()).findById(roleId);
+        Mockito.verify(tokenRevocationRegistry, Mockito.times(1)).roleChanged("Old Role");
+        Mockito.verify(userDetailsCache, Mockito.times(1)).evictAll();
+        Mockito.verify(referenceDataCache, Mockito.times(1)).invalidateRoles();
     }
 
     @Test
@@ -247,18 +259,36 @@ public class RolesServiceTest {
         request.setName("Updated Role");
         request.setDescription("Updated Description");
 
-        Mockito.when(rolesRepository.findById(roleId)).thenReturn(Optional.empty());
+        Mockito.when(rolesRepository.updateIfVersion(Mockito.eq(roleId), Mockito.isNull(), any(), any(), any()))
+                .thenReturn(List.of());
+        Mockito.when(rolesRepository.existsById(roleId)).thenReturn(false);
 
         // When
-        ApiResponse response = rolesService.updateRole(roleId, request);
+        ApiResponse response = rolesService.updateRole(roleId, request, null);
 
         // Then
         assertNotNull(response);
         assertEquals("90", response.getCode());
         assertEquals("Unable to retrieve role", response.getMessage());
         assertNull(response.getData());
-        Mockito.verify(rolesRepository, Mockito.times(1)).findById(roleId);
-        Mockito.verify(rolesRepository, Mockito.never()).save(Mockito.any(Roles.class));
+    }
+
+    @Test
+    public void updateRole_StaleVersion_ReturnsConflictResponse() {
+        // Given
+        Long roleId = 1L;
+        RolesRequest request = new RolesRequest("Updated Role", "Updated Description");
+
+        Mockito.when(rolesRepository.updateIfVersion(Mockito.eq(roleId), Mockito.eq(2L), any(), any(), any()))
+                .thenReturn(List.of());
+        Mockito.when(rolesRepository.existsById(roleId)).thenReturn(true);
+
+        // When
+        ApiResponse response = rolesService.updateRole(roleId, request, "\"2\"");
+
+        // Then
+        assertEquals("91", response.getCode());
+        Mockito.verifyNoInteractions(tokenRevocationRegistry, userDetailsCache);
     }
 
     @Test
@@ -269,67 +299,144 @@ public class RolesServiceTest {
         request.setName("Updated Role");
         request.setDescription("Updated Description");
 
-        Roles existingRole = new Roles();
-        existingRole.setId(roleId);
-        existingRole.setName("Old Role");
-        existingRole.setDescription("Old Description");
-
-        Mockito.when(rolesRepository.findById(roleId)).thenReturn(Optional.of(existingRole));
-        Mockito.when(rolesRepository.save(existingRole)).thenThrow(new RuntimeException("Database error"));
+        Mockito.when(rolesRepository.updateIfVersion(Mockito.eq(roleId), Mockito.isNull(), any(), any(), any()))
+                .thenThrow(new RuntimeException("Database error"));
 
         // When
-        ApiResponse response = rolesService.updateRole(roleId, request);
+        ApiResponse response = rolesService.updateRole(roleId, request, null);
 
         // Then
         assertNotNull(response);
         assertEquals("99", response.getCode());
         assertEquals("Unable to update role, try again later", response.getMessage());
         assertNull(response.getData());
-        Mockito.verify(rolesRepository, Mockito.times(1)).findById(roleId);
-        Mockito.verify(rolesRepository, Mockito.times(1)).save(existingRole);
     }
 
     @Test
     public void testDeleteRole_Success() {
         Long roleId = 1L;
-        Roles role = new Roles();
-        role.setId(roleId);
 
-        Mockito.when(rolesRepository.findById(roleId)).thenReturn(Optional.of(role));
+        Mockito.when(rolesRepository.deleteIfVersion(roleId, null)).thenReturn(List.of("Auditor"));
 
-        ApiResponse response = rolesService.deleteRole(roleId);
+        ApiResponse response = rolesService.deleteRole(roleId, null);
 
         assertEquals("00", response.getCode());
         assertEquals("Success", response.getMessage());
-        Mockito.verify(rolesRepository, Mockito.times(1)).delete(role);
+        Mockito.verify(rolesRepository, Mockito.never()).findById(roleId);
+        Mockito.verify(tokenRevocationRegistry, Mockito.times(1)).roleChanged("Auditor");
     }
 
     @Test
     public void testDeleteRole_RoleNotFound() {
         Long roleId = 1L;
 
-        Mockito.when(rolesRepository.findById(roleId)).thenReturn(Optional.empty());
+        Mockito.when(rolesRepository.deleteIfVersion(roleId, null)).thenReturn(List.of());
+        Mockito.when(rolesRepository.existsById(roleId)).thenReturn(false);
 
-        ApiResponse response = rolesService.deleteRole(roleId);
+        ApiResponse response = rolesService.deleteRole(roleId, null);
 
         assertEquals("90", response.getCode());
         assertEquals("Role not found", response.getMessage());
-        Mockito.verify(rolesRepository, Mockito.never()).delete(Mockito.any(Roles.class));
+        Mockito.verifyNoInteractions(tokenRevocationRegistry);
     }
 
     @Test
     public void testDeleteRole_ExceptionThrown() {
         Long roleId = 1L;
-        Roles role = new Roles();
-        role.setId(roleId);
 
-        Mockito.when(rolesRepository.findById(roleId)).thenReturn(Optional.of(role));
-        Mockito.doThrow(new RuntimeException("Database error")).when(rolesRepository).delete(role);
+        Mockito.when(rolesRepository.deleteIfVersion(roleId, null)).thenThrow(new RuntimeException("Database error"));
 
-        ApiResponse response = rolesService.deleteRole(roleId);
+        ApiResponse response = rolesService.deleteRole(roleId, null);
 
         assertEquals("99", response.getCode());
         assertEquals("Unable to delete role, try again later", response.getMessage());
     }
 
+    @Test
+    public void testDeleteRole_StillAssigned() {
+        Mockito.when(rolesRepository.deleteIfVersion(1L, null)).thenThrow(new DataIntegrityViolationException("fk"));
+        Mockito.when(employeeRepository.existsInRoles(List.of(1L))).thenReturn(true);
+
+        ApiResponse response = rolesService.deleteRole(1L, null);
+
+        assertEquals("99", response.getCode());
+        assertEquals("Unable to delete role, role is still assigned to employees", response.getMessage());
+    }
+
+    @Test
+    public void testDeleteRoles_OnlyDeletedEmployeesAwaitingArchive() {
+        Mockito.when(rolesRepository.deleteByIds(new Long[]{1L, 2L})).thenThrow(new DataIntegrityViolationException("fk"));
+        Mockito.when(employeeRepository.existsInRoles(List.of(1L, 2L))).thenReturn(false);
+
+        ApiResponse response = rolesService.deleteRoles(new BulkDeleteRequest(List.of(1L, 2L)));
+
+        assertEquals("99", response.getCode());
+        assertEquals("Unable to delete roles, a role's deleted employees have not been archived yet", response.getMessage());
+        Mockito.verifyNoInteractions(tokenRevocationRegistry, userDetailsCache);
+    }
+
+    @Test
+    public void testDeleteRoles_Success() {
+        Mockito.when(rolesRepository.deleteByIds(new Long[]{1L, 2L})).thenReturn(List.of("Auditor", "Contractor"));
+
+        ApiResponse response = rolesService.deleteRoles(new BulkDeleteRequest(List.of(1L, 2L)));
+
+        assertEquals("00", response.getCode());
+        assertEquals(2, ((BulkDeleteResponse) response.getData()).getDeleted());
+        Mockito.verify(rolesRepository, Mockito.never()).findById(Mockito.anyLong());
+        Mockito.verify(tokenRevocationRegistry).roleChanged("Auditor");
+        Mockito.verify(tokenRevocationRegistry).roleChanged("Contractor");
+        Mockito.verify(userDetailsCache, Mockito.times(1)).evictAll();
+        Mockito.verify(referenceDataCache, Mockito.times(1)).invalidateRoles();
+    }
+
+    @Test
+    public void testDeleteRoles_NoneFound() {
+        Mockito.when(rolesRepository.deleteByIds(new Long[]{9L})).thenReturn(List.of());
+
+        ApiResponse response = rolesService.deleteRoles(new BulkDeleteRequest(List.of(9L)));
+
+        assertEquals("90", response.getCode());
+        Mockito.verifyNoInteractions(tokenRevocationRegistry, userDetailsCache, referenceDataCache);
+    }
+
+    private static RoleWrite roleWrite(Long id, String name, String description, Long version, String previousName) {
+        return new RoleWrite() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return null;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return null;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+
+            @Override
+            public String getPreviousName() {
+                return previousName;
+            }
+        };
+    }
+
 }
@@ -0,0 +1,35 @@
+package com.softaliance.employeemanagement.utils;
+
+import com.softaliance.employeemanagement.responses.ApiResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UtilitiesTest {
+
+    private final Utilities optional = new Utilities(new BCryptPasswordEncoder(), false);
+    private final Utilities required = new Utilities(new BCryptPasswordEncoder(), true);
+
+    @Test
+    void ifMatchIsOptionalByDefault() {
+        assertTrue(optional.missingIfMatch(null).isEmpty());
+    }
+
+    @Test
+    void missingIfMatchIsAnsweredWith428WhenRequired() {
+        ApiResponse response = required.missingIfMatch(" ").orElseThrow();
+
+        assertEquals("95", response.getCode());
+        assertEquals(HttpStatus.PRECONDITION_REQUIRED, required.getApiResponseResponseEntity(response).getStatusCode());
+        assertTrue(required.missingIfMatch(null).isPresent());
+    }
+
+    @Test
+    void anyIfMatchSatisfiesTheRequirement() {
+        assertTrue(required.missingIfMatch("\"3\"").isEmpty());
+        assertTrue(required.missingIfMatch("*").isEmpty());
+    }
+}